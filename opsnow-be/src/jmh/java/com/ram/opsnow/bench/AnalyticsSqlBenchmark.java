@@ -0,0 +1,115 @@
+package com.ram.opsnow.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.ram.opsnow.datagen.GeneratedDataset;
+import com.ram.opsnow.employee.dto.EmployeeCumulativeSalary;
+import com.ram.opsnow.employee.dto.EmployeeDepartmentAnalysis;
+import com.ram.opsnow.employee.dto.EmployeeRanking;
+import com.ram.opsnow.employee.service.EmployeeDepartmentSummaryService;
+import com.ram.opsnow.employee.service.EmployeeRankingIndex;
+import com.ram.opsnow.employee.service.EmployeeServiceImpl;
+
+/**
+ * The analytics endpoints of /api/employee against generated employees: the
+ * cumulative salary window query, the department analysis read from the
+ * summary table, the summary rebuild that replaces it after imports, and the
+ * ranking index load and read.
+ * <p>
+ * Runs against an in-memory H2 database in PostgreSQL mode and, with
+ * {@code jmh.postgres.url} set, against PostgreSQL (see {@link BenchmarkData});
+ * without it the runner limits {@code database} to h2. H2 plans and executes
+ * differently from PostgreSQL, so only the PostgreSQL numbers say anything
+ * about production latency. {@link CumulativeSalarySubqueryBenchmark} runs
+ * the correlated subquery the window query replaced on the same data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AnalyticsSqlBenchmark {
+
+	@Param({ "10000", "100000", "1000000" })
+	public int rows;
+
+	@Param({ BenchmarkData.H2, BenchmarkData.POSTGRES })
+	public String database;
+
+	private SingleConnectionDataSource dataSource;
+	private EmployeeServiceImpl employeeService;
+	private EmployeeDepartmentSummaryService summaryService;
+	private EmployeeRankingIndex rankingIndex;
+
+	@Setup
+	public void setUp() throws IOException {
+		dataSource = BenchmarkData.singleConnection(database, "analytics");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		GeneratedDataset dataset = BenchmarkData.dataset(rows);
+		BenchmarkData.createSchema(jdbcTemplate);
+		BenchmarkData.loadReferenceTables(jdbcTemplate, dataset);
+		BenchmarkData.loadEmployees(jdbcTemplate, dataset);
+		BenchmarkData.analyze(jdbcTemplate);
+
+		summaryService = new EmployeeDepartmentSummaryService(jdbcTemplate);
+		summaryService.rebuild();
+		rankingIndex = new EmployeeRankingIndex(jdbcTemplate);
+		rankingIndex.rebuild();
+		// only the analytics methods are called, which use nothing but these
+		employeeService = new EmployeeServiceImpl(null, null, null, jdbcTemplate, rankingIndex, summaryService,
+				null, null);
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.destroy();
+	}
+
+	@Benchmark
+	public List<EmployeeCumulativeSalary> cumulativeSalary() {
+		return employeeService.getEmployeeCumulativeSalary(false);
+	}
+
+	@Benchmark
+	public List<EmployeeCumulativeSalary> cumulativeSalaryNumericOrder() {
+		return employeeService.getEmployeeCumulativeSalary(true);
+	}
+
+	@Benchmark
+	public List<EmployeeDepartmentAnalysis> departmentAnalysis() {
+		return employeeService.getEmployeeDepartmentAnalysis();
+	}
+
+	@Benchmark
+	public void rebuildDepartmentSummary() {
+		summaryService.rebuild();
+	}
+
+	@Benchmark
+	public List<EmployeeRanking> ranking() {
+		return employeeService.getEmployeeRanking(null, null);
+	}
+
+	@Benchmark
+	public void rebuildRankingIndex() {
+		rankingIndex.rebuild();
+	}
+}
@@ -0,0 +1,152 @@
+package com.ram.opsnow.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+import com.ram.opsnow.logging.journal.ApiCallJournal;
+import com.ram.opsnow.logging.service.ApiCallHistoryPartitionManager;
+import com.ram.opsnow.logging.service.ApiCallHistoryWriter;
+import com.ram.opsnow.util.UuidV7;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Appends API call history to the partitioned api_call_history table on a
+ * real PostgreSQL with random (v4) against time-ordered (v7) ids, through
+ * the writer's multi-row inserts at its default batch size.
+ * <p>
+ * Every invocation fills an emptied table with {@code rows} records, 10M by
+ * default; the score is the time that takes. After each one the insert rate
+ * and the size of the primary key and of all indexes are printed and
+ * appended to {@code <jmh.output>/api-call-history-ids.csv}. Random ids land
+ * all over the (id, timestamp) primary key, so once it outgrows
+ * shared_buffers the v4 rate drops and its pages are left part full by
+ * splits; v7 ids append to its right edge.
+ * <p>
+ * Needs {@code jmh.postgres.url}, see {@link BenchmarkData}; expect several
+ * minutes per iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ApiCallHistoryIdBenchmark {
+
+	// the writer's default api-logging.writer.batch-size
+	private static final int BATCH_SIZE = 500;
+
+	@Param({ "10000000" })
+	public int rows;
+
+	@Param({ "v4", "v7" })
+	public String idVersion;
+
+	private HikariDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private ApiCallHistoryWriter writer;
+	private long elapsedNanos;
+
+	@Setup
+	public void setUp() {
+		dataSource = BenchmarkData.postgres(1);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		new ApiCallHistoryPartitionManager(jdbcTemplate, new DataSourceTransactionManager(dataSource), "daily", 90, 3)
+				.initialize();
+		ApiCallJournal journal = new ApiCallJournal(false, System.getProperty("java.io.tmpdir"), 16 * 1024 * 1024, 16);
+		writer = new ApiCallHistoryWriter(jdbcTemplate, journal, 8192, BATCH_SIZE, 1000);
+	}
+
+	@Setup(Level.Iteration)
+	public void emptyTable() {
+		jdbcTemplate.execute("TRUNCATE api_call_history");
+	}
+
+	@TearDown(Level.Iteration)
+	public void report() throws IOException {
+		long primaryKeyBytes = jdbcTemplate.queryForObject("""
+				SELECT COALESCE(SUM(pg_relation_size(relid)), 0)
+				FROM pg_partition_tree('api_call_history_pkey'::regclass)
+				""", Long.class);
+		long indexBytes = jdbcTemplate.queryForObject("""
+				SELECT COALESCE(SUM(pg_indexes_size(relid)), 0)
+				FROM pg_partition_tree('api_call_history'::regclass)
+				""", Long.class);
+		double rowsPerSecond = rows / (elapsedNanos / 1e9);
+		System.out.printf(Locale.ROOT, "%n%s ids: %.0f rows/s, primary key %d MB, all indexes %d MB%n", idVersion,
+				rowsPerSecond, primaryKeyBytes >> 20, indexBytes >> 20);
+
+		Path output = Path.of(System.getProperty("jmh.output", "target/jmh"), "api-call-history-ids.csv");
+		Files.createDirectories(output.getParent());
+		if (!Files.exists(output)) {
+			Files.writeString(output, "id_version,rows,rows_per_second,primary_key_bytes,index_bytes\n");
+		}
+		Files.writeString(output, String.format(Locale.ROOT, "%s,%d,%.0f,%d,%d%n", idVersion, rows, rowsPerSecond,
+				primaryKeyBytes, indexBytes), StandardOpenOption.APPEND);
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.close();
+	}
+
+	@Benchmark
+	public void insert() {
+		SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+		boolean timeOrdered = "v7".equals(idVersion);
+		List<ApiCallHistory> batch = new ArrayList<>(BATCH_SIZE);
+		long start = System.nanoTime();
+		for (int i = 0; i < rows; i++) {
+			batch.add(record(timeOrdered ? UuidV7.next() : UUID.randomUUID(), random));
+			if (batch.size() == BATCH_SIZE) {
+				writer.insert(batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			writer.insert(batch);
+		}
+		elapsedNanos = System.nanoTime() - start;
+	}
+
+	private static ApiCallHistory record(UUID id, SplittableRandom random) {
+		int employee = 100_000 + random.nextInt(100_000);
+		return ApiCallHistory.builder()
+				.id(id)
+				.timestamp(LocalDateTime.now())
+				.apiEndpoint(random.nextInt(4) == 0 ? "/api/employee/" + employee : "/api/employee")
+				.httpMethod(random.nextInt(10) == 0 ? "PUT" : "GET")
+				.userIdentifier("employee" + employee + "@employee.com")
+				.responseStatus(random.nextInt(50) == 0 ? 404 : 200)
+				.requestDurationMs(1L + random.nextInt(200))
+				.clientIp("10.0." + random.nextInt(256) + "." + random.nextInt(256))
+				.userAgent("Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0")
+				.build();
+	}
+}
@@ -0,0 +1,141 @@
+package com.ram.opsnow.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.opsnow.logging.interceptor.ApiLoggingInterceptor;
+import com.ram.opsnow.logging.journal.ApiCallJournal;
+import com.ram.opsnow.logging.service.ApiCallAggregateService;
+import com.ram.opsnow.logging.service.ApiCallHistoryService;
+import com.ram.opsnow.logging.service.ApiCallHistoryWriter;
+import com.ram.opsnow.logging.service.ApiCallRollupService;
+import com.ram.opsnow.logging.service.ApiLatencyMetricsService;
+import com.ram.opsnow.logging.service.ApiLoggingPolicyService;
+
+/**
+ * What {@link ApiLoggingInterceptor} adds to every request: policy lookup,
+ * latency histograms, aggregates, rollup counters and, for logged calls,
+ * building the history record and handing it to the writer.
+ * <p>
+ * The services are the real ones with the policies of
+ * api-logging-policies.json. The writer runs its drain thread as usual but
+ * flushes into a JdbcTemplate that discards the batches, so the database is
+ * left out while the ring buffer handoff is not. Body capture happens in the
+ * servlet filters and is not part of this.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ApiLoggingInterceptorBenchmark {
+
+	private static final Object HANDLER = new Object();
+
+	private ApiCallHistoryWriter writer;
+	private ApiLoggingInterceptor interceptor;
+
+	/**
+	 * One request per thread, since the security context is thread-bound.
+	 * The routes hit the three policy outcomes: logged in full by the default
+	 * policy, sampled at 10%, and metadata only.
+	 */
+	@State(Scope.Thread)
+	public static class Call {
+
+		@Param({ "full", "sampled", "metadata" })
+		public String route;
+
+		MockHttpServletRequest request;
+		MockHttpServletResponse response;
+
+		@Setup
+		public void setUp() {
+			String[] uriAndPattern = switch (route) {
+				case "full" -> new String[] { "/api/department", "/api/department" };
+				case "sampled" -> new String[] { "/api/employee/100001", "/api/employee/{employeeNumber}" };
+				case "metadata" -> new String[] { "/api/logging/history", "/api/logging/history" };
+				default -> throw new IllegalArgumentException("Unknown route: " + route);
+			};
+			request = new MockHttpServletRequest("GET", uriAndPattern[0]);
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, uriAndPattern[1]);
+			request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36");
+			request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.2");
+			response = new MockHttpServletResponse();
+			response.setStatus(200);
+			SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+					"employee100001@employee.com", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		ApiCallJournal journal = new ApiCallJournal(false, System.getProperty("java.io.tmpdir"), 16 * 1024 * 1024, 16);
+		writer = new ApiCallHistoryWriter(new DiscardingJdbcTemplate(), journal, 8192, 500, 1000);
+		writer.start();
+
+		ApiLoggingPolicyService policyService = new ApiLoggingPolicyService(new DefaultResourceLoader(),
+				new ObjectMapper(), "classpath:api-logging-policies.json");
+		ReflectionTestUtils.invokeMethod(policyService, "init");
+
+		interceptor = new ApiLoggingInterceptor(
+				new ApiCallHistoryService(null, new ModelMapper(), writer),
+				policyService,
+				new ApiCallAggregateService(),
+				new ApiLatencyMetricsService(),
+				new ApiCallRollupService(null, null, 48, 31, 730));
+	}
+
+	@TearDown
+	public void tearDown() {
+		writer.stop();
+	}
+
+	@Benchmark
+	public void request(Call call) {
+		interceptor.preHandle(call.request, call.response, HANDLER);
+		interceptor.afterCompletion(call.request, call.response, HANDLER, null);
+	}
+
+	// the counters and the ring buffer are shared by all request threads
+	@Benchmark
+	@Threads(8)
+	public void concurrentRequests(Call call) {
+		interceptor.preHandle(call.request, call.response, HANDLER);
+		interceptor.afterCompletion(call.request, call.response, HANDLER, null);
+	}
+
+	private static final class DiscardingJdbcTemplate extends JdbcTemplate {
+
+		@Override
+		public int update(String sql, Object... args) {
+			return args.length;
+		}
+	}
+}
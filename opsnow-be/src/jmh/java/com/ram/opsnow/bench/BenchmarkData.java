@@ -0,0 +1,236 @@
+package com.ram.opsnow.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.ram.opsnow.datagen.GeneratedDataset;
+import com.ram.opsnow.datagen.GeneratorOptions;
+import com.ram.opsnow.datagen.SyntheticDataGenerator;
+import com.ram.opsnow.util.csv.ByteCsvTokenizer;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Data shared by the benchmarks: synthetic CSV files, generated once per size
+ * under {@code target/jmh/data} and reused by later forks and runs, the
+ * schema of the imported tables, and the databases to load them into.
+ * <p>
+ * PostgreSQL runs need {@code jmh.postgres.url}, e.g.
+ * {@code jdbc:postgresql://localhost:5432/postgres}, with
+ * {@code jmh.postgres.username} and {@code jmh.postgres.password}; everything
+ * is created in the {@code opsnow_bench} schema, which is dropped and
+ * recreated on every trial.
+ */
+final class BenchmarkData {
+
+	static final long SEED = 42;
+	static final String POSTGRES_URL_PROPERTY = "jmh.postgres.url";
+	static final String H2 = "h2";
+	static final String POSTGRES = "postgres";
+
+	private static final Path DATA_DIRECTORY = Path.of(System.getProperty("jmh.output", "target/jmh"), "data");
+	private static final int BATCH_SIZE = 1_000;
+	private static final String POSTGRES_SCHEMA = "opsnow_bench";
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * The generated files for {@code employees} rows; forks of the same run
+	 * find them already written.
+	 */
+	static synchronized GeneratedDataset dataset(int employees) throws IOException {
+		GeneratorOptions options = GeneratorOptions.of(DATA_DIRECTORY.resolve(employees + "-" + SEED), employees, SEED);
+		Path directory = options.outputDirectory();
+		Path complete = directory.resolve(".complete");
+		if (Files.exists(complete)) {
+			return new GeneratedDataset(directory.resolve("employee.csv"), directory.resolve("department.csv"),
+					directory.resolve("location.csv"), directory.resolve("tier.csv"), employees,
+					Files.size(directory.resolve("employee.csv")), 0);
+		}
+		GeneratedDataset dataset = SyntheticDataGenerator.generate(options);
+		Files.writeString(complete, "");
+		return dataset;
+	}
+
+	static boolean hasPostgres() {
+		return !System.getProperty(POSTGRES_URL_PROPERTY, "").isBlank();
+	}
+
+	/**
+	 * An empty {@code opsnow_bench} schema on the configured PostgreSQL.
+	 */
+	static HikariDataSource postgres(int poolSize) {
+		if (!hasPostgres()) {
+			throw new IllegalStateException(POSTGRES_URL_PROPERTY + " is not set");
+		}
+		try (HikariDataSource admin = postgresDataSource(null, 1)) {
+			JdbcTemplate adminTemplate = new JdbcTemplate(admin);
+			adminTemplate.execute("DROP SCHEMA IF EXISTS " + POSTGRES_SCHEMA + " CASCADE");
+			adminTemplate.execute("CREATE SCHEMA " + POSTGRES_SCHEMA);
+		}
+		return postgresDataSource(POSTGRES_SCHEMA, poolSize);
+	}
+
+	/**
+	 * A connection to a fresh in-memory H2 database in PostgreSQL mode, or to
+	 * an empty schema on the configured PostgreSQL.
+	 */
+	static SingleConnectionDataSource singleConnection(String database, String name) {
+		return switch (database) {
+			case H2 -> new SingleConnectionDataSource(
+					"jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+			case POSTGRES -> {
+				postgres(1).close();
+				SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+						System.getProperty(POSTGRES_URL_PROPERTY), username(), password(), true);
+				dataSource.setSchema(POSTGRES_SCHEMA);
+				yield dataSource;
+			}
+			default -> throw new IllegalArgumentException("Unknown database " + database);
+		};
+	}
+
+	/**
+	 * Creates the reference and employee tables with the columns, keys and
+	 * indexes CsvImportService creates.
+	 */
+	static void createSchema(JdbcTemplate jdbcTemplate) {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS employee");
+		jdbcTemplate.execute("DROP TABLE IF EXISTS tier");
+		jdbcTemplate.execute("DROP TABLE IF EXISTS location");
+		jdbcTemplate.execute("DROP TABLE IF EXISTS department");
+		jdbcTemplate.execute("""
+				CREATE TABLE tier (
+					tier_code varchar(5) PRIMARY KEY NOT NULL,
+					tier_name varchar(200) NOT NULL
+				)
+				""");
+		jdbcTemplate.execute("""
+				CREATE TABLE location (
+				    location_code varchar(5) PRIMARY KEY NOT NULL,
+				    location_name varchar(200) NOT NULL,
+				    location_address varchar(300) NOT NULL
+				)
+				""");
+		jdbcTemplate.execute("""
+				CREATE TABLE department (
+					department_code varchar(5) PRIMARY KEY NOT NULL,
+					department_name varchar(200) NOT NULL
+				)
+				""");
+		jdbcTemplate.execute("""
+				CREATE TABLE employee (
+					employee_number varchar(50) PRIMARY KEY NOT NULL,
+					employee_name varchar(200) NOT NULL,
+					tier_code varchar(5) not null,
+					location_code varchar(5) not null,
+					department_code varchar(5) not null,
+					supervisor_code varchar(50),
+					salary NUMERIC(19, 4),
+					entry_date TIMESTAMP,
+					password varchar not null,
+					email varchar NOT NULL,
+					FOREIGN KEY (tier_code) REFERENCES tier(tier_code),
+					FOREIGN KEY (location_code) REFERENCES location(location_code),
+					FOREIGN KEY (department_code) REFERENCES department(department_code)
+				)
+				""");
+		jdbcTemplate.execute(
+				"CREATE INDEX idx_employee_department_number ON employee (department_code, employee_number)");
+		jdbcTemplate.execute(
+				"CREATE INDEX idx_employee_location_department ON employee (location_code, department_code)");
+		jdbcTemplate.execute("CREATE INDEX idx_employee_name_number ON employee (employee_name, employee_number)");
+		jdbcTemplate.execute(
+				"CREATE INDEX idx_employee_entry_date_number ON employee (entry_date, employee_number)");
+	}
+
+	static void loadReferenceTables(JdbcTemplate jdbcTemplate, GeneratedDataset dataset) throws IOException {
+		load(jdbcTemplate, dataset.tierFile(), "INSERT INTO tier (tier_code, tier_name) VALUES (?, ?)", 2);
+		load(jdbcTemplate, dataset.locationFile(),
+				"INSERT INTO location (location_code, location_name, location_address) VALUES (?, ?, ?)", 3);
+		load(jdbcTemplate, dataset.departmentFile(),
+				"INSERT INTO department (department_code, department_name) VALUES (?, ?)", 2);
+	}
+
+	static void loadEmployees(JdbcTemplate jdbcTemplate, GeneratedDataset dataset) throws IOException {
+		String sql = """
+				INSERT INTO employee (employee_number, employee_name, tier_code, location_code, department_code,
+				    supervisor_code, salary, entry_date, password, email)
+				VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+				""";
+		try (ByteCsvTokenizer tokenizer = ByteCsvTokenizer.open(dataset.employeeFile(), ';')) {
+			tokenizer.next();
+			List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+			while (tokenizer.next()) {
+				batch.add(new Object[] {
+						tokenizer.getTrimmed(0),
+						tokenizer.getTrimmed(1),
+						tokenizer.getTrimmed(2),
+						tokenizer.getTrimmed(3),
+						tokenizer.getTrimmed(4),
+						tokenizer.getTrimmed(5),
+						tokenizer.getDecimal(6),
+						Timestamp.valueOf(tokenizer.getDate(7).atStartOfDay()),
+						tokenizer.getTrimmed(8),
+						tokenizer.getTrimmed(9) });
+				if (batch.size() == BATCH_SIZE) {
+					jdbcTemplate.batchUpdate(sql, batch);
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				jdbcTemplate.batchUpdate(sql, batch);
+			}
+		}
+	}
+
+	/**
+	 * Refreshes the planner statistics after a load, as autovacuum would have
+	 * done by the time a production table is queried.
+	 */
+	static void analyze(JdbcTemplate jdbcTemplate) {
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	private static HikariDataSource postgresDataSource(String schema, int poolSize) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(System.getProperty(POSTGRES_URL_PROPERTY));
+		dataSource.setUsername(username());
+		dataSource.setPassword(password());
+		dataSource.setMaximumPoolSize(poolSize);
+		if (schema != null) {
+			dataSource.setSchema(schema);
+		}
+		return dataSource;
+	}
+
+	private static String username() {
+		return System.getProperty("jmh.postgres.username", "admin");
+	}
+
+	private static String password() {
+		return System.getProperty("jmh.postgres.password", "password");
+	}
+
+	private static void load(JdbcTemplate jdbcTemplate, Path file, String sql, int columns) throws IOException {
+		List<Object[]> rows = new ArrayList<>();
+		try (ByteCsvTokenizer tokenizer = ByteCsvTokenizer.open(file, ';')) {
+			tokenizer.next();
+			while (tokenizer.next()) {
+				Object[] row = new Object[columns];
+				for (int i = 0; i < columns; i++) {
+					row[i] = tokenizer.getTrimmed(i);
+				}
+				rows.add(row);
+			}
+		}
+		jdbcTemplate.batchUpdate(sql, rows);
+	}
+}
@@ -0,0 +1,203 @@
+package com.ram.opsnow.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline of the same format.
+ * <p>
+ * A benchmark counts as regressed when its score is worse than the baseline
+ * by more than the threshold (0.10 for 10%) and the two scores are further
+ * apart than their combined error margins, so noise within the confidence
+ * intervals is not reported. Throughput is better when higher, every other
+ * mode when lower. Only benchmarks present in the current results are
+ * compared, so a run of a subset reports on that subset.
+ * <p>
+ * Also runnable on its own:
+ * {@code java -cp ... com.ram.opsnow.bench.BenchmarkRegressionReport baseline.json results.json [threshold]}.
+ */
+public final class BenchmarkRegressionReport {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final double threshold;
+	private final List<Comparison> comparisons;
+	private final int notRun;
+
+	private BenchmarkRegressionReport(double threshold, List<Comparison> comparisons, int notRun) {
+		this.threshold = threshold;
+		this.comparisons = comparisons;
+		this.notRun = notRun;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			throw new IllegalArgumentException(
+					"Usage: BenchmarkRegressionReport <baseline.json> <results.json> [threshold]");
+		}
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+		BenchmarkRegressionReport report = compare(Path.of(args[0]), Path.of(args[1]), threshold);
+		System.out.println(report.toMarkdown());
+		if (report.hasRegressions()) {
+			System.exit(1);
+		}
+	}
+
+	public static BenchmarkRegressionReport compare(Path baseline, Path current, double threshold)
+			throws IOException {
+		Map<String, Score> baselineScores = read(baseline);
+		Map<String, Score> currentScores = read(current);
+		List<Comparison> comparisons = new ArrayList<>();
+		for (Map.Entry<String, Score> entry : currentScores.entrySet()) {
+			Score before = baselineScores.get(entry.getKey());
+			comparisons.add(new Comparison(before, entry.getValue(), verdict(before, entry.getValue(), threshold)));
+		}
+		int notRun = (int) baselineScores.keySet().stream().filter(key -> !currentScores.containsKey(key)).count();
+		return new BenchmarkRegressionReport(threshold, comparisons, notRun);
+	}
+
+	/**
+	 * Replaces the baseline entries of the benchmarks in {@code current} and
+	 * keeps the others, so a partial run only moves the baseline of what it
+	 * ran.
+	 */
+	public static void updateBaseline(Path baseline, Path current) throws IOException {
+		Map<String, JsonNode> merged = new LinkedHashMap<>();
+		if (Files.exists(baseline)) {
+			for (JsonNode node : OBJECT_MAPPER.readTree(baseline.toFile())) {
+				merged.put(key(node), node);
+			}
+		}
+		for (JsonNode node : OBJECT_MAPPER.readTree(current.toFile())) {
+			merged.put(key(node), node);
+		}
+		ArrayNode array = OBJECT_MAPPER.createArrayNode();
+		merged.values().forEach(array::add);
+		if (baseline.toAbsolutePath().getParent() != null) {
+			Files.createDirectories(baseline.toAbsolutePath().getParent());
+		}
+		OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), array);
+	}
+
+	public boolean hasRegressions() {
+		return comparisons.stream().anyMatch(comparison -> comparison.verdict() == Verdict.REGRESSION);
+	}
+
+	public List<Comparison> getComparisons() {
+		return comparisons;
+	}
+
+	public String toMarkdown() {
+		long regressions = comparisons.stream().filter(c -> c.verdict() == Verdict.REGRESSION).count();
+		long improvements = comparisons.stream().filter(c -> c.verdict() == Verdict.IMPROVEMENT).count();
+		StringBuilder out = new StringBuilder("# Benchmark regression report\n\n");
+		out.append(String.format(Locale.ROOT, "%d regressions and %d improvements beyond %.0f%% in %d benchmarks",
+				regressions, improvements, threshold * 100, comparisons.size()));
+		if (notRun > 0) {
+			out.append(String.format(Locale.ROOT, "; %d baseline benchmarks were not run", notRun));
+		}
+		out.append(".\n\n| Benchmark | Params | Mode | Baseline | Current | Change | Verdict |\n");
+		out.append("|---|---|---|---:|---:|---:|---|\n");
+		for (Comparison comparison : comparisons) {
+			Score current = comparison.current();
+			Score baseline = comparison.baseline();
+			out.append("| ").append(current.benchmark())
+					.append(" | ").append(current.params())
+					.append(" | ").append(current.mode())
+					.append(" | ").append(baseline != null ? baseline.format() : "")
+					.append(" | ").append(current.format())
+					.append(" | ").append(comparison.changeText())
+					.append(" | ").append(comparison.verdict())
+					.append(" |\n");
+		}
+		return out.toString();
+	}
+
+	private static Verdict verdict(Score baseline, Score current, double threshold) {
+		if (baseline == null) {
+			return Verdict.NEW;
+		}
+		if (!baseline.unit().equals(current.unit()) || baseline.score() == 0) {
+			return Verdict.INCOMPARABLE;
+		}
+		double change = (current.score() - baseline.score()) / baseline.score();
+		double worse = current.higherIsBetter() ? -change : change;
+		boolean withinError = Math.abs(current.score() - baseline.score()) <= baseline.error() + current.error();
+		if (withinError || Math.abs(worse) <= threshold) {
+			return Verdict.UNCHANGED;
+		}
+		return worse > 0 ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+	}
+
+	private static Map<String, Score> read(Path file) throws IOException {
+		Map<String, Score> scores = new LinkedHashMap<>();
+		for (JsonNode node : OBJECT_MAPPER.readTree(file.toFile())) {
+			JsonNode metric = node.path("primaryMetric");
+			scores.put(key(node), new Score(
+					node.path("benchmark").asText(),
+					params(node),
+					node.path("mode").asText(),
+					metric.path("score").asDouble(),
+					errorOf(metric.path("scoreError")),
+					metric.path("scoreUnit").asText()));
+		}
+		return scores;
+	}
+
+	private static String key(JsonNode node) {
+		return node.path("benchmark").asText() + "|" + params(node) + "|" + node.path("mode").asText();
+	}
+
+	private static String params(JsonNode node) {
+		Map<String, String> params = new TreeMap<>();
+		for (Map.Entry<String, JsonNode> param : node.path("params").properties()) {
+			params.put(param.getKey(), param.getValue().asText());
+		}
+		return params.entrySet().stream()
+				.map(entry -> entry.getKey() + "=" + entry.getValue())
+				.collect(Collectors.joining(", "));
+	}
+
+	// JMH writes "NaN" when there were too few iterations for an error estimate
+	private static double errorOf(JsonNode scoreError) {
+		double error = scoreError.isNumber() ? scoreError.asDouble() : Double.NaN;
+		return Double.isNaN(error) ? 0 : error;
+	}
+
+	public enum Verdict {
+		REGRESSION, IMPROVEMENT, UNCHANGED, NEW, INCOMPARABLE
+	}
+
+	public record Score(String benchmark, String params, String mode, double score, double error, String unit) {
+
+		boolean higherIsBetter() {
+			return "thrpt".equals(mode);
+		}
+
+		String format() {
+			return String.format(Locale.ROOT, "%.3f ± %.3f %s", score, error, unit);
+		}
+	}
+
+	public record Comparison(Score baseline, Score current, Verdict verdict) {
+
+		String changeText() {
+			if (baseline == null || baseline.score() == 0) {
+				return "";
+			}
+			return String.format(Locale.ROOT, "%+.1f%%", (current.score() - baseline.score()) / baseline.score() * 100);
+		}
+	}
+}
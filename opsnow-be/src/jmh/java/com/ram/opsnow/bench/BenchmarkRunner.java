@@ -0,0 +1,95 @@
+package com.ram.opsnow.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this package, writes the results as JSON to
+ * {@code <jmh.output>/results.json} and compares them with the baseline at
+ * {@code jmh.baseline} in {@code <jmh.output>/regression-report.md}.
+ * <p>
+ * Arguments are JMH command line options, e.g. {@code Csv -f 1 -p rows=100000};
+ * without a benchmark pattern every benchmark runs.
+ * Benchmarks that need PostgreSQL are skipped without
+ * {@code jmh.postgres.url}, and the ones comparing databases only run on H2.
+ * Further system properties:
+ * <ul>
+ * <li>{@code jmh.threshold}: relative change reported as a regression,
+ * default 0.10;</li>
+ * <li>{@code jmh.fail-on-regression}: exit with status 1 when anything
+ * regressed, or when there is no baseline to compare with;</li>
+ * <li>{@code jmh.update-baseline}: store these results in the baseline after
+ * the comparison.</li>
+ * </ul>
+ * The Maven profile {@code benchmarks} passes all of these through, see
+ * pom.xml.
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		if (commandLine.shouldHelp()) {
+			commandLine.showHelp();
+			return;
+		}
+		Path output = Path.of(System.getProperty("jmh.output", "target/jmh"));
+		Path results = output.resolve("results.json");
+		Path baseline = Path.of(System.getProperty("jmh.baseline", "src/jmh/baseline.json"));
+		double threshold = Double.parseDouble(System.getProperty("jmh.threshold", "0.10"));
+		Files.createDirectories(output);
+
+		ChainedOptionsBuilder options = new OptionsBuilder()
+				.parent(commandLine)
+				.resultFormat(ResultFormatType.JSON)
+				.result(results.toString());
+		if (commandLine.getIncludes().isEmpty()) {
+			options.include(BenchmarkRunner.class.getPackageName() + "\\..*");
+		}
+		if (!BenchmarkData.hasPostgres()) {
+			System.out.println("Running on H2 only, " + BenchmarkData.POSTGRES_URL_PROPERTY + " is not set");
+			options.exclude(PostgresImportBenchmark.class.getSimpleName());
+			options.exclude(ApiCallHistoryIdBenchmark.class.getSimpleName());
+			options.param("database", BenchmarkData.H2);
+		}
+		Runner runner = new Runner(options.build());
+		if (commandLine.shouldList()) {
+			runner.list();
+			return;
+		}
+		runner.run();
+
+		if (Files.exists(baseline)) {
+			BenchmarkRegressionReport report = BenchmarkRegressionReport.compare(baseline, results, threshold);
+			String markdown = report.toMarkdown();
+			Files.writeString(output.resolve("regression-report.md"), markdown);
+			System.out.println();
+			System.out.println(markdown);
+			if (report.hasRegressions() && Boolean.getBoolean("jmh.fail-on-regression")) {
+				System.err.println("Benchmarks regressed against " + baseline);
+				System.exit(1);
+			}
+		} else if (Boolean.getBoolean("jmh.update-baseline")) {
+			System.out.println("No baseline at " + baseline + " yet, storing " + results);
+		} else if (Boolean.getBoolean("jmh.fail-on-regression")) {
+			System.err.println("No baseline at " + baseline + " to check for regressions against; run with "
+					+ "-Djmh.update-baseline=true to store " + results + " as the baseline");
+			System.exit(1);
+		} else {
+			System.out.println("No baseline at " + baseline + "; run with -Djmh.update-baseline=true to store "
+					+ results + " as the baseline");
+		}
+		if (Boolean.getBoolean("jmh.update-baseline")) {
+			BenchmarkRegressionReport.updateBaseline(baseline, results);
+			System.out.println("Baseline " + baseline + " updated");
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.ram.opsnow.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.ram.opsnow.util.csv.ByteCsvTokenizer;
+import com.ram.opsnow.util.csv.CsvRecordReader;
+import com.ram.opsnow.util.csv.CsvTokenizer;
+
+/**
+ * Parses a generated employee.csv into the values CsvImportService binds for
+ * each row, without the database: the readLine/split parsing the importer
+ * started with, the Reader-based {@link CsvTokenizer} and the memory-mapped
+ * {@link ByteCsvTokenizer}. The file stays in the page cache between
+ * invocations, so this is parsing cost, not disk speed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+	private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+	@Param({ "100000", "1000000" })
+	public int rows;
+
+	private Path employeeFile;
+
+	@Setup
+	public void setUp() throws IOException {
+		employeeFile = BenchmarkData.dataset(rows).employeeFile();
+	}
+
+	@Benchmark
+	public long readLineSplit(Blackhole blackhole) throws IOException {
+		long records = 0;
+		try (BufferedReader reader = Files.newBufferedReader(employeeFile, StandardCharsets.UTF_8)) {
+			reader.readLine();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] data = line.split(";", -1);
+				if (data.length < 10) {
+					continue;
+				}
+				blackhole.consume(emptyToNull(data[0]));
+				blackhole.consume(emptyToNull(data[1]));
+				blackhole.consume(emptyToNull(data[2]));
+				blackhole.consume(emptyToNull(data[3]));
+				blackhole.consume(emptyToNull(data[4]));
+				blackhole.consume(emptyToNull(data[5]));
+				blackhole.consume(data[6].isBlank() ? null : new BigDecimal(data[6].trim()));
+				blackhole.consume(data[7].isBlank() ? null : LocalDate.parse(data[7].trim(), DATE).atStartOfDay());
+				blackhole.consume(emptyToNull(data[8]));
+				blackhole.consume(emptyToNull(data[9]));
+				records++;
+			}
+		}
+		return records;
+	}
+
+	@Benchmark
+	public long charTokenizer(Blackhole blackhole) throws IOException {
+		try (CsvTokenizer tokenizer = new CsvTokenizer(Files.newBufferedReader(employeeFile, StandardCharsets.UTF_8),
+				';')) {
+			return consume(tokenizer, blackhole);
+		}
+	}
+
+	@Benchmark
+	public long byteTokenizer(Blackhole blackhole) throws IOException {
+		try (ByteCsvTokenizer tokenizer = ByteCsvTokenizer.open(employeeFile, ';')) {
+			return consume(tokenizer, blackhole);
+		}
+	}
+
+	// reads the fields the way the employee mapper in CsvImportService does
+	private static long consume(CsvRecordReader reader, Blackhole blackhole) throws IOException {
+		long records = 0;
+		reader.next();
+		while (reader.next()) {
+			if (reader.getFieldCount() < 10) {
+				continue;
+			}
+			blackhole.consume(reader.getTrimmed(0));
+			blackhole.consume(reader.getTrimmed(1));
+			blackhole.consume(reader.getTrimmed(2));
+			blackhole.consume(reader.getTrimmed(3));
+			blackhole.consume(reader.getTrimmed(4));
+			blackhole.consume(reader.getTrimmed(5));
+			blackhole.consume(reader.getDecimal(6));
+			LocalDate entryDate = reader.getDate(7);
+			blackhole.consume(entryDate == null ? null : entryDate.atStartOfDay());
+			blackhole.consume(reader.getTrimmed(8));
+			blackhole.consume(reader.getTrimmed(9));
+			records++;
+		}
+		return records;
+	}
+
+	private static String emptyToNull(String value) {
+		return (value == null || value.trim().isEmpty()) ? null : value.trim();
+	}
+}
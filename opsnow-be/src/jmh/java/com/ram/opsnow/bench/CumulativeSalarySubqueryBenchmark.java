@@ -0,0 +1,85 @@
+package com.ram.opsnow.bench;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.ram.opsnow.datagen.GeneratedDataset;
+
+/**
+ * The correlated subquery getEmployeeCumulativeSalary ran before it moved to
+ * a window function, kept as the reference for
+ * {@link AnalyticsSqlBenchmark#cumulativeSalary()}. It sums every earlier
+ * employee of the department for each row, so it grows with the square of
+ * the department size and stops at 100k rows; 1M takes hours.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CumulativeSalarySubqueryBenchmark {
+
+	private static final String SQL = """
+			SELECT
+				e1.department_code,
+				e1.employee_number,
+				e1.employee_name,
+				e1.salary,
+				(
+					SELECT SUM(e2.salary)
+					FROM employee e2
+					WHERE e2.department_code = e1.department_code
+						AND e2.employee_number <= e1.employee_number
+				) AS cumulative_salary
+			FROM employee e1
+			ORDER BY e1.department_code, e1.employee_number
+			""";
+
+	@Param({ "10000", "100000" })
+	public int rows;
+
+	@Param({ BenchmarkData.H2, BenchmarkData.POSTGRES })
+	public String database;
+
+	private SingleConnectionDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+
+	@Setup
+	public void setUp() throws IOException {
+		dataSource = BenchmarkData.singleConnection(database, "subquery");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		GeneratedDataset dataset = BenchmarkData.dataset(rows);
+		BenchmarkData.createSchema(jdbcTemplate);
+		BenchmarkData.loadReferenceTables(jdbcTemplate, dataset);
+		BenchmarkData.loadEmployees(jdbcTemplate, dataset);
+		BenchmarkData.analyze(jdbcTemplate);
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.destroy();
+	}
+
+	@Benchmark
+	public List<BigDecimal> cumulativeSalary() {
+		return jdbcTemplate.query(SQL, (rs, rowNum) -> rs.getBigDecimal("cumulative_salary"));
+	}
+}
@@ -0,0 +1,136 @@
+package com.ram.opsnow.bench;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ram.opsnow.MapperConfig;
+import com.ram.opsnow.employee.dto.EmployeeRequestDTO;
+import com.ram.opsnow.employee.dto.EmployeeResponseDTO;
+import com.ram.opsnow.employee.entity.Employee;
+
+/**
+ * Entity and DTO mapping as EmployeeServiceImpl does it, through the
+ * ModelMapper bean of MapperConfig, next to the same copies written out by
+ * hand as the lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EmployeeMappingBenchmark {
+
+	private static final String PASSWORD = "$2a$10$7w5HMiGteauFy7H3cHH/juWNpBvsoxuSTHISpqdOF8c1g8JTCHprK";
+
+	private ModelMapper modelMapper;
+	private EmployeeRequestDTO request;
+
+	/**
+	 * One page of GET /api/employee.
+	 */
+	@State(Scope.Benchmark)
+	public static class Page {
+
+		@Param({ "1", "100" })
+		public int pageSize;
+
+		List<Employee> employees;
+
+		@Setup
+		public void setUp() {
+			employees = new ArrayList<>(pageSize);
+			for (int i = 0; i < pageSize; i++) {
+				employees.add(Employee.builder()
+						.employeeNumber(String.valueOf(100_001 + i))
+						.employeeName("minjin" + i)
+						.tierCode("20")
+						.locationCode("L1")
+						.departmentCode("D3")
+						.supervisorCode("100001")
+						.salary(new BigDecimal("4620000"))
+						.entryDate(LocalDateTime.of(2019, 3, 4, 0, 0))
+						.email("minjin" + i + "@employee.com")
+						.password(PASSWORD)
+						.build());
+			}
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		modelMapper = new MapperConfig().modelMapper();
+		request = EmployeeRequestDTO.builder()
+				.employeeName("minjin")
+				.tierCode("20")
+				.locationCode("L1")
+				.departmentCode("D3")
+				.supervisorCode("100001")
+				.salary(new BigDecimal("4620000"))
+				.entryDate(LocalDateTime.of(2019, 3, 4, 0, 0))
+				.email("minjin@employee.com")
+				.password(PASSWORD)
+				.build();
+	}
+
+	@Benchmark
+	public List<EmployeeResponseDTO> entitiesToResponses(Page page) {
+		return page.employees.stream().map(employee -> modelMapper.map(employee, EmployeeResponseDTO.class)).toList();
+	}
+
+	@Benchmark
+	public List<EmployeeResponseDTO> entitiesToResponsesByHand(Page page) {
+		return page.employees.stream().map(EmployeeMappingBenchmark::toResponse).toList();
+	}
+
+	@Benchmark
+	public Employee requestToEntity() {
+		return modelMapper.map(request, Employee.class);
+	}
+
+	@Benchmark
+	public Employee requestToEntityByHand() {
+		return Employee.builder()
+				.employeeNumber(request.getEmployeeNumber())
+				.employeeName(request.getEmployeeName())
+				.tierCode(request.getTierCode())
+				.locationCode(request.getLocationCode())
+				.departmentCode(request.getDepartmentCode())
+				.supervisorCode(request.getSupervisorCode())
+				.salary(request.getSalary())
+				.entryDate(request.getEntryDate())
+				.email(request.getEmail())
+				.password(request.getPassword())
+				.build();
+	}
+
+	private static EmployeeResponseDTO toResponse(Employee employee) {
+		return EmployeeResponseDTO.builder()
+				.employeeNumber(employee.getEmployeeNumber())
+				.employeeName(employee.getEmployeeName())
+				.tierCode(employee.getTierCode())
+				.locationCode(employee.getLocationCode())
+				.departmentCode(employee.getDepartmentCode())
+				.supervisorCode(employee.getSupervisorCode())
+				.salary(employee.getSalary())
+				.entryDate(employee.getEntryDate())
+				.email(employee.getEmail())
+				.build();
+	}
+}
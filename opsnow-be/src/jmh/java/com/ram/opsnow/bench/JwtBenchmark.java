@@ -0,0 +1,84 @@
+package com.ram.opsnow.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ram.opsnow.auth.util.JwtUtil;
+import com.ram.opsnow.auth.util.TokenClaims;
+
+/**
+ * Token issue and verification as the login endpoint and the JWT filter run
+ * them, with the secret from application.properties and a second, rotated
+ * key in the ring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtBenchmark {
+
+	private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+	private static final String ROTATED_SECRET = "6B5970337336763979244226452948404D635166546A576E5A72347537782141";
+
+	private JwtUtil jwtUtil;
+	private String activeToken;
+	private String previousKeyToken;
+	private String tamperedToken;
+
+	@Setup
+	public void setUp() {
+		// a token from before the rotation, signed by the default key the rotated ring still verifies
+		previousKeyToken = jwtUtil("", "").generateToken("employee100001@employee.com");
+		jwtUtil = jwtUtil("rotated:" + ROTATED_SECRET, "rotated");
+		activeToken = jwtUtil.generateToken("employee100001@employee.com");
+		// flip a character inside the signature; the last one may only carry padding bits
+		int index = activeToken.length() - 10;
+		char replacement = activeToken.charAt(index) == 'A' ? 'B' : 'A';
+		tamperedToken = activeToken.substring(0, index) + replacement + activeToken.substring(index + 1);
+	}
+
+	private static JwtUtil jwtUtil(String additionalKeys, String activeKeyId) {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "secretKeyId", "default");
+		ReflectionTestUtils.setField(jwtUtil, "additionalKeys", additionalKeys);
+		ReflectionTestUtils.setField(jwtUtil, "activeKeyId", activeKeyId);
+		ReflectionTestUtils.setField(jwtUtil, "expiration", TimeUnit.DAYS.toMillis(1));
+		ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+		return jwtUtil;
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken("employee100001@employee.com");
+	}
+
+	@Benchmark
+	public TokenClaims parseToken() {
+		return jwtUtil.parseToken(activeToken);
+	}
+
+	@Benchmark
+	public TokenClaims parseTokenSignedWithPreviousKey() {
+		return jwtUtil.parseToken(previousKeyToken);
+	}
+
+	// the rejection path builds an exception, which the filter pays for on every bad token
+	@Benchmark
+	public TokenClaims parseTamperedToken() {
+		return jwtUtil.parseToken(tamperedToken);
+	}
+}
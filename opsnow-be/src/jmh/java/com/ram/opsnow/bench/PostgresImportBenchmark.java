@@ -0,0 +1,111 @@
+package com.ram.opsnow.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.ram.opsnow.datagen.GeneratedDataset;
+import com.ram.opsnow.util.csv.CsvImportResult;
+import com.ram.opsnow.util.csv.CsvTableImport;
+import com.ram.opsnow.util.csv.StreamingCsvImporter;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * A full employee import through {@link StreamingCsvImporter} into an empty
+ * table on a real PostgreSQL, with COPY against batched inserts and with the
+ * staged pipeline against the sequential path.
+ * <p>
+ * Needs a database and is left out of runs unless {@code jmh.postgres.url}
+ * is set, e.g.
+ * {@code mvn -P benchmarks verify -Djmh.args=PostgresImport -Djmh.postgres.url=jdbc:postgresql://localhost:5432/postgres},
+ * see {@link BenchmarkData}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PostgresImportBenchmark {
+
+	@Param({ "1000000" })
+	public int rows;
+
+	@Param({ "copy", "batch" })
+	public String mode;
+
+	@Param({ "true", "false" })
+	public boolean pipeline;
+
+	private HikariDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private StreamingCsvImporter importer;
+	private CsvTableImport employeeImport;
+	private FileSystemResource employeeFile;
+
+	@Setup
+	public void setUp() throws IOException {
+		dataSource = BenchmarkData.postgres(8);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+
+		GeneratedDataset dataset = BenchmarkData.dataset(rows);
+		BenchmarkData.createSchema(jdbcTemplate);
+		BenchmarkData.loadReferenceTables(jdbcTemplate, dataset);
+		employeeFile = new FileSystemResource(dataset.employeeFile());
+
+		// the defaults of application.properties
+		importer = new StreamingCsvImporter(jdbcTemplate, new DataSourceTransactionManager(dataSource), 1000, 10,
+				mode, 100, pipeline, 0, 4, 1024 * 1024, 8, 60_000, "");
+		employeeImport = new CsvTableImport("employee", "employee",
+				List.of("employee_number", "employee_name", "tier_code", "location_code", "department_code",
+						"supervisor_code", "salary", "entry_date", "password", "email"),
+				List.of("employee_number"), (record, args) -> {
+					if (record.getFieldCount() < 10)
+						return false;
+
+					args[0] = record.getTrimmed(0);
+					args[1] = record.getTrimmed(1);
+					args[2] = record.getTrimmed(2);
+					args[3] = record.getTrimmed(3);
+					args[4] = record.getTrimmed(4);
+					args[5] = record.getTrimmed(5);
+					args[6] = record.getDecimal(6);
+					args[7] = record.getDate(7).atStartOfDay();
+					args[8] = record.getTrimmed(8);
+					args[9] = record.getTrimmed(9);
+					return true;
+				});
+	}
+
+	@Setup(Level.Invocation)
+	public void emptyTable() {
+		jdbcTemplate.execute("TRUNCATE employee");
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.close();
+	}
+
+	@Benchmark
+	public CsvImportResult importEmployees() throws IOException {
+		return importer.importCsv(employeeImport, employeeFile, false);
+	}
+}
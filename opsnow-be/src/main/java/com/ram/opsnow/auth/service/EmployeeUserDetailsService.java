@@ -19,9 +19,11 @@ import lombok.extern.slf4j.Slf4j;
 public class EmployeeUserDetailsService implements UserDetailsService {
 
     private final EmployeeRepository employeeRepository;
+    private final PrincipalCache principalCache;
 
-    public EmployeeUserDetailsService(EmployeeRepository employeeRepository) {
+    public EmployeeUserDetailsService(EmployeeRepository employeeRepository, PrincipalCache principalCache) {
         this.employeeRepository = employeeRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -34,4 +36,26 @@ public class EmployeeUserDetailsService implements UserDetailsService {
                 employee.getPassword(),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
     }
+
+    /**
+     * Cached lookup for request authentication. The returned principal carries
+     * no password hash, so it must not be used for credential checks; those go
+     * through {@link #loadUserByUsername(String)}.
+     */
+    public UserDetails loadPrincipal(String email) throws UsernameNotFoundException {
+        UserDetails cached = principalCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        Employee employee = employeeRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Employee not found with email: " + email));
+
+        UserDetails principal = new User(
+                employee.getEmail(),
+                "",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        principalCache.put(email, principal);
+        return principal;
+    }
 }
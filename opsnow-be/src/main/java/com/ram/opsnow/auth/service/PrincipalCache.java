@@ -0,0 +1,72 @@
+package com.ram.opsnow.auth.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by email, so
+ * the JWT filter does not query the employee table on every request. Entries
+ * are invalidated explicitly when an employee is updated or deleted; the TTL
+ * bounds staleness for any change made outside the employee services.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public PrincipalCache(@Value("${auth.principal-cache.max-size:10000}") int maxSize,
+            @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public UserDetails get(String email) {
+        CachedPrincipal cached = principals.get(email);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() < System.currentTimeMillis()) {
+            principals.remove(email, cached);
+            return null;
+        }
+        return cached.userDetails();
+    }
+
+    public void put(String email, UserDetails userDetails) {
+        if (principals.size() >= maxSize) {
+            evict();
+        }
+        principals.put(email, new CachedPrincipal(userDetails, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            principals.remove(email);
+        }
+    }
+
+    public void invalidateAll() {
+        principals.clear();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        principals.values().removeIf(cached -> cached.expiresAt() < now);
+
+        Iterator<String> emails = principals.keySet().iterator();
+        while (principals.size() >= maxSize && emails.hasNext()) {
+            emails.next();
+            emails.remove();
+        }
+    }
+
+    private record CachedPrincipal(UserDetails userDetails, long expiresAt) {
+    }
+}
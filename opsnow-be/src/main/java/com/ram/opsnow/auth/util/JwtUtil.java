@@ -1,19 +1,24 @@
 package com.ram.opsnow.auth.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Slf4j
 @Component
@@ -22,39 +27,69 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.key-id:default}")
+    private String secretKeyId;
+
+    @Value("${jwt.additional-keys:}")
+    private String additionalKeys;
+
+    @Value("${jwt.active-key-id:}")
+    private String activeKeyId;
+
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    // Keys are derived once at startup; the parser resolves the verification key
+    // from the token's kid header on every parse. Rotating means restarting with
+    // the new key in jwt.additional-keys and its kid in jwt.active-key-id.
+    private KeyRing keyRing;
+    private JwtParser parser;
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    @PostConstruct
+    void init() {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        keys.put(secretKeyId, deriveKey(secret));
+        if (additionalKeys != null && !additionalKeys.isBlank()) {
+            for (String entry : additionalKeys.split(",")) {
+                String[] parts = entry.trim().split(":", 2);
+                if (parts.length != 2) {
+                    throw new IllegalStateException("jwt.additional-keys entries must be kid:base64secret");
+                }
+                keys.put(parts[0].trim(), deriveKey(parts[1].trim()));
+            }
+        }
+        String active = activeKeyId == null || activeKeyId.isBlank() ? secretKeyId : activeKeyId;
+        if (!keys.containsKey(active)) {
+            throw new IllegalStateException("jwt.active-key-id " + active + " is not one of the configured keys "
+                    + keys.keySet());
+        }
+        keyRing = new KeyRing(active, secretKeyId, Collections.unmodifiableMap(keys));
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        log.info("JWT keys loaded: {} (active: {})", keys.keySet(), active);
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+     * Verifies the token and reads subject and expiry from a single decode.
+     * Returns null when the token is invalid or expired.
+     */
+    public TokenClaims parseToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSignKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            TokenClaims tokenClaims = new TokenClaims(claims.getSubject(), claims.getExpiration());
+            return tokenClaims.isExpired() ? null : tokenClaims;
         } catch (Exception e) {
-            log.error("Error parsing JWT token: {}", e.getMessage());
-            throw new RuntimeException("Invalid JWT token", e);
+            return null;
         }
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     public String generateToken(String username) {
         try {
             log.info("Generating JWT token for username: {}", username);
@@ -69,35 +104,43 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .header().keyId(keyRing.activeKeyId()).and()
                 .claims(claims)
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(keyRing.signingKey())
                 .compact();
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (Exception e) {
-            log.error("Error validating JWT token: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private SecretKey getSignKey() {
+    private SecretKey deriveKey(String base64Secret) {
         try {
-            if (secret == null || secret.trim().isEmpty()) {
+            if (base64Secret == null || base64Secret.trim().isEmpty()) {
                 throw new RuntimeException("JWT secret is not configured");
             }
-            byte[] keyBytes = Decoders.BASE64.decode(secret);
+            byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
             return Keys.hmacShaKeyFor(keyBytes);
         } catch (Exception e) {
             log.error("Error creating JWT signing key: {}", e.getMessage());
             throw new RuntimeException("Failed to create JWT signing key", e);
         }
     }
+
+    private record KeyRing(String activeKeyId, String legacyKeyId, Map<String, SecretKey> keys) {
+
+        SecretKey signingKey() {
+            return keys.get(activeKeyId);
+        }
+
+        // tokens issued before kid headers were introduced verify against the configured jwt.secret
+        SecretKey verificationKey(String keyId) {
+            SecretKey key = keys.get(keyId == null ? legacyKeyId : keyId);
+            if (key == null) {
+                throw new IllegalArgumentException("Unknown JWT key id: " + keyId);
+            }
+            return key;
+        }
+    }
 }
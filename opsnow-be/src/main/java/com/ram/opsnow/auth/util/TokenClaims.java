@@ -0,0 +1,10 @@
+package com.ram.opsnow.auth.util;
+
+import java.util.Date;
+
+public record TokenClaims(String username, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
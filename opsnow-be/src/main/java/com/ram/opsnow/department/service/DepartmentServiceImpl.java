@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import com.ram.opsnow.department.dto.DepartmentDTO;
 import com.ram.opsnow.department.entity.Department;
 import com.ram.opsnow.department.repository.DepartmentRepository;
+import com.ram.opsnow.employee.service.EmployeeRankingIndex;
 import com.ram.opsnow.exception.DataAlreadyExistException;
 import com.ram.opsnow.exception.DataNotFoundException;
 import com.ram.opsnow.exception.InvalidDataException;
@@ -25,10 +26,13 @@ import lombok.extern.slf4j.Slf4j;
 public class DepartmentServiceImpl implements DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final ModelMapper modelMapper;
+    private final EmployeeRankingIndex employeeRankingIndex;
 
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository, ModelMapper modelMapper) {
+    public DepartmentServiceImpl(DepartmentRepository departmentRepository, ModelMapper modelMapper,
+            EmployeeRankingIndex employeeRankingIndex) {
         this.departmentRepository = departmentRepository;
         this.modelMapper = modelMapper;
+        this.employeeRankingIndex = employeeRankingIndex;
     }
 
     @Override
@@ -72,6 +76,7 @@ public class DepartmentServiceImpl implements DepartmentService {
         }
 
         var department = departmentRepository.save(modelMapper.map(departmentDTO, Department.class));
+        employeeRankingIndex.putDepartmentName(department.getDepartmentCode(), department.getDepartmentName());
         return modelMapper.map(department, DepartmentDTO.class);
     }
 
@@ -81,6 +86,7 @@ public class DepartmentServiceImpl implements DepartmentService {
             throw new DataNotFoundException("Department not found with code: " + departmentDTO.getDepartmentCode());
         }
         var department = departmentRepository.save(modelMapper.map(departmentDTO, Department.class));
+        employeeRankingIndex.putDepartmentName(department.getDepartmentCode(), department.getDepartmentName());
         return modelMapper.map(department, DepartmentDTO.class);
     }
 
@@ -88,6 +94,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     public String deleteDepartment(String departmentCode) {
         try {
             departmentRepository.deleteById(departmentCode);
+            employeeRankingIndex.removeDepartmentName(departmentCode);
         } catch (Exception e) {
             return "Failed to delete department with code: " + departmentCode;
         }
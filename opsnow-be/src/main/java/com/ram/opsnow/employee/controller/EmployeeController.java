@@ -1,7 +1,9 @@
 package com.ram.opsnow.employee.controller;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,16 +15,20 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ram.opsnow.employee.dto.EmployeeBulkResponse;
 import com.ram.opsnow.employee.dto.EmployeeCumulativeSalary;
 import com.ram.opsnow.employee.dto.EmployeeDepartmentAnalysis;
 import com.ram.opsnow.employee.dto.EmployeeRanking;
 import com.ram.opsnow.employee.dto.EmployeeRequestDTO;
 import com.ram.opsnow.employee.dto.EmployeeResponseDTO;
+import com.ram.opsnow.employee.dto.EmployeeSummaryConsistency;
+import com.ram.opsnow.employee.service.EmployeeBulkService;
 import com.ram.opsnow.employee.service.EmployeeServiceImpl;
 import com.ram.opsnow.util.PaginationResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -32,6 +38,7 @@ import lombok.RequiredArgsConstructor;
 public class EmployeeController {
 
     private final EmployeeServiceImpl employeeService;
+    private final EmployeeBulkService employeeBulkService;
 
     @GetMapping
     public ResponseEntity<PaginationResponse<EmployeeResponseDTO>> getAllEmployee(
@@ -39,7 +46,13 @@ public class EmployeeController {
             @RequestParam(defaultValue = "10") int pageSize, @RequestParam(defaultValue = "employeeName") String sortBy,
             @RequestParam(required = false) String employeeNumber,
             @RequestParam(required = false) String employeeName,
-            @RequestParam(required = false) String employeeEmail) {
+            @RequestParam(required = false) String employeeEmail,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor) {
+        if (keyset || cursor != null) {
+            return ResponseEntity.ok(employeeService.getAllEmployeeByCursor(pageSize, sortBy, cursor, employeeNumber,
+                    employeeName, employeeEmail));
+        }
         return ResponseEntity
                 .ok(employeeService.getAllEmployee(pageNumber, pageSize, sortBy, employeeNumber, employeeName,
                         employeeEmail));
@@ -59,6 +72,30 @@ public class EmployeeController {
         return ResponseEntity.ok(createdEmployee);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk create employees", description = "Create employees from a JSON array")
+    public ResponseEntity<EmployeeBulkResponse> createEmployees(@RequestBody List<EmployeeRequestDTO> employees) {
+        return ResponseEntity.ok(employeeBulkService.createEmployees(employees));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk create employees (NDJSON)", description = "Create employees from newline-delimited JSON")
+    public ResponseEntity<EmployeeBulkResponse> createEmployeesNdjson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(employeeBulkService.createEmployees(request.getInputStream()));
+    }
+
+    @PutMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk update employees", description = "Update employees from a JSON array")
+    public ResponseEntity<EmployeeBulkResponse> updateEmployees(@RequestBody List<EmployeeRequestDTO> employees) {
+        return ResponseEntity.ok(employeeBulkService.updateEmployees(employees));
+    }
+
+    @PutMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk update employees (NDJSON)", description = "Update employees from newline-delimited JSON")
+    public ResponseEntity<EmployeeBulkResponse> updateEmployeesNdjson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(employeeBulkService.updateEmployees(request.getInputStream()));
+    }
+
     @PutMapping
     public ResponseEntity<EmployeeResponseDTO> updateTier(@RequestBody EmployeeRequestDTO employeeRequestDTO) {
         return ResponseEntity.ok(employeeService.updateEmployee(employeeRequestDTO));
@@ -71,8 +108,9 @@ public class EmployeeController {
 
     @GetMapping("/cumulative-salary")
     @Operation(summary = "Get employee cumulative salary by department", description = "Get employee cumulative salary by department")
-    public ResponseEntity<List<EmployeeCumulativeSalary>> getEmployeeCumulativeSalary() {
-        List<EmployeeCumulativeSalary> cumulativeSalary = employeeService.getEmployeeCumulativeSalary();
+    public ResponseEntity<List<EmployeeCumulativeSalary>> getEmployeeCumulativeSalary(
+            @RequestParam(defaultValue = "false") boolean numericOrder) {
+        List<EmployeeCumulativeSalary> cumulativeSalary = employeeService.getEmployeeCumulativeSalary(numericOrder);
         return ResponseEntity.ok(cumulativeSalary);
     }
 
@@ -83,10 +121,24 @@ public class EmployeeController {
         return ResponseEntity.ok(cumulativeSalary);
     }
 
+    @GetMapping("/department-analysis/consistency")
+    @Operation(summary = "Check department summary", description = "Compare the department summary against the employee table")
+    public ResponseEntity<EmployeeSummaryConsistency> checkDepartmentSummary() {
+        return ResponseEntity.ok(employeeService.checkDepartmentSummary());
+    }
+
+    @PostMapping("/department-analysis/rebuild")
+    @Operation(summary = "Rebuild department summary", description = "Recompute the department summary from the employee table")
+    public ResponseEntity<EmployeeSummaryConsistency> rebuildDepartmentSummary() {
+        return ResponseEntity.ok(employeeService.rebuildDepartmentSummary());
+    }
+
     @GetMapping("/employee-ranking")
     @Operation(summary = "Get employee ranking", description = "Get employee ranking")
-    public ResponseEntity<List<EmployeeRanking>> getEmployeeRanking() {
-        List<EmployeeRanking> cumulativeSalary = employeeService.getEmployeeRanking();
+    public ResponseEntity<List<EmployeeRanking>> getEmployeeRanking(
+            @RequestParam(required = false) String locationCode,
+            @RequestParam(required = false) String departmentCode) {
+        List<EmployeeRanking> cumulativeSalary = employeeService.getEmployeeRanking(locationCode, departmentCode);
         return ResponseEntity.ok(cumulativeSalary);
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.ram.opsnow.employee.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeBulkResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long durationMs;
+    private List<EmployeeBulkResult> results;
+}
@@ -0,0 +1,17 @@
+package com.ram.opsnow.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeBulkResult {
+    private int index;
+    private String employeeNumber;
+    private boolean success;
+    private String message;
+}
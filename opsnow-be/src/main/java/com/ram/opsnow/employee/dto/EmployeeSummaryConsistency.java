@@ -0,0 +1,18 @@
+package com.ram.opsnow.employee.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSummaryConsistency {
+    private boolean consistent;
+    private int checkedGroups;
+    private List<String> driftedGroups;
+}
@@ -8,6 +8,4 @@ import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, String>, JpaSpecificationExecutor<Employee> {
     Optional<Employee> findByEmail(String email);
-
-    Employee findFirstByOrderByEmployeeNumberDesc();
 }
\ No newline at end of file
@@ -0,0 +1,391 @@
+package com.ram.opsnow.employee.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.opsnow.auth.service.PrincipalCache;
+import com.ram.opsnow.employee.dto.EmployeeBulkResponse;
+import com.ram.opsnow.employee.dto.EmployeeBulkResult;
+import com.ram.opsnow.employee.dto.EmployeeRequestDTO;
+import com.ram.opsnow.employee.entity.Employee;
+import com.ram.opsnow.employee.repository.EmployeeRepository;
+import com.ram.opsnow.exception.InvalidDataException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk create and update of employees. Input is taken one chunk of
+ * {@code employee.bulk.chunk-size} rows at a time, so NDJSON bodies stream
+ * straight through. Passwords are hashed on a CPU-sized pool, each chunk is
+ * written as a JDBC batch in its own transaction, and a failed chunk is
+ * retried row by row so every input row gets its own result.
+ */
+@Slf4j
+@Service
+public class EmployeeBulkService {
+
+	private static final String INSERT_SQL = "INSERT INTO employee (employee_number,employee_name,tier_code,location_code,department_code,supervisor_code,salary,entry_date,password,email) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String UPDATE_SQL = """
+			UPDATE employee SET
+			    employee_name = ?,
+			    tier_code = ?,
+			    location_code = ?,
+			    department_code = ?,
+			    supervisor_code = ?,
+			    salary = ?,
+			    entry_date = ?,
+			    email = ?,
+			    password = COALESCE(?, password)
+			WHERE employee_number = ?
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final EmployeeRepository employeeRepository;
+	private final PasswordEncoder passwordEncoder;
+	private final Executor passwordHashExecutor;
+	private final ObjectMapper objectMapper;
+	private final ModelMapper modelMapper;
+	private final EmployeeNumberAllocator employeeNumberAllocator;
+	private final EmployeeRankingIndex employeeRankingIndex;
+	private final EmployeeDepartmentSummaryService employeeDepartmentSummaryService;
+	private final PrincipalCache principalCache;
+	private final int chunkSize;
+
+	public EmployeeBulkService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			EmployeeRepository employeeRepository, PasswordEncoder passwordEncoder,
+			@Qualifier("passwordHashExecutor") Executor passwordHashExecutor, ObjectMapper objectMapper,
+			ModelMapper modelMapper, EmployeeNumberAllocator employeeNumberAllocator,
+			EmployeeRankingIndex employeeRankingIndex,
+			EmployeeDepartmentSummaryService employeeDepartmentSummaryService, PrincipalCache principalCache,
+			@Value("${employee.bulk.chunk-size:500}") int chunkSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.employeeRepository = employeeRepository;
+		this.passwordEncoder = passwordEncoder;
+		this.passwordHashExecutor = passwordHashExecutor;
+		this.objectMapper = objectMapper;
+		this.modelMapper = modelMapper;
+		this.employeeNumberAllocator = employeeNumberAllocator;
+		this.employeeRankingIndex = employeeRankingIndex;
+		this.employeeDepartmentSummaryService = employeeDepartmentSummaryService;
+		this.principalCache = principalCache;
+		this.chunkSize = chunkSize;
+	}
+
+	public EmployeeBulkResponse createEmployees(List<EmployeeRequestDTO> employees) {
+		return writeInChunks(employees.iterator(), this::createChunk);
+	}
+
+	public EmployeeBulkResponse createEmployees(InputStream ndjson) {
+		return writeNdjson(ndjson, this::createChunk);
+	}
+
+	public EmployeeBulkResponse updateEmployees(List<EmployeeRequestDTO> employees) {
+		return writeInChunks(employees.iterator(), this::updateChunk);
+	}
+
+	public EmployeeBulkResponse updateEmployees(InputStream ndjson) {
+		return writeNdjson(ndjson, this::updateChunk);
+	}
+
+	private EmployeeBulkResponse writeNdjson(InputStream ndjson, ChunkWriter writer) {
+		try (MappingIterator<EmployeeRequestDTO> iterator = objectMapper.readerFor(EmployeeRequestDTO.class)
+				.readValues(ndjson)) {
+			return writeInChunks(iterator, writer);
+		} catch (IOException e) {
+			throw new InvalidDataException("Invalid NDJSON: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads at most one chunk ahead, so an NDJSON body is never held in
+	 * memory as a whole. A line that does not parse ends the request with a
+	 * failed result at its index; the chunks before it stay written.
+	 */
+	private EmployeeBulkResponse writeInChunks(Iterator<EmployeeRequestDTO> employees, ChunkWriter writer) {
+		long start = System.currentTimeMillis();
+		List<EmployeeBulkResult> results = new ArrayList<>();
+		Set<List<String>> groups = new HashSet<>();
+		List<EmployeeRequestDTO> chunk = new ArrayList<>(chunkSize);
+		String readError = null;
+		while (readError == null) {
+			try {
+				if (!employees.hasNext()) {
+					break;
+				}
+				chunk.add(employees.next());
+			} catch (RuntimeException e) {
+				// MappingIterator rethrows parse errors unchecked
+				readError = "Invalid NDJSON: " + e.getMessage();
+			}
+			if (chunk.size() == chunkSize || (readError != null && !chunk.isEmpty())) {
+				results.addAll(Arrays.asList(writer.write(results.size(), chunk, groups)));
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			results.addAll(Arrays.asList(writer.write(results.size(), chunk, groups)));
+		}
+		if (readError != null) {
+			results.add(failure(results.size(), null, readError));
+		}
+
+		groups.forEach(group -> employeeDepartmentSummaryService.refreshGroup(group.get(0), group.get(1)));
+		return response(results, start);
+	}
+
+	private EmployeeBulkResult[] createChunk(int offset, List<EmployeeRequestDTO> employees,
+			Set<List<String>> groups) {
+		EmployeeBulkResult[] results = new EmployeeBulkResult[employees.size()];
+
+		List<Integer> valid = new ArrayList<>();
+		for (int i = 0; i < employees.size(); i++) {
+			String error = validateForCreate(employees.get(i));
+			if (error != null) {
+				results[i] = failure(offset + i, null, error);
+			} else {
+				valid.add(i);
+			}
+		}
+
+		Map<Integer, String> hashes = hashPasswords(employees, valid);
+
+		List<Employee> rows = new ArrayList<>(valid.size());
+		for (Integer index : valid) {
+			EmployeeRequestDTO dto = employees.get(index);
+			Employee employee = modelMapper.map(dto, Employee.class);
+			employee.setEmployeeNumber(employeeNumberAllocator.next());
+			employee.setPassword(hashes.get(index));
+			rows.add(employee);
+		}
+		List<Employee> written = writeChunk(offset, valid, rows, INSERT_SQL, this::insertArgs, results);
+
+		afterWrite(List.of(), written, groups);
+		return results;
+	}
+
+	private EmployeeBulkResult[] updateChunk(int offset, List<EmployeeRequestDTO> employees,
+			Set<List<String>> groups) {
+		EmployeeBulkResult[] results = new EmployeeBulkResult[employees.size()];
+
+		List<Integer> valid = new ArrayList<>();
+		for (int i = 0; i < employees.size(); i++) {
+			EmployeeRequestDTO dto = employees.get(i);
+			if (dto.getEmployeeNumber() == null || dto.getEmployeeNumber().isEmpty()) {
+				results[i] = failure(offset + i, null, "Employee number is required.");
+			} else {
+				valid.add(i);
+			}
+		}
+
+		List<Integer> withPassword = valid.stream()
+				.filter(i -> employees.get(i).getPassword() != null)
+				.toList();
+		Map<Integer, String> hashes = hashPasswords(employees, withPassword);
+
+		Map<String, Employee> existing = new HashMap<>();
+		employeeRepository.findAllById(valid.stream().map(i -> employees.get(i).getEmployeeNumber()).toList())
+				.forEach(employee -> existing.put(employee.getEmployeeNumber(), employee));
+
+		List<Employee> previous = new ArrayList<>();
+		List<Integer> found = new ArrayList<>(valid.size());
+		List<Employee> rows = new ArrayList<>(valid.size());
+		for (Integer index : valid) {
+			EmployeeRequestDTO dto = employees.get(index);
+			Employee before = existing.get(dto.getEmployeeNumber());
+			if (before == null) {
+				results[index] = failure(offset + index, dto.getEmployeeNumber(),
+						"Employee not found with employee number: " + dto.getEmployeeNumber());
+				continue;
+			}
+			Employee employee = modelMapper.map(dto, Employee.class);
+			employee.setPassword(hashes.get(index));
+			found.add(index);
+			rows.add(employee);
+			previous.add(before);
+		}
+		List<Employee> written = writeChunk(offset, found, rows, UPDATE_SQL, this::updateArgs, results);
+
+		afterWrite(previous, written, groups);
+		return results;
+	}
+
+	private Map<Integer, String> hashPasswords(List<EmployeeRequestDTO> employees, List<Integer> indexes) {
+		Map<Integer, CompletableFuture<String>> futures = new HashMap<>();
+		for (Integer index : indexes) {
+			String password = employees.get(index).getPassword();
+			futures.put(index, CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password),
+					passwordHashExecutor));
+		}
+		Map<Integer, String> hashes = new HashMap<>();
+		futures.forEach((index, future) -> hashes.put(index, future.join()));
+		return hashes;
+	}
+
+	private List<Employee> writeChunk(int offset, List<Integer> indexes, List<Employee> rows, String sql,
+			Function<Employee, Object[]> args, EmployeeBulkResult[] results) {
+		List<Employee> written = new ArrayList<>(rows.size());
+		if (rows.isEmpty()) {
+			return written;
+		}
+		List<Object[]> batchArgs = rows.stream().map(args).toList();
+		try {
+			int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, batchArgs));
+			for (int i = 0; i < rows.size(); i++) {
+				record(offset, indexes.get(i), rows.get(i), counts[i], results, written);
+			}
+		} catch (Exception chunkError) {
+			log.warn("Bulk chunk of {} employees failed, retrying row by row: {}", rows.size(),
+					chunkError.getMessage());
+			for (int i = 0; i < rows.size(); i++) {
+				int index = indexes.get(i);
+				Employee employee = rows.get(i);
+				try {
+					record(offset, index, employee, jdbcTemplate.update(sql, batchArgs.get(i)), results, written);
+				} catch (Exception rowError) {
+					results[index] = failure(offset + index, employee.getEmployeeNumber(), rootMessage(rowError));
+				}
+			}
+		}
+		return written;
+	}
+
+	// an update that matched no row, e.g. because the employee was deleted since it was read, wrote nothing
+	private void record(int offset, int index, Employee employee, int count, EmployeeBulkResult[] results,
+			List<Employee> written) {
+		if (count == 0) {
+			results[index] = failure(offset + index, employee.getEmployeeNumber(),
+					"Employee not found with employee number: " + employee.getEmployeeNumber());
+			return;
+		}
+		results[index] = success(offset + index, employee.getEmployeeNumber());
+		written.add(employee);
+	}
+
+	private void afterWrite(List<Employee> previous, List<Employee> written, Set<List<String>> groups) {
+		for (Employee employee : previous) {
+			principalCache.invalidate(employee.getEmail());
+			groups.add(List.of(employee.getLocationCode(), employee.getDepartmentCode()));
+		}
+		for (Employee employee : written) {
+			employeeRankingIndex.put(employee);
+			principalCache.invalidate(employee.getEmail());
+			groups.add(List.of(employee.getLocationCode(), employee.getDepartmentCode()));
+		}
+	}
+
+	private Object[] insertArgs(Employee employee) {
+		return new Object[] {
+				employee.getEmployeeNumber(),
+				employee.getEmployeeName(),
+				employee.getTierCode(),
+				employee.getLocationCode(),
+				employee.getDepartmentCode(),
+				employee.getSupervisorCode(),
+				employee.getSalary(),
+				toTimestamp(employee),
+				employee.getPassword(),
+				employee.getEmail()
+		};
+	}
+
+	private Object[] updateArgs(Employee employee) {
+		return new Object[] {
+				employee.getEmployeeName(),
+				employee.getTierCode(),
+				employee.getLocationCode(),
+				employee.getDepartmentCode(),
+				employee.getSupervisorCode(),
+				employee.getSalary(),
+				toTimestamp(employee),
+				employee.getEmail(),
+				employee.getPassword(),
+				employee.getEmployeeNumber()
+		};
+	}
+
+	private Timestamp toTimestamp(Employee employee) {
+		return employee.getEntryDate() == null ? null : Timestamp.valueOf(employee.getEntryDate());
+	}
+
+	private String validateForCreate(EmployeeRequestDTO dto) {
+		if (isBlank(dto.getEmployeeName())) {
+			return "Employee name is required.";
+		}
+		if (isBlank(dto.getTierCode()) || isBlank(dto.getLocationCode()) || isBlank(dto.getDepartmentCode())) {
+			return "Tier, location and department codes are required.";
+		}
+		if (isBlank(dto.getEmail()) || isBlank(dto.getPassword())) {
+			return "Email and password are required.";
+		}
+		return null;
+	}
+
+	private boolean isBlank(String value) {
+		return value == null || value.trim().isEmpty();
+	}
+
+	private String rootMessage(Exception e) {
+		Throwable cause = e;
+		while (cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause.getMessage();
+	}
+
+	private EmployeeBulkResult success(int index, String employeeNumber) {
+		return new EmployeeBulkResult(index, employeeNumber, true, null);
+	}
+
+	private EmployeeBulkResult failure(int index, String employeeNumber, String message) {
+		return new EmployeeBulkResult(index, employeeNumber, false, message);
+	}
+
+	private EmployeeBulkResponse response(List<EmployeeBulkResult> results, long start) {
+		int succeeded = 0;
+		for (EmployeeBulkResult result : results) {
+			if (result.isSuccess()) {
+				succeeded++;
+			}
+		}
+		long durationMs = System.currentTimeMillis() - start;
+		log.info("Bulk employee write: {} rows, {} succeeded in {} ms", results.size(), succeeded, durationMs);
+		return EmployeeBulkResponse.builder()
+				.total(results.size())
+				.succeeded(succeeded)
+				.failed(results.size() - succeeded)
+				.durationMs(durationMs)
+				.results(results)
+				.build();
+	}
+
+	@FunctionalInterface
+	private interface ChunkWriter {
+		EmployeeBulkResult[] write(int offset, List<EmployeeRequestDTO> chunk, Set<List<String>> groups);
+	}
+}
@@ -0,0 +1,249 @@
+package com.ram.opsnow.employee.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.ram.opsnow.employee.dto.EmployeeDepartmentAnalysis;
+import com.ram.opsnow.employee.dto.EmployeeSummaryConsistency;
+import com.ram.opsnow.employee.entity.Employee;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains employee_department_summary, a per (location, department) count,
+ * salary sum, min and max that is updated on every employee write so the
+ * department analysis only has to read one row per group.
+ */
+@Slf4j
+@Service
+public class EmployeeDepartmentSummaryService {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public EmployeeDepartmentSummaryService(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public void add(Employee employee) {
+		String sql = """
+				INSERT INTO employee_department_summary AS s
+				    (location_code, department_code, employee_count, salary_count, salary_sum, min_salary, max_salary)
+				VALUES (?, ?, 1, ?, ?, ?, ?)
+				ON CONFLICT (location_code, department_code) DO UPDATE SET
+				    employee_count = s.employee_count + 1,
+				    salary_count = s.salary_count + EXCLUDED.salary_count,
+				    salary_sum = s.salary_sum + EXCLUDED.salary_sum,
+				    min_salary = LEAST(s.min_salary, EXCLUDED.min_salary),
+				    max_salary = GREATEST(s.max_salary, EXCLUDED.max_salary)
+				""";
+		BigDecimal salary = employee.getSalary();
+		jdbcTemplate.update(sql,
+				employee.getLocationCode(),
+				employee.getDepartmentCode(),
+				salary == null ? 0 : 1,
+				salary == null ? BigDecimal.ZERO : salary,
+				salary,
+				salary);
+	}
+
+	/**
+	 * Must be called after the employee row has been removed or changed, since
+	 * min and max are recomputed from the employee table when the removed salary
+	 * was one of the group's extremes.
+	 */
+	public void remove(Employee employee) {
+		BigDecimal salary = employee.getSalary();
+		jdbcTemplate.update("""
+				UPDATE employee_department_summary
+				SET employee_count = employee_count - 1,
+				    salary_count = salary_count - ?,
+				    salary_sum = salary_sum - ?
+				WHERE location_code = ? AND department_code = ?
+				""",
+				salary == null ? 0 : 1,
+				salary == null ? BigDecimal.ZERO : salary,
+				employee.getLocationCode(),
+				employee.getDepartmentCode());
+
+		jdbcTemplate.update(
+				"DELETE FROM employee_department_summary WHERE location_code = ? AND department_code = ? AND employee_count <= 0",
+				employee.getLocationCode(), employee.getDepartmentCode());
+
+		if (salary != null) {
+			jdbcTemplate.update("""
+					UPDATE employee_department_summary s
+					SET (min_salary, max_salary) = (
+					    SELECT MIN(e.salary), MAX(e.salary)
+					    FROM employee e
+					    WHERE e.location_code = s.location_code
+					      AND e.department_code = s.department_code
+					)
+					WHERE s.location_code = ? AND s.department_code = ?
+					  AND (s.min_salary = ? OR s.max_salary = ?)
+					""",
+					employee.getLocationCode(), employee.getDepartmentCode(), salary, salary);
+		}
+	}
+
+	public void update(Employee previous, Employee current) {
+		remove(previous);
+		add(current);
+	}
+
+	/**
+	 * Recomputes a single group from the employee table, for writers that change
+	 * many rows at once and would rather not apply them one by one.
+	 */
+	@Transactional
+	public void refreshGroup(String locationCode, String departmentCode) {
+		jdbcTemplate.update(
+				"DELETE FROM employee_department_summary WHERE location_code = ? AND department_code = ?",
+				locationCode, departmentCode);
+		jdbcTemplate.update("""
+				INSERT INTO employee_department_summary
+				    (location_code, department_code, employee_count, salary_count, salary_sum, min_salary, max_salary)
+				SELECT
+				    location_code,
+				    department_code,
+				    COUNT(*),
+				    COUNT(salary),
+				    COALESCE(SUM(salary), 0),
+				    MIN(salary),
+				    MAX(salary)
+				FROM employee
+				WHERE location_code = ? AND department_code = ?
+				GROUP BY location_code, department_code
+				""", locationCode, departmentCode);
+	}
+
+	@Transactional
+	public void rebuild() {
+		createSummaryTable();
+		jdbcTemplate.execute("DELETE FROM employee_department_summary");
+		int groups = jdbcTemplate.update("""
+				INSERT INTO employee_department_summary
+				    (location_code, department_code, employee_count, salary_count, salary_sum, min_salary, max_salary)
+				SELECT
+				    location_code,
+				    department_code,
+				    COUNT(*),
+				    COUNT(salary),
+				    COALESCE(SUM(salary), 0),
+				    MIN(salary),
+				    MAX(salary)
+				FROM employee
+				GROUP BY location_code, department_code
+				""");
+		log.info("Employee department summary rebuilt with {} groups", groups);
+	}
+
+	public EmployeeSummaryConsistency checkConsistency() {
+		String sql = """
+				WITH live AS (
+				    SELECT
+				        location_code,
+				        department_code,
+				        COUNT(*) AS employee_count,
+				        COUNT(salary) AS salary_count,
+				        COALESCE(SUM(salary), 0) AS salary_sum,
+				        MIN(salary) AS min_salary,
+				        MAX(salary) AS max_salary
+				    FROM employee
+				    GROUP BY location_code, department_code
+				)
+				SELECT
+				    COALESCE(l.location_code, s.location_code) AS location_code,
+				    COALESCE(l.department_code, s.department_code) AS department_code,
+				    (l.employee_count IS DISTINCT FROM s.employee_count
+				        OR l.salary_count IS DISTINCT FROM s.salary_count
+				        OR l.salary_sum IS DISTINCT FROM s.salary_sum
+				        OR l.min_salary IS DISTINCT FROM s.min_salary
+				        OR l.max_salary IS DISTINCT FROM s.max_salary) AS drifted
+				FROM live l
+				FULL OUTER JOIN employee_department_summary s
+				    ON l.location_code = s.location_code
+				    AND l.department_code = s.department_code
+				""";
+
+		List<String> drifted = new ArrayList<>();
+		int[] checked = { 0 };
+		jdbcTemplate.query(sql, rs -> {
+			checked[0]++;
+			if (rs.getBoolean("drifted")) {
+				drifted.add(rs.getString("location_code") + "/" + rs.getString("department_code"));
+			}
+		});
+
+		if (!drifted.isEmpty()) {
+			log.warn("Employee department summary drifted for groups: {}", drifted);
+		}
+		return EmployeeSummaryConsistency.builder()
+				.consistent(drifted.isEmpty())
+				.checkedGroups(checked[0])
+				.driftedGroups(drifted)
+				.build();
+	}
+
+	public List<EmployeeDepartmentAnalysis> getDepartmentAnalysis() {
+		String sql = """
+				WITH dept_summary AS (
+				    SELECT
+				        l.location_name,
+				        d.department_name,
+				        s.employee_count AS dept_employee_count,
+				        CASE WHEN s.salary_count = 0 THEN NULL ELSE s.salary_sum / s.salary_count END AS avg_salary
+				    FROM employee_department_summary s
+				    JOIN location l ON s.location_code = l.location_code
+				    JOIN department d ON s.department_code = d.department_code
+				),
+				location_extremes AS (
+				    SELECT
+				        ds.*,
+				        MAX(ds.dept_employee_count) OVER (PARTITION BY ds.location_name) AS max_employee_count,
+				        MIN(ds.avg_salary) OVER (PARTITION BY ds.location_name) AS min_avg_salary
+				    FROM dept_summary ds
+				)
+				SELECT
+				    h.location_name,
+				    h.department_name AS dept_with_most_employee,
+				    h.dept_employee_count,
+				    l.avg_salary AS lowest_dept_avg_salary
+				FROM location_extremes h
+				JOIN location_extremes l
+				    ON h.location_name = l.location_name
+				    AND l.avg_salary = l.min_avg_salary
+				WHERE h.dept_employee_count = h.max_employee_count
+				ORDER BY h.location_name
+				""";
+
+		return jdbcTemplate.query(sql, (rs, rowNum) -> {
+			EmployeeDepartmentAnalysis eda = new EmployeeDepartmentAnalysis();
+			eda.setLocationName(rs.getString("location_name"));
+			eda.setDeptWithMostEmployee(rs.getString("dept_with_most_employee"));
+			eda.setDeptEmployeeCount(rs.getString("dept_employee_count"));
+			eda.setLowestDeptAvgSalary(rs.getBigDecimal("lowest_dept_avg_salary"));
+			return eda;
+		});
+	}
+
+	private void createSummaryTable() {
+		String createTableSQL = """
+				CREATE TABLE IF NOT EXISTS employee_department_summary (
+				    location_code varchar(5) NOT NULL,
+				    department_code varchar(5) NOT NULL,
+				    employee_count BIGINT NOT NULL,
+				    salary_count BIGINT NOT NULL,
+				    salary_sum NUMERIC(38, 4) NOT NULL,
+				    min_salary NUMERIC(19, 4),
+				    max_salary NUMERIC(19, 4),
+				    PRIMARY KEY (location_code, department_code)
+				);
+				""";
+		jdbcTemplate.execute(createTableSQL);
+	}
+}
@@ -0,0 +1,94 @@
+package com.ram.opsnow.employee.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out employee numbers from blocks reserved on employee_number_seq.
+ * <p>
+ * The sequence increments by the block size, so one nextval reserves
+ * {@code blockSize} numbers for this node. Numbers within a block are taken
+ * with a single atomic increment; only the thread that exhausts a block goes
+ * back to the database. Unused numbers from a block are skipped on restart.
+ */
+@Slf4j
+@Component
+public class EmployeeNumberAllocator {
+
+	private static final String SEQUENCE = "employee_number_seq";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final int blockSize;
+
+	private volatile Block block = Block.EXHAUSTED;
+
+	public EmployeeNumberAllocator(JdbcTemplate jdbcTemplate,
+			@Value("${employee.number.block-size:50}") int blockSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.blockSize = blockSize;
+	}
+
+	public String next() {
+		while (true) {
+			Block current = block;
+			long number = current.next.getAndIncrement();
+			if (number < current.end) {
+				return String.valueOf(number);
+			}
+			reserve(current);
+		}
+	}
+
+	/**
+	 * Creates the sequence if needed and sets it so the next block starts right
+	 * after the highest numeric employee number already in the table. Never
+	 * moves the sequence backwards, so it is safe to call while other nodes are
+	 * allocating.
+	 */
+	public synchronized void synchronize() {
+		jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE + " INCREMENT BY " + blockSize);
+		jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " INCREMENT BY " + blockSize);
+		// is_called = false makes the next nextval return max + 1 itself rather than max + blockSize
+		jdbcTemplate.query("""
+				SELECT setval('employee_number_seq', t.max_number + 1, false)
+				FROM (
+				    SELECT COALESCE(MAX(employee_number::bigint), 0) AS max_number
+				    FROM employee
+				    WHERE employee_number ~ '^[0-9]{1,18}$'
+				) t
+				WHERE t.max_number + 1 > (
+				    SELECT CASE WHEN is_called THEN last_value + ? ELSE last_value END
+				    FROM employee_number_seq
+				)
+				""", rs -> {
+			log.info("Employee number sequence moved to {}", rs.getLong(1));
+		}, blockSize);
+		block = Block.EXHAUSTED;
+	}
+
+	private synchronized void reserve(Block exhausted) {
+		if (block != exhausted) {
+			return;
+		}
+		Long start = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE + "')", Long.class);
+		block = new Block(start, start + blockSize);
+		log.debug("Reserved employee numbers [{}, {})", start, start + blockSize);
+	}
+
+	private static final class Block {
+		private static final Block EXHAUSTED = new Block(0, 0);
+
+		private final AtomicLong next;
+		private final long end;
+
+		private Block(long start, long end) {
+			this.next = new AtomicLong(start);
+			this.end = end;
+		}
+	}
+}
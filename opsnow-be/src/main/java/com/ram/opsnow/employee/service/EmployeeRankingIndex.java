@@ -0,0 +1,272 @@
+package com.ram.opsnow.employee.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ram.opsnow.employee.dto.EmployeeRanking;
+import com.ram.opsnow.employee.entity.Employee;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory dense salary ranking per (location, department).
+ * <p>
+ * Each group keeps its employees in a tree ordered by salary descending, so
+ * writes are O(log n) and ranks fall out of a single ordered walk on read. The
+ * index is loaded once the application is ready and then kept current by the
+ * employee, department, location and tier services.
+ */
+@Slf4j
+@Component
+public class EmployeeRankingIndex {
+
+	private static final Comparator<BigDecimal> SALARY_DESC = Comparator.nullsLast(Comparator.reverseOrder());
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<GroupKey, NavigableMap<BigDecimal, TreeMap<String, IndexedEmployee>>> groups = new HashMap<>();
+	private final Map<String, IndexedEmployee> byEmployeeNumber = new HashMap<>();
+	private final Map<String, String> locationNames = new HashMap<>();
+	private final Map<String, String> departmentNames = new HashMap<>();
+	private final Map<String, String> tierNames = new HashMap<>();
+
+	public EmployeeRankingIndex(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		Map<String, String> locations = new HashMap<>();
+		Map<String, String> departments = new HashMap<>();
+		Map<String, String> tiers = new HashMap<>();
+		jdbcTemplate.query("SELECT location_code, location_name FROM location",
+				rs -> {
+					locations.put(rs.getString(1), rs.getString(2));
+				});
+		jdbcTemplate.query("SELECT department_code, department_name FROM department",
+				rs -> {
+					departments.put(rs.getString(1), rs.getString(2));
+				});
+		jdbcTemplate.query("SELECT tier_code, tier_name FROM tier",
+				rs -> {
+					tiers.put(rs.getString(1), rs.getString(2));
+				});
+
+		List<IndexedEmployee> employees = new ArrayList<>();
+		jdbcTemplate.query("""
+				SELECT employee_number, employee_name, tier_code, location_code, department_code, salary
+				FROM employee
+				""", rs -> {
+			employees.add(new IndexedEmployee(
+					rs.getString("employee_number"),
+					rs.getString("employee_name"),
+					rs.getString("tier_code"),
+					rs.getString("location_code"),
+					rs.getString("department_code"),
+					rs.getBigDecimal("salary")));
+		});
+
+		lock.writeLock().lock();
+		try {
+			groups.clear();
+			byEmployeeNumber.clear();
+			locationNames.clear();
+			locationNames.putAll(locations);
+			departmentNames.clear();
+			departmentNames.putAll(departments);
+			tierNames.clear();
+			tierNames.putAll(tiers);
+			employees.forEach(this::insert);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Employee ranking index loaded with {} employees in {} groups", employees.size(), groups.size());
+	}
+
+	public void put(Employee employee) {
+		IndexedEmployee entry = new IndexedEmployee(
+				employee.getEmployeeNumber(),
+				employee.getEmployeeName(),
+				employee.getTierCode(),
+				employee.getLocationCode(),
+				employee.getDepartmentCode(),
+				employee.getSalary());
+
+		lock.writeLock().lock();
+		try {
+			delete(employee.getEmployeeNumber());
+			insert(entry);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(String employeeNumber) {
+		lock.writeLock().lock();
+		try {
+			delete(employeeNumber);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void putLocationName(String locationCode, String locationName) {
+		putName(locationNames, locationCode, locationName);
+	}
+
+	public void putDepartmentName(String departmentCode, String departmentName) {
+		putName(departmentNames, departmentCode, departmentName);
+	}
+
+	public void putTierName(String tierCode, String tierName) {
+		putName(tierNames, tierCode, tierName);
+	}
+
+	public void removeLocationName(String locationCode) {
+		putName(locationNames, locationCode, null);
+	}
+
+	public void removeDepartmentName(String departmentCode) {
+		putName(departmentNames, departmentCode, null);
+	}
+
+	public void removeTierName(String tierCode) {
+		putName(tierNames, tierCode, null);
+	}
+
+	public List<EmployeeRanking> getRanking() {
+		lock.readLock().lock();
+		try {
+			List<GroupKey> keys = new ArrayList<>();
+			for (GroupKey key : groups.keySet()) {
+				if (locationNames.containsKey(key.locationCode()) && departmentNames.containsKey(key.departmentCode())) {
+					keys.add(key);
+				}
+			}
+			keys.sort(Comparator
+					.comparing((GroupKey key) -> locationNames.get(key.locationCode()))
+					.thenComparing(key -> departmentNames.get(key.departmentCode())));
+
+			List<EmployeeRanking> rankings = new ArrayList<>(byEmployeeNumber.size());
+			for (GroupKey key : keys) {
+				appendGroup(key, rankings);
+			}
+			return rankings;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<EmployeeRanking> getRanking(String locationCode, String departmentCode) {
+		lock.readLock().lock();
+		try {
+			GroupKey key = new GroupKey(locationCode, departmentCode);
+			List<EmployeeRanking> rankings = new ArrayList<>();
+			if (locationNames.containsKey(locationCode) && departmentNames.containsKey(departmentCode)) {
+				appendGroup(key, rankings);
+			}
+			return rankings;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void appendGroup(GroupKey key, List<EmployeeRanking> rankings) {
+		NavigableMap<BigDecimal, TreeMap<String, IndexedEmployee>> group = groups.get(key);
+		if (group == null) {
+			return;
+		}
+		String locationName = locationNames.get(key.locationCode());
+		String departmentName = departmentNames.get(key.departmentCode());
+
+		int rank = 0;
+		BigDecimal previousSalary = null;
+		for (Map.Entry<BigDecimal, TreeMap<String, IndexedEmployee>> salaryEntry : group.entrySet()) {
+			rank++;
+			BigDecimal salary = salaryEntry.getKey();
+			BigDecimal salaryGap = previousSalary == null || salary == null
+					? BigDecimal.ZERO
+					: previousSalary.subtract(salary);
+
+			for (IndexedEmployee employee : salaryEntry.getValue().values()) {
+				String tierName = tierNames.get(employee.tierCode());
+				if (tierName == null) {
+					continue;
+				}
+				rankings.add(new EmployeeRanking(
+						locationName,
+						departmentName,
+						employee.employeeName(),
+						tierName,
+						employee.salary(),
+						String.valueOf(rank),
+						salaryGap));
+			}
+			previousSalary = salary;
+		}
+	}
+
+	private void insert(IndexedEmployee employee) {
+		GroupKey key = new GroupKey(employee.locationCode(), employee.departmentCode());
+		groups.computeIfAbsent(key, k -> new TreeMap<>(SALARY_DESC))
+				.computeIfAbsent(employee.salary(), s -> new TreeMap<>())
+				.put(employee.employeeNumber(), employee);
+		byEmployeeNumber.put(employee.employeeNumber(), employee);
+	}
+
+	private void delete(String employeeNumber) {
+		IndexedEmployee existing = byEmployeeNumber.remove(employeeNumber);
+		if (existing == null) {
+			return;
+		}
+		GroupKey key = new GroupKey(existing.locationCode(), existing.departmentCode());
+		NavigableMap<BigDecimal, TreeMap<String, IndexedEmployee>> group = groups.get(key);
+		TreeMap<String, IndexedEmployee> sameSalary = group.get(existing.salary());
+		sameSalary.remove(employeeNumber);
+		if (sameSalary.isEmpty()) {
+			group.remove(existing.salary());
+		}
+		if (group.isEmpty()) {
+			groups.remove(key);
+		}
+	}
+
+	private void putName(Map<String, String> names, String code, String name) {
+		lock.writeLock().lock();
+		try {
+			if (name == null) {
+				names.remove(code);
+			} else {
+				names.put(code, name);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private record GroupKey(String locationCode, String departmentCode) {
+	}
+
+	private record IndexedEmployee(
+			String employeeNumber,
+			String employeeName,
+			String tierCode,
+			String locationCode,
+			String departmentCode,
+			BigDecimal salary) {
+	}
+}
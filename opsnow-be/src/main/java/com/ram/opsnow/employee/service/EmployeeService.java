@@ -7,6 +7,7 @@ import com.ram.opsnow.employee.dto.EmployeeDepartmentAnalysis;
 import com.ram.opsnow.employee.dto.EmployeeRanking;
 import com.ram.opsnow.employee.dto.EmployeeRequestDTO;
 import com.ram.opsnow.employee.dto.EmployeeResponseDTO;
+import com.ram.opsnow.employee.dto.EmployeeSummaryConsistency;
 import com.ram.opsnow.util.PaginationResponse;
 
 public interface EmployeeService {
@@ -14,6 +15,9 @@ public interface EmployeeService {
 			String employeeNumber,
 			String employeeName, String employeeEmail);
 
+	PaginationResponse<EmployeeResponseDTO> getAllEmployeeByCursor(int pageSize, String sortBy, String cursor,
+			String employeeNumber, String employeeName, String employeeEmail);
+
 	EmployeeResponseDTO getEmployeeByEmployeeNumber(String employeeNumber);
 
 	EmployeeResponseDTO createEmployee(EmployeeRequestDTO employeeDTO);
@@ -22,9 +26,13 @@ public interface EmployeeService {
 
 	String deleteEmployee(String employeeNumber);
 
-	List<EmployeeCumulativeSalary> getEmployeeCumulativeSalary();
+	List<EmployeeCumulativeSalary> getEmployeeCumulativeSalary(boolean numericOrder);
 
 	List<EmployeeDepartmentAnalysis> getEmployeeDepartmentAnalysis();
 
-	List<EmployeeRanking> getEmployeeRanking();
+	EmployeeSummaryConsistency checkDepartmentSummary();
+
+	EmployeeSummaryConsistency rebuildDepartmentSummary();
+
+	List<EmployeeRanking> getEmployeeRanking(String locationCode, String departmentCode);
 }
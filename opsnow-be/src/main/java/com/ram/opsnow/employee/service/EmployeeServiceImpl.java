@@ -1,5 +1,6 @@
 package com.ram.opsnow.employee.service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.modelmapper.ModelMapper;
@@ -10,35 +11,54 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.ram.opsnow.auth.service.PrincipalCache;
 import com.ram.opsnow.employee.dto.EmployeeCumulativeSalary;
 import com.ram.opsnow.employee.dto.EmployeeDepartmentAnalysis;
 import com.ram.opsnow.employee.dto.EmployeeRanking;
 import com.ram.opsnow.employee.dto.EmployeeRequestDTO;
 import com.ram.opsnow.employee.dto.EmployeeResponseDTO;
+import com.ram.opsnow.employee.dto.EmployeeSummaryConsistency;
 import com.ram.opsnow.employee.entity.Employee;
 import com.ram.opsnow.employee.repository.EmployeeRepository;
 import com.ram.opsnow.exception.DataNotFoundException;
+import com.ram.opsnow.exception.InvalidDataException;
 import com.ram.opsnow.util.EmployeeSpecification;
+import com.ram.opsnow.util.KeysetCursor;
 import com.ram.opsnow.util.PaginationResponse;
 
+import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 public class EmployeeServiceImpl implements EmployeeService {
 
+	private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
 	private final EmployeeRepository employeeRepository;
 	private final ModelMapper modelMapper;
 	private final PasswordEncoder passwordEncoder;
 	private final JdbcTemplate jdbcTemplate;
+	private final EmployeeRankingIndex employeeRankingIndex;
+	private final EmployeeDepartmentSummaryService employeeDepartmentSummaryService;
+	private final EmployeeNumberAllocator employeeNumberAllocator;
+	private final PrincipalCache principalCache;
 
 	public EmployeeServiceImpl(EmployeeRepository employeeRepository, ModelMapper modelMapper,
-			PasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate) {
+			PasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate, EmployeeRankingIndex employeeRankingIndex,
+			EmployeeDepartmentSummaryService employeeDepartmentSummaryService,
+			EmployeeNumberAllocator employeeNumberAllocator, PrincipalCache principalCache) {
 		this.employeeRepository = employeeRepository;
 		this.modelMapper = modelMapper;
 		this.passwordEncoder = passwordEncoder;
 		this.jdbcTemplate = jdbcTemplate;
+		this.employeeRankingIndex = employeeRankingIndex;
+		this.employeeDepartmentSummaryService = employeeDepartmentSummaryService;
+		this.employeeNumberAllocator = employeeNumberAllocator;
+		this.principalCache = principalCache;
 	}
 
 	@Override
@@ -65,6 +85,51 @@ public class EmployeeServiceImpl implements EmployeeService {
 				employees.getTotalPages());
 	}
 
+	@Override
+	public PaginationResponse<EmployeeResponseDTO> getAllEmployeeByCursor(int pageSize, String sortBy, String cursor,
+			String employeeNumber, String employeeName, String employeeEmail) {
+		if (pageSize < 1) {
+			throw new InvalidDataException("pageSize must be at least 1.");
+		}
+		int size = Math.min(pageSize, MAX_CURSOR_PAGE_SIZE);
+		EmployeeSpecification.requireKeysetSortable(sortBy);
+		KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+		if (after != null && !after.sortBy().equals(sortBy)) {
+			throw new InvalidDataException("Cursor was issued for sortBy=" + after.sortBy() + ", not " + sortBy + ".");
+		}
+
+		Sort orderBy = Sort.by(Sort.Order.asc(sortBy), Sort.Order.asc("employeeNumber"));
+		Specification<Employee> filters = Specification.allOf(EmployeeSpecification.hasEmployeeNumber(employeeNumber),
+				EmployeeSpecification.hasEmployeeName(employeeName),
+				EmployeeSpecification.hasEmployeeEmail(employeeEmail));
+
+		// one extra row tells us whether there is a next slice without running a COUNT
+		List<Employee> employees = new ArrayList<>(employeeRepository.findBy(
+				filters.and(EmployeeSpecification.isAfterCursor(after)),
+				query -> query.sortBy(orderBy).limit(size + 1).all()));
+		if (employees.size() <= size && EmployeeSpecification.skipsNullSortKeys(after)) {
+			// null sort keys come last and are outside the seek range, so they are read on their own
+			int remaining = size + 1 - employees.size();
+			employees.addAll(employeeRepository.findBy(
+					filters.and(EmployeeSpecification.hasNullSortKey(sortBy)),
+					query -> query.sortBy(Sort.by(Sort.Order.asc("employeeNumber"))).limit(remaining).all()));
+		}
+		boolean hasNext = employees.size() > size;
+		List<Employee> slice = hasNext ? employees.subList(0, size) : employees;
+
+		String nextCursor = null;
+		if (hasNext) {
+			Employee last = slice.get(slice.size() - 1);
+			nextCursor = new KeysetCursor(sortBy, EmployeeSpecification.toCursorValue(last, sortBy),
+					last.getEmployeeNumber()).encode();
+		}
+
+		List<EmployeeResponseDTO> employeeDtos = slice.stream()
+				.map(employee -> modelMapper.map(employee, EmployeeResponseDTO.class))
+				.toList();
+		return PaginationResponse.ofSlice(employeeDtos, size, nextCursor);
+	}
+
 	public EmployeeResponseDTO getEmployeeByEmployeeNumber(String employeeNumber) {
 		Employee employee = employeeRepository.findById(employeeNumber)
 				.orElseThrow(
@@ -73,20 +138,17 @@ public class EmployeeServiceImpl implements EmployeeService {
 		return modelMapper.map(employee, EmployeeResponseDTO.class);
 	}
 
+	@Transactional
 	public EmployeeResponseDTO createEmployee(EmployeeRequestDTO employeeDTO) {
 		try {
 			employeeDTO.setPassword(passwordEncoder.encode(employeeDTO.getPassword()));
-			Employee lastEmployee = employeeRepository.findFirstByOrderByEmployeeNumberDesc();
-			if (lastEmployee != null) {
-				int lastNumber = Integer.parseInt(lastEmployee.getEmployeeNumber());
-				employeeDTO.setEmployeeNumber(String.valueOf(lastNumber + 1));
-			} else {
-				employeeDTO.setEmployeeNumber("1");
-			}
+			employeeDTO.setEmployeeNumber(employeeNumberAllocator.next());
 
 			Employee employee = modelMapper.map(employeeDTO, Employee.class);
 			log.error("Creating employee with number: {}", employee.getEmployeeNumber());
-			Employee savedEmployee = employeeRepository.save(employee);
+			Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+			employeeDepartmentSummaryService.add(savedEmployee);
+			afterCommit(() -> employeeRankingIndex.put(savedEmployee));
 
 			return modelMapper.map(savedEmployee, EmployeeResponseDTO.class);
 		} catch (Exception e) {
@@ -97,42 +159,61 @@ public class EmployeeServiceImpl implements EmployeeService {
 	}
 
 	@Override
+	@Transactional
 	public EmployeeResponseDTO updateEmployee(EmployeeRequestDTO employeeDTO) {
-		if (!employeeRepository.existsById(employeeDTO.getEmployeeNumber())) {
-			throw new DataNotFoundException("Location not found with code: " + employeeDTO.getLocationCode());
-		}
-		var employee = employeeRepository.save(modelMapper.map(employeeDTO, Employee.class));
+		var found = employeeRepository.findById(employeeDTO.getEmployeeNumber())
+				.orElseThrow(() -> new DataNotFoundException(
+						"Location not found with code: " + employeeDTO.getLocationCode()));
+		// saving merges into the managed instance, so keep the old values apart
+		Employee previous = modelMapper.map(found, Employee.class);
+		// flushed so the summary's min/max recalculation reads the new row
+		var employee = employeeRepository.saveAndFlush(modelMapper.map(employeeDTO, Employee.class));
+		employeeDepartmentSummaryService.update(previous, employee);
+		afterCommit(() -> {
+			employeeRankingIndex.put(employee);
+			principalCache.invalidate(previous.getEmail());
+			principalCache.invalidate(employee.getEmail());
+		});
 		return modelMapper.map(employee, EmployeeResponseDTO.class);
 	}
 
 	@Override
+	@Transactional
 	public String deleteEmployee(String employeeNumber) {
-		try {
-			employeeRepository.deleteById(employeeNumber);
-		} catch (Exception e) {
-			return "Failed to delete location with code: " + employeeNumber;
-		}
-		return "Location with code " + employeeNumber + " deleted successfully.";
+		Employee existing = employeeRepository.findById(employeeNumber)
+				.orElseThrow(
+						() -> new DataNotFoundException("Employee not found with employee number: " + employeeNumber));
+		employeeRepository.delete(existing);
+		employeeRepository.flush();
+		employeeDepartmentSummaryService.remove(existing);
+		afterCommit(() -> {
+			employeeRankingIndex.remove(employeeNumber);
+			principalCache.invalidate(existing.getEmail());
+		});
+		return "Employee with number " + employeeNumber + " deleted successfully.";
 	}
 
 	@Override
-	public List<EmployeeCumulativeSalary> getEmployeeCumulativeSalary() {
+	public List<EmployeeCumulativeSalary> getEmployeeCumulativeSalary(boolean numericOrder) {
+		// employee_number is a varchar, so "100" sorts before "99" unless ordered by length first
+		String orderBy = numericOrder
+				? "length(employee_number), employee_number"
+				: "employee_number";
 		try {
 			String sql = """
 						SELECT
-							e1.department_code,
-							e1.employee_number,
-							e1.employee_name,
-							e1.salary,
-							(
-								SELECT SUM(e2.salary)
-								FROM employee e2
-								WHERE e2.department_code = e1.department_code
-									AND e2.employee_number <= e1.employee_number
+							department_code,
+							employee_number,
+							employee_name,
+							salary,
+							SUM(salary) OVER (
+								PARTITION BY department_code
+								ORDER BY %1$s
+								ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW
 							) AS cumulative_salary
-						FROM employee e1
-						ORDER BY e1.department_code, e1.employee_number;
-					""";
+						FROM employee
+						ORDER BY department_code, %1$s;
+					""".formatted(orderBy);
 
 			return jdbcTemplate.query(sql, (rs, rowNum) -> {
 				EmployeeCumulativeSalary ecs = new EmployeeCumulativeSalary();
@@ -151,57 +232,8 @@ public class EmployeeServiceImpl implements EmployeeService {
 
 	@Override
 	public List<EmployeeDepartmentAnalysis> getEmployeeDepartmentAnalysis() {
-		String sql = """
-								WITH dept_count_avgsalary AS (
-				    SELECT
-				        l.location_name,
-				        d.department_name,
-				        COUNT(*) AS dept_employee_count,
-				        AVG(e.salary) AS avg_salary
-				    FROM employee e
-				    join location l
-				    on e.location_code = l.location_code
-				    join department d
-				    on e.department_code = d.department_code
-				    GROUP BY location_name, department_name
-				),
-				highest_employee_count AS (
-				    SELECT dc1.*
-				    FROM dept_count_avgsalary dc1
-				    WHERE dc1.dept_employee_count = (
-				        SELECT MAX(dc2.dept_employee_count)
-				        FROM dept_count_avgsalary dc2
-				        WHERE dc2.location_name = dc1.location_name
-				    )
-				),
-				lowest_avg_salary AS (
-				    SELECT dc1.*
-				    FROM dept_count_avgsalary dc1
-				    WHERE dc1.avg_salary = (
-				        SELECT MIN(dc2.avg_salary)
-				        FROM dept_count_avgsalary dc2
-				        WHERE dc2.location_name = dc1.location_name
-				    )
-				)
-				SELECT
-				    h.location_name,
-				    h.department_name AS dept_with_most_employee,
-				    h.dept_employee_count,
-				    l.avg_salary AS lowest_dept_avg_salary
-				FROM highest_employee_count h
-				JOIN lowest_avg_salary l
-				    ON h.location_name = l.location_name
-				ORDER BY h.location_name;
-								""";
 		try {
-			return jdbcTemplate.query(sql, (rs, rowNum) -> {
-				EmployeeDepartmentAnalysis eda = new EmployeeDepartmentAnalysis();
-				eda.setLocationName(rs.getString("location_name"));
-				eda.setDeptWithMostEmployee(rs.getString("dept_with_most_employee"));
-				eda.setDeptEmployeeCount(rs.getString("dept_employee_count"));
-				eda.setLowestDeptAvgSalary(rs.getBigDecimal("lowest_dept_avg_salary"));
-				return eda;
-			});
+			return employeeDepartmentSummaryService.getDepartmentAnalysis();
 		} catch (Exception e) {
 			log.error(e.getMessage());
 			throw new RuntimeException("Failed to retrieve employee department analysis", e);
@@ -209,63 +241,35 @@ public class EmployeeServiceImpl implements EmployeeService {
 	}
 
 	@Override
-	public List<EmployeeRanking> getEmployeeRanking() {
-		String sql = """
-				WITH ranked_employees AS (
-				    SELECT
-				        e.employee_number,
-				        e.employee_name,
-				        t.tier_name,
-				        d.department_name,
-				        l.location_name,
-				        e.salary,
-				        (
-				            SELECT COUNT(DISTINCT e2.salary) + 1
-				            FROM employee e2
-				            WHERE e2.location_code = e.location_code
-				              AND e2.department_code = e.department_code
-				              AND e2.salary > e.salary
-				        ) AS rank
-				    FROM employee e
-				    JOIN department d ON e.department_code = d.department_code
-				    JOIN location l ON e.location_code = l.location_code
-				    JOIN tier t ON e.tier_code = t.tier_code
-				),
-				previous_ranks AS (
-				    SELECT
-				        location_name,
-				        department_name,
-				        rank,
-				        salary
-				    FROM ranked_employees
-				)
-				SELECT
-				    a.location_name,
-				    a.department_name,
-				    a.employee_name,
-				    a.tier_name as position,
-				    a.salary,
-				    a.rank,
-				    CASE
-				        WHEN b.salary IS NULL THEN 0
-				        WHEN b.salary = a.salary THEN 0
-				        ELSE b.salary - a.salary
-				    END AS salary_gap
-				FROM ranked_employees a
-				LEFT JOIN previous_ranks b
-				    ON a.location_name = b.location_name
-				    AND a.department_name = b.department_name
-				    AND b.rank = a.rank - 1
-				ORDER BY a.location_name, a.department_name, a.rank
-				""";
-
-		return jdbcTemplate.query(sql, (rs, rowNum) -> new EmployeeRanking(
-				rs.getString("location_name"),
-				rs.getString("department_name"),
-				rs.getString("employee_name"),
-				rs.getString("position"),
-				rs.getBigDecimal("salary"),
-				rs.getString("rank"),
-				rs.getBigDecimal("salary_gap")));
+	public EmployeeSummaryConsistency checkDepartmentSummary() {
+		return employeeDepartmentSummaryService.checkConsistency();
+	}
+
+	@Override
+	public EmployeeSummaryConsistency rebuildDepartmentSummary() {
+		employeeDepartmentSummaryService.rebuild();
+		return employeeDepartmentSummaryService.checkConsistency();
+	}
+
+	@Override
+	public List<EmployeeRanking> getEmployeeRanking(String locationCode, String departmentCode) {
+		if (locationCode != null && departmentCode != null) {
+			return employeeRankingIndex.getRanking(locationCode, departmentCode);
+		}
+		return employeeRankingIndex.getRanking();
+	}
+
+	// the index and the principal cache are not transactional, so they only see committed writes
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
 	}
-}
\ No newline at end of file
+}
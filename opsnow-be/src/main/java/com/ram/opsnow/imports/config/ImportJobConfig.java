@@ -0,0 +1,26 @@
+package com.ram.opsnow.imports.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportJobConfig {
+
+    @Bean(name = "csvImportExecutor")
+    public ThreadPoolTaskExecutor csvImportExecutor(@Value("${imports.executor.threads:1}") int threads,
+            @Value("${imports.executor.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("CsvImportJob-");
+        // a full queue rejects the upload rather than running the import on the request thread
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
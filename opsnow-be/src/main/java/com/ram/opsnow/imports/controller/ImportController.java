@@ -0,0 +1,84 @@
+package com.ram.opsnow.imports.controller;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ram.opsnow.imports.dto.ImportJobStatus;
+import com.ram.opsnow.imports.service.ImportJobService;
+import com.ram.opsnow.util.csv.CsvRowError;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@Tag(name = "Import", description = "Background CSV import APIs")
+public class ImportController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping(value = "/{type}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload a CSV file", description = "Queue a background import of a semicolon-separated file into employee, department, location or tier")
+    public ResponseEntity<ImportJobStatus> upload(@PathVariable String type, @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) Boolean deleteMissing) throws IOException {
+        return ResponseEntity.accepted().body(importJobService.submit(type, file, deleteMissing));
+    }
+
+    @PostMapping(value = "/{type}", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    @Operation(summary = "Stream a CSV file", description = "Queue a background import of a semicolon-separated request body")
+    public ResponseEntity<ImportJobStatus> uploadStream(@PathVariable String type,
+            @RequestParam(required = false) String fileName, @RequestParam(required = false) Boolean deleteMissing,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.accepted().body(
+                importJobService.submit(type, fileName, request.getInputStream(), deleteMissing));
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List import jobs", description = "Running, queued and recently finished import jobs, newest first")
+    public ResponseEntity<List<ImportJobStatus>> getJobs() {
+        return ResponseEntity.ok(importJobService.getJobs());
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get import job", description = "Progress of an import job: rows parsed and written, rows/s and ETA")
+    public ResponseEntity<ImportJobStatus> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.getJob(id));
+    }
+
+    @GetMapping("/jobs/{id}/errors")
+    @Operation(summary = "Get import job errors", description = "Rejected records of an import job with their line numbers")
+    public ResponseEntity<List<CsvRowError>> getErrors(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.getErrors(id));
+    }
+
+    @GetMapping(value = "/jobs/{id}/rejects", produces = "text/csv")
+    @Operation(summary = "Download rejected records", description = "Every rejected record of an import job with its line number and reason")
+    public ResponseEntity<Resource> getRejects(@PathVariable String id) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + id + "-rejects.csv\"")
+                .body(importJobService.getRejectFile(id));
+    }
+
+    @PostMapping("/jobs/{id}/cancel")
+    @Operation(summary = "Cancel import job", description = "Cancel a queued job, or stop a running one after rolling back its open batch")
+    public ResponseEntity<ImportJobStatus> cancel(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.cancel(id));
+    }
+}
@@ -0,0 +1,13 @@
+package com.ram.opsnow.imports.dto;
+
+public enum ImportJobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ram.opsnow.imports.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobStatus {
+    private String id;
+    private String type;
+    private String fileName;
+    private ImportJobState state;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long bytesTotal;
+    private long bytesProcessed;
+    private long rowsParsed;
+    private long rowsWritten;
+    private long rowsSkipped;
+    private long rowsRejected;
+    private long rowsDeleted;
+    private long rowsKept;
+    private double rowsPerSecond;
+    private Long etaSeconds;
+    private boolean unchanged;
+    private String rejectFile;
+    private String message;
+}
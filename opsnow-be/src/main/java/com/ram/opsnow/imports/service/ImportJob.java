@@ -0,0 +1,172 @@
+package com.ram.opsnow.imports.service;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.ram.opsnow.imports.dto.ImportJobState;
+import com.ram.opsnow.imports.dto.ImportJobStatus;
+import com.ram.opsnow.util.csv.CsvImportMonitor;
+import com.ram.opsnow.util.csv.CsvImportResult;
+
+/**
+ * One uploaded file and the import running it. The executor thread moves the
+ * job through its states; request threads only read it or cancel it.
+ */
+class ImportJob {
+
+	private final String id;
+	private final ImportType type;
+	private final String fileName;
+	private final Path file;
+	private final boolean deleteMissing;
+	private final CsvImportMonitor monitor = new CsvImportMonitor();
+	private final LocalDateTime submittedAt = LocalDateTime.now();
+
+	// guarded by this
+	private ImportJobState state = ImportJobState.QUEUED;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+	private long startedNanos;
+	private long finishedNanos;
+	private CsvImportResult result;
+	private String message;
+	private Future<?> future;
+
+	ImportJob(String id, ImportType type, String fileName, Path file, boolean deleteMissing) {
+		this.id = id;
+		this.type = type;
+		this.fileName = fileName;
+		this.file = file;
+		this.deleteMissing = deleteMissing;
+	}
+
+	String getId() {
+		return id;
+	}
+
+	ImportType getType() {
+		return type;
+	}
+
+	String getFileName() {
+		return fileName;
+	}
+
+	Path getFile() {
+		return file;
+	}
+
+	boolean isDeleteMissing() {
+		return deleteMissing;
+	}
+
+	CsvImportMonitor getMonitor() {
+		return monitor;
+	}
+
+	synchronized void setFuture(Future<?> future) {
+		this.future = future;
+	}
+
+	synchronized boolean isFinished() {
+		return state.isFinished();
+	}
+
+	/**
+	 * Moves a queued job to running. Returns false when it was cancelled
+	 * while still in the queue.
+	 */
+	synchronized boolean start() {
+		if (state != ImportJobState.QUEUED) {
+			return false;
+		}
+		state = ImportJobState.RUNNING;
+		startedAt = LocalDateTime.now();
+		startedNanos = System.nanoTime();
+		return true;
+	}
+
+	synchronized void succeeded(CsvImportResult result) {
+		this.result = result;
+		finish(ImportJobState.SUCCEEDED, result.unchanged() ? "File is unchanged since the last upload" : null);
+	}
+
+	synchronized void failed(String message) {
+		finish(ImportJobState.FAILED, message);
+	}
+
+	synchronized void cancelled() {
+		finish(ImportJobState.CANCELLED, "Cancelled after " + monitor.getRowsWritten() + " committed rows");
+	}
+
+	/**
+	 * A queued job is cancelled at once; a running one is asked to stop and
+	 * becomes cancelled when the import notices, after rolling back its open
+	 * transaction.
+	 */
+	synchronized void cancel() {
+		if (state == ImportJobState.QUEUED) {
+			finish(ImportJobState.CANCELLED, "Cancelled before it started");
+			if (future != null) {
+				future.cancel(false);
+			}
+		} else if (state == ImportJobState.RUNNING) {
+			monitor.cancel();
+		}
+	}
+
+	private void finish(ImportJobState state, String message) {
+		this.state = state;
+		this.message = message;
+		finishedAt = LocalDateTime.now();
+		finishedNanos = System.nanoTime();
+	}
+
+	synchronized ImportJobStatus status() {
+		long rowsWritten = result != null ? result.rowsImported() : monitor.getRowsWritten();
+		long elapsedNanos = startedAt == null ? 0
+				: (state.isFinished() ? finishedNanos : System.nanoTime()) - startedNanos;
+		double seconds = elapsedNanos / 1_000_000_000.0;
+		return ImportJobStatus.builder()
+				.id(id)
+				.type(type.key())
+				.fileName(fileName)
+				.state(state)
+				.submittedAt(submittedAt)
+				.startedAt(startedAt)
+				.finishedAt(finishedAt)
+				.bytesTotal(monitor.getBytesTotal())
+				.bytesProcessed(monitor.getBytesDone())
+				.rowsParsed(monitor.getRowsParsed())
+				.rowsWritten(rowsWritten)
+				.rowsSkipped(result != null ? result.rowsSkipped() : monitor.getRowsSkipped())
+				.rowsRejected(monitor.getRowsRejected())
+				.rowsDeleted(result != null ? result.rowsDeleted() : 0)
+				.rowsKept(result != null ? result.rowsKept() : 0)
+				.rowsPerSecond(result != null ? result.rowsPerSecond() : seconds > 0 ? rowsWritten / seconds : 0)
+				.etaSeconds(etaSeconds(elapsedNanos))
+				.unchanged(result != null && result.unchanged())
+				.rejectFile(monitor.getRejectFile())
+				.message(message)
+				.build();
+	}
+
+	/**
+	 * Remaining time extrapolated from the share of the file committed so
+	 * far, or null while that share is unknown.
+	 */
+	private Long etaSeconds(long elapsedNanos) {
+		if (state.isFinished()) {
+			return 0L;
+		}
+		long total = monitor.getBytesTotal();
+		long done = monitor.getBytesDone();
+		if (state != ImportJobState.RUNNING || total <= 0 || done <= 0) {
+			return null;
+		}
+		double remaining = (double) elapsedNanos * (total - Math.min(done, total)) / done;
+		return TimeUnit.NANOSECONDS.toSeconds(Math.round(remaining));
+	}
+}
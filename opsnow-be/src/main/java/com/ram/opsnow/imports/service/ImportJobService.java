@@ -0,0 +1,261 @@
+package com.ram.opsnow.imports.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ram.opsnow.auth.service.PrincipalCache;
+import com.ram.opsnow.employee.service.EmployeeRankingIndex;
+import com.ram.opsnow.exception.DataNotFoundException;
+import com.ram.opsnow.exception.InvalidDataException;
+import com.ram.opsnow.imports.dto.ImportJobStatus;
+import com.ram.opsnow.util.CsvImportService;
+import com.ram.opsnow.util.UuidV7;
+import com.ram.opsnow.util.csv.CsvImportResult;
+import com.ram.opsnow.util.csv.CsvRowError;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs uploaded CSV files as background imports on {@code csvImportExecutor}.
+ * <p>
+ * The upload is spooled to a temp file on the request thread, so the request
+ * returns as soon as the body is read and the import can memory-map the file.
+ * Jobs always sync by primary key and never drop tables that live requests
+ * are reading; an upload identical to the last one for the same table is
+ * skipped. After a job has changed data, the ranking index and the principal
+ * cache are reloaded. Finished jobs are kept for inspection up to
+ * {@code imports.jobs.retained}.
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+
+	private final CsvImportService csvImportService;
+	private final EmployeeRankingIndex employeeRankingIndex;
+	private final PrincipalCache principalCache;
+	private final ThreadPoolTaskExecutor csvImportExecutor;
+	private final boolean deleteMissing;
+	private final int retainedJobs;
+
+	// UUIDv7 ids sort by submission time
+	private final ConcurrentNavigableMap<String, ImportJob> jobs = new ConcurrentSkipListMap<>();
+
+	public ImportJobService(CsvImportService csvImportService, EmployeeRankingIndex employeeRankingIndex,
+			PrincipalCache principalCache,
+			@Qualifier("csvImportExecutor") ThreadPoolTaskExecutor csvImportExecutor,
+			@Value("${csv.import.sync.delete-missing:false}") boolean deleteMissing,
+			@Value("${imports.jobs.retained:100}") int retainedJobs) {
+		this.csvImportService = csvImportService;
+		this.employeeRankingIndex = employeeRankingIndex;
+		this.principalCache = principalCache;
+		this.csvImportExecutor = csvImportExecutor;
+		this.deleteMissing = deleteMissing;
+		this.retainedJobs = retainedJobs;
+	}
+
+	public ImportJobStatus submit(String type, MultipartFile upload, Boolean deleteMissing) throws IOException {
+		if (upload.isEmpty()) {
+			throw new InvalidDataException("Uploaded file is empty");
+		}
+		ImportType importType = ImportType.from(type);
+		Path file = Files.createTempFile("csv-import-", ".csv");
+		try {
+			upload.transferTo(file);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+		return enqueue(importType, upload.getOriginalFilename(), file, deleteMissing);
+	}
+
+	public ImportJobStatus submit(String type, String fileName, InputStream body, Boolean deleteMissing)
+			throws IOException {
+		ImportType importType = ImportType.from(type);
+		Path file = Files.createTempFile("csv-import-", ".csv");
+		try {
+			Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+			if (Files.size(file) == 0) {
+				throw new InvalidDataException("Request body is empty");
+			}
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+		return enqueue(importType, fileName, file, deleteMissing);
+	}
+
+	public List<ImportJobStatus> getJobs() {
+		return jobs.descendingMap().values().stream().map(ImportJob::status).toList();
+	}
+
+	public ImportJobStatus getJob(String id) {
+		return find(id).status();
+	}
+
+	public List<CsvRowError> getErrors(String id) {
+		return find(id).getMonitor().getErrors();
+	}
+
+	/**
+	 * The job's reject file with every rejected record and its reason.
+	 */
+	public Resource getRejectFile(String id) {
+		String rejectFile = find(id).getMonitor().getRejectFile();
+		if (rejectFile == null || !Files.exists(Path.of(rejectFile))) {
+			throw new DataNotFoundException("No reject file for import job with id: " + id);
+		}
+		return new FileSystemResource(rejectFile);
+	}
+
+	public ImportJobStatus cancel(String id) {
+		ImportJob job = find(id);
+		job.cancel();
+		if (job.isFinished()) {
+			deleteUpload(job);
+		}
+		return job.status();
+	}
+
+	@PreDestroy
+	public void cancelAll() {
+		jobs.values().forEach(ImportJob::cancel);
+	}
+
+	private ImportJobStatus enqueue(ImportType type, String fileName, Path file, Boolean deleteMissing)
+			throws IOException {
+		ImportJob job = new ImportJob(UuidV7.next().toString(), type, fileName, file,
+				deleteMissing != null ? deleteMissing : this.deleteMissing);
+		jobs.put(job.getId(), job);
+		try {
+			job.setFuture(csvImportExecutor.submit(() -> run(job)));
+		} catch (RuntimeException e) {
+			jobs.remove(job.getId());
+			Files.deleteIfExists(file);
+			throw e;
+		}
+		evictFinished();
+		log.info("Queued {} import job {} for {}", type.key(), job.getId(), fileName);
+		return job.status();
+	}
+
+	private void run(ImportJob job) {
+		if (!job.start()) {
+			deleteUpload(job);
+			return;
+		}
+		boolean changed = true;
+		try {
+			CsvImportResult result = importFile(job);
+			changed = !result.unchanged();
+			job.succeeded(result);
+			log.info("Import job {} finished: {} rows written, {} skipped", job.getId(), result.rowsImported(),
+					result.rowsSkipped());
+		} catch (CancellationException e) {
+			job.cancelled();
+			log.info("Import job {} cancelled", job.getId());
+		} catch (Exception e) {
+			job.failed(describe(e));
+			log.error("Import job {} failed", job.getId(), e);
+		} finally {
+			deleteUpload(job);
+			// rows committed before a failure or cancellation are kept, so reload whenever anything may have changed
+			if (changed) {
+				reload(job.getType());
+			}
+		}
+	}
+
+	private CsvImportResult importFile(ImportJob job) throws IOException {
+		Resource resource = new UploadedFile(job.getFile(), job.getType());
+		return switch (job.getType()) {
+			case EMPLOYEE -> csvImportService.syncEmployee(resource, job.isDeleteMissing(), job.getMonitor());
+			case DEPARTMENT -> csvImportService.syncDepartment(resource, job.isDeleteMissing(), job.getMonitor());
+			case LOCATION -> csvImportService.syncLocation(resource, job.isDeleteMissing(), job.getMonitor());
+			case TIER -> csvImportService.syncTier(resource, job.isDeleteMissing(), job.getMonitor());
+		};
+	}
+
+	private void reload(ImportType type) {
+		try {
+			employeeRankingIndex.rebuild();
+			if (type == ImportType.EMPLOYEE) {
+				principalCache.invalidateAll();
+			}
+		} catch (RuntimeException e) {
+			log.error("Failed to reload caches after {} import", type.key(), e);
+		}
+	}
+
+	private ImportJob find(String id) {
+		ImportJob job = jobs.get(id);
+		if (job == null) {
+			throw new DataNotFoundException("Import job not found with id: " + id);
+		}
+		return job;
+	}
+
+	private void evictFinished() {
+		int excess = jobs.size() - retainedJobs;
+		for (Map.Entry<String, ImportJob> entry : jobs.entrySet()) {
+			if (excess <= 0) {
+				break;
+			}
+			if (entry.getValue().isFinished()) {
+				jobs.remove(entry.getKey());
+				excess--;
+			}
+		}
+	}
+
+	private void deleteUpload(ImportJob job) {
+		try {
+			Files.deleteIfExists(job.getFile());
+		} catch (IOException e) {
+			log.warn("Could not delete upload {} of import job {}", job.getFile(), job.getId(), e);
+		}
+	}
+
+	private static String describe(Throwable e) {
+		Throwable root = e;
+		while (root.getCause() != null && root.getCause() != root) {
+			root = root.getCause();
+		}
+		return root == e ? e.getMessage() : e.getMessage() + ": " + root.getMessage();
+	}
+
+	/**
+	 * Identifies uploads by table rather than by temp file, so the sync
+	 * checkpoint and content hash carry over from one upload to the next.
+	 */
+	private static final class UploadedFile extends FileSystemResource {
+
+		private final ImportType type;
+
+		private UploadedFile(Path file, ImportType type) {
+			super(file);
+			this.type = type;
+		}
+
+		@Override
+		public String getDescription() {
+			return "upload:" + type.key();
+		}
+	}
+}
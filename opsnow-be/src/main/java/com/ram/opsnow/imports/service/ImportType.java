@@ -0,0 +1,25 @@
+package com.ram.opsnow.imports.service;
+
+import java.util.Locale;
+
+import com.ram.opsnow.exception.InvalidDataException;
+
+public enum ImportType {
+    EMPLOYEE,
+    DEPARTMENT,
+    LOCATION,
+    TIER;
+
+    public static ImportType from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Unknown import type: " + value
+                    + " (expected employee, department, location or tier)");
+        }
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.ram.opsnow.employee.service.EmployeeRankingIndex;
 import com.ram.opsnow.exception.DataAlreadyExistException;
 import com.ram.opsnow.exception.DataNotFoundException;
 import com.ram.opsnow.exception.InvalidDataException;
@@ -25,10 +26,13 @@ import lombok.extern.slf4j.Slf4j;
 public class LocationServiceImpl implements LocationService {
     private final LocationRepository locationRepository;
     private final ModelMapper modelMapper;
+    private final EmployeeRankingIndex employeeRankingIndex;
 
-    public LocationServiceImpl(LocationRepository locationRepository, ModelMapper modelMapper) {
+    public LocationServiceImpl(LocationRepository locationRepository, ModelMapper modelMapper,
+            EmployeeRankingIndex employeeRankingIndex) {
         this.locationRepository = locationRepository;
         this.modelMapper = modelMapper;
+        this.employeeRankingIndex = employeeRankingIndex;
     }
 
     @Override
@@ -73,6 +77,7 @@ public class LocationServiceImpl implements LocationService {
         }
 
         var location = locationRepository.save(modelMapper.map(locationDTO, Location.class));
+        employeeRankingIndex.putLocationName(location.getLocationCode(), location.getLocationName());
         return modelMapper.map(location, LocationDTO.class);
     }
 
@@ -82,6 +87,7 @@ public class LocationServiceImpl implements LocationService {
             throw new DataNotFoundException("Location not found with code: " + locationDTO.getLocationCode());
         }
         var location = locationRepository.save(modelMapper.map(locationDTO, Location.class));
+        employeeRankingIndex.putLocationName(location.getLocationCode(), location.getLocationName());
         return modelMapper.map(location, LocationDTO.class);
     }
 
@@ -89,6 +95,7 @@ public class LocationServiceImpl implements LocationService {
     public String deleteLocation(String locationCode) {
         try {
             locationRepository.deleteById(locationCode);
+            employeeRankingIndex.removeLocationName(locationCode);
         } catch (Exception e) {
             return "Failed to delete location with code: " + locationCode;
         }
@@ -1,26 +0,0 @@
-package com.ram.opsnow.logging.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
-
-@Configuration
-@EnableAsync
-public class AsyncConfig {
-
-    @Bean(name = "apiLoggingExecutor")
-    public Executor apiLoggingExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("ApiLogging-");
-        executor.setRejectedExecutionHandler(
-                (r, executor1) -> System.err.println("API logging task rejected, queue is full"));
-        executor.initialize();
-        return executor;
-    }
-}
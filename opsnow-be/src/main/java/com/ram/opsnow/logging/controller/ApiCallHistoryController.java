@@ -1,6 +1,7 @@
 package com.ram.opsnow.logging.controller;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -15,8 +16,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ram.opsnow.logging.dto.ApiCallHistoryDTO;
+import com.ram.opsnow.logging.dto.ApiCallHistoryWriterMetrics;
+import com.ram.opsnow.logging.dto.ApiUsageStats;
+import com.ram.opsnow.logging.dto.EndpointLatencyMetrics;
 import com.ram.opsnow.logging.entity.ApiCallHistory;
 import com.ram.opsnow.logging.service.ApiCallHistoryService;
+import com.ram.opsnow.logging.service.ApiCallRollupService;
+import com.ram.opsnow.logging.service.ApiLatencyMetricsService;
 import com.ram.opsnow.util.PaginationResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,6 +37,8 @@ import lombok.RequiredArgsConstructor;
 public class ApiCallHistoryController {
 
     private final ApiCallHistoryService apiCallHistoryService;
+    private final ApiLatencyMetricsService apiLatencyMetricsService;
+    private final ApiCallRollupService apiCallRollupService;
 
     @GetMapping("/history")
     @Operation(summary = "Get API call history", description = "Retrieve paginated API call history")
@@ -40,7 +48,9 @@ public class ApiCallHistoryController {
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "timestamp") String sortBy,
             @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        // ids are time-ordered (UUIDv7), so they break ties between calls with the same timestamp
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy, "id").descending()
+                : Sort.by(sortBy, "id").ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
         return ResponseEntity.ok(apiCallHistoryService.getApiCallHistory(pageable));
@@ -53,7 +63,7 @@ public class ApiCallHistoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
+        Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(apiCallHistoryService.getApiCallHistoryByUser(userIdentifier, pageable));
     }
 
@@ -64,7 +74,7 @@ public class ApiCallHistoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
+        Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(apiCallHistoryService.getApiCallHistoryByEndpoint(endpoint, pageable));
     }
 
@@ -75,7 +85,7 @@ public class ApiCallHistoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
+        Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(apiCallHistoryService.getApiCallHistoryByMethod(httpMethod, pageable));
     }
 
@@ -87,7 +97,34 @@ public class ApiCallHistoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
+        Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(apiCallHistoryService.getApiCallHistoryByDateRange(startDate, endDate, pageable));
     }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get API usage statistics", description = "Call counts, error rates and latency per time bucket, answered from rollup tables")
+    public ResponseEntity<List<ApiUsageStats>> getUsageStats(
+            @Parameter(description = "Range start (ISO format)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end, exclusive (ISO format)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Bucket size: minute, hour, day or auto") @RequestParam(defaultValue = "auto") String granularity,
+            @Parameter(description = "Comma-separated dimensions: endpoint, method, status, user") @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) String user) {
+        return ResponseEntity.ok(apiCallRollupService.getStats(from, to, granularity, groupBy, endpoint, method, status, user));
+    }
+
+    @GetMapping("/writer/metrics")
+    @Operation(summary = "Get API log writer metrics", description = "Queue depth, flush latency and drop counters of the API call history writer")
+    public ResponseEntity<ApiCallHistoryWriterMetrics> getWriterMetrics() {
+        return ResponseEntity.ok(apiCallHistoryService.getWriterMetrics());
+    }
+
+    @GetMapping("/metrics")
+    @Operation(summary = "Get live API latency metrics", description = "p50/p90/p99/max latency and throughput per endpoint over a rolling minute or hour, served from memory")
+    public ResponseEntity<List<EndpointLatencyMetrics>> getLatencyMetrics(
+            @Parameter(description = "Rolling window: minute or hour") @RequestParam(defaultValue = "minute") String window) {
+        return ResponseEntity.ok(apiLatencyMetricsService.getMetrics(window));
+    }
 }
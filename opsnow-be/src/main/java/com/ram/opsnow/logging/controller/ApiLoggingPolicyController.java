@@ -0,0 +1,46 @@
+package com.ram.opsnow.logging.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ram.opsnow.logging.dto.ApiCallAggregate;
+import com.ram.opsnow.logging.dto.LoggingPolicies;
+import com.ram.opsnow.logging.service.ApiCallAggregateService;
+import com.ram.opsnow.logging.service.ApiLoggingPolicyService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/logging")
+@RequiredArgsConstructor
+@Tag(name = "API Logging Policies", description = "API call logging policy and aggregate counter APIs")
+public class ApiLoggingPolicyController {
+
+    private final ApiLoggingPolicyService apiLoggingPolicyService;
+    private final ApiCallAggregateService apiCallAggregateService;
+
+    @GetMapping("/policies")
+    @Operation(summary = "Get logging policies", description = "Current per-endpoint API call logging rules")
+    public ResponseEntity<LoggingPolicies> getPolicies() {
+        return ResponseEntity.ok(apiLoggingPolicyService.getPolicies());
+    }
+
+    @PostMapping("/policies/reload")
+    @Operation(summary = "Reload logging policies", description = "Re-read the API call logging rules from the policy file")
+    public ResponseEntity<LoggingPolicies> reloadPolicies() {
+        return ResponseEntity.ok(apiLoggingPolicyService.reload());
+    }
+
+    @GetMapping("/aggregates")
+    @Operation(summary = "Get API call aggregates", description = "Call counts and durations per endpoint, including calls not persisted to history")
+    public ResponseEntity<List<ApiCallAggregate>> getAggregates() {
+        return ResponseEntity.ok(apiCallAggregateService.getAggregates());
+    }
+}
@@ -0,0 +1,21 @@
+package com.ram.opsnow.logging.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApiCallAggregate {
+    private String httpMethod;
+    private String endpoint;
+    private String statusClass;
+    private long count;
+    private long logged;
+    private long totalDurationMs;
+    private double avgDurationMs;
+    private long maxDurationMs;
+}
@@ -1,6 +1,7 @@
 package com.ram.opsnow.logging.dto;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class ApiCallHistoryDTO {
-    private String id;
+    private UUID id;
     private LocalDateTime timestamp;
     private String apiEndpoint;
     private String httpMethod;
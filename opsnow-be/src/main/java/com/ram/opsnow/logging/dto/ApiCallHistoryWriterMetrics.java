@@ -0,0 +1,28 @@
+package com.ram.opsnow.logging.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApiCallHistoryWriterMetrics {
+    private int queueDepth;
+    private int queueCapacity;
+    private long accepted;
+    private long written;
+    private long dropped;
+    private long flushes;
+    private long failedFlushes;
+    private double lastFlushLatencyMs;
+    private double avgFlushLatencyMs;
+    private double maxFlushLatencyMs;
+    private long journaled;
+    private long replayed;
+    private int journalSegments;
+    private long journalBytes;
+    private long quarantinedSegments;
+}
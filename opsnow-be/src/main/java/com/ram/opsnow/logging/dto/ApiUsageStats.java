@@ -0,0 +1,29 @@
+package com.ram.opsnow.logging.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApiUsageStats {
+    private LocalDateTime bucketStart;
+    private String granularity;
+    private String endpoint;
+    private String httpMethod;
+    private Integer responseStatus;
+    private String userIdentifier;
+    private long callCount;
+    private long errorCount;
+    private double errorRate;
+    private double avgLatencyMs;
+    private long maxLatencyMs;
+    private long p50LatencyMs;
+    private long p95LatencyMs;
+    private long p99LatencyMs;
+}
@@ -0,0 +1,23 @@
+package com.ram.opsnow.logging.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EndpointLatencyMetrics {
+    private String endpoint;
+    private String httpMethod;
+    private String statusClass;
+    private String window;
+    private long count;
+    private double throughputPerSecond;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double maxMs;
+}
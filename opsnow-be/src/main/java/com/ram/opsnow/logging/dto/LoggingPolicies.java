@@ -0,0 +1,24 @@
+package com.ram.opsnow.logging.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ram.opsnow.logging.policy.LoggingMode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoggingPolicies {
+    @Builder.Default
+    private LoggingMode defaultMode = LoggingMode.ALWAYS;
+    @Builder.Default
+    private long slowThresholdMs = 1000;
+    @Builder.Default
+    private List<LoggingPolicyRule> rules = new ArrayList<>();
+}
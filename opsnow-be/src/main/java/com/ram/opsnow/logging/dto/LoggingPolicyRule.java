@@ -0,0 +1,20 @@
+package com.ram.opsnow.logging.dto;
+
+import com.ram.opsnow.logging.policy.LoggingMode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoggingPolicyRule {
+    private String pattern;
+    private String method;
+    private LoggingMode mode;
+    private Double sampleRate;
+    private Long slowThresholdMs;
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Entity
@@ -16,9 +17,9 @@ import java.time.LocalDateTime;
 @Table(name = "api_call_history")
 public class ApiCallHistory {
 
+    // time-ordered UUIDv7 assigned by ApiCallHistoryWriter, so inserts append to the primary key index
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    private UUID id;
 
     @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
@@ -0,0 +1,69 @@
+package com.ram.opsnow.logging.filter;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Keeps the first {@code limit} bytes written through it and counts the rest,
+ * so logging a body costs at most {@code limit} bytes of heap.
+ */
+public class BoundedCapture {
+
+    private final byte[] buffer;
+    private int captured;
+    private long total;
+
+    public BoundedCapture(int limit) {
+        this.buffer = new byte[Math.max(0, limit)];
+    }
+
+    void write(int b) {
+        if (captured < buffer.length) {
+            buffer[captured++] = (byte) b;
+        }
+        total++;
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+        int room = Math.min(buffer.length - captured, length);
+        if (room > 0) {
+            System.arraycopy(bytes, offset, buffer, captured, room);
+            captured += room;
+        }
+        total += length;
+    }
+
+    public long getTotalBytes() {
+        return total;
+    }
+
+    public boolean isTruncated() {
+        return total > captured;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public String toString(Charset charset) {
+        int length = captured;
+        if (isTruncated() && StandardCharsets.UTF_8.equals(charset)) {
+            length = completeUtf8Length(length);
+        }
+        return new String(buffer, 0, length, charset);
+    }
+
+    // drops a multi-byte sequence cut off by the capture limit
+    private int completeUtf8Length(int length) {
+        int start = length;
+        while (start > 0 && (buffer[start - 1] & 0xC0) == 0x80) {
+            start--;
+        }
+        if (start == 0) {
+            return length;
+        }
+        int lead = buffer[start - 1] & 0xFF;
+        int expected = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return length - (start - 1) < expected ? start - 1 : length;
+    }
+}
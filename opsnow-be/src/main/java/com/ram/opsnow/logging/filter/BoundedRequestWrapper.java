@@ -0,0 +1,110 @@
+package com.ram.opsnow.logging.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request wrapper that records the first bytes of the body as the controller
+ * reads it, so the logging interceptor can log the body without reading a
+ * stream that has already been consumed.
+ */
+public class BoundedRequestWrapper extends HttpServletRequestWrapper {
+
+    private final BoundedCapture capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public BoundedRequestWrapper(HttpServletRequest request, int captureLimit) {
+        super(request);
+        this.capture = new BoundedCapture(captureLimit);
+    }
+
+    public BoundedCapture getCapture() {
+        return capture;
+    }
+
+    public Charset getCharset() {
+        String encoding = getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (reader != null) {
+            throw new IllegalStateException("getReader() has already been called for this request");
+        }
+        if (inputStream == null) {
+            inputStream = new CapturingInputStream(super.getInputStream(), capture);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (inputStream != null) {
+            throw new IllegalStateException("getInputStream() has already been called for this request");
+        }
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(
+                    new CapturingInputStream(super.getInputStream(), capture), getCharset()));
+        }
+        return reader;
+    }
+
+    private static final class CapturingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final BoundedCapture capture;
+
+        private CapturingInputStream(ServletInputStream delegate, BoundedCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0) {
+                capture.write(b, off, count);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -7,23 +7,38 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 
+/**
+ * Wraps /api/ requests and responses so the logging interceptor can see the
+ * first {@code api-logging.capture.max-bytes} of each body. Bodies are
+ * streamed through untouched; only the captured prefix is kept in memory.
+ */
 @Component
 public class ResponseCachingFilter implements Filter {
 
+    private final int captureLimit;
+
+    public ResponseCachingFilter(@Value("${api-logging.capture.max-bytes:1000}") int captureLimit) {
+        this.captureLimit = captureLimit;
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
         if (request instanceof HttpServletRequest httpRequest && response instanceof HttpServletResponse httpResponse) {
             if (httpRequest.getRequestURI().startsWith("/api/")) {
-                ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(httpResponse);
-                chain.doFilter(request, wrappedResponse);
-                wrappedResponse.copyBodyToResponse();
+                BoundedRequestWrapper wrappedRequest = new BoundedRequestWrapper(httpRequest, captureLimit);
+                TeeResponseWrapper wrappedResponse = new TeeResponseWrapper(httpResponse, captureLimit);
+                try {
+                    chain.doFilter(wrappedRequest, wrappedResponse);
+                } finally {
+                    wrappedResponse.finish();
+                }
             } else {
                 chain.doFilter(request, response);
             }
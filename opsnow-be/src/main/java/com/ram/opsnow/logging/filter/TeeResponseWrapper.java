@@ -0,0 +1,114 @@
+package com.ram.opsnow.logging.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Response wrapper that writes straight through to the client and keeps a copy
+ * of only the first bytes of the body for logging.
+ */
+public class TeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final BoundedCapture capture;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public TeeResponseWrapper(HttpServletResponse response, int captureLimit) {
+        super(response);
+        this.capture = new BoundedCapture(captureLimit);
+    }
+
+    public BoundedCapture getCapture() {
+        return capture;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream(), capture);
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called on this response");
+        }
+        if (writer == null) {
+            TeeOutputStream stream = new TeeOutputStream(super.getOutputStream(), capture);
+            writer = new PrintWriter(new OutputStreamWriter(stream, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Flushes anything still buffered in the writer once the chain returns.
+     */
+    public void finish() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private static final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final BoundedCapture capture;
+
+        private TeeOutputStream(ServletOutputStream delegate, BoundedCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
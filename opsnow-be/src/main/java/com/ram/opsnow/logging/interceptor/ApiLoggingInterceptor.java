@@ -1,7 +1,15 @@
 package com.ram.opsnow.logging.interceptor;
 
 import com.ram.opsnow.logging.entity.ApiCallHistory;
+import com.ram.opsnow.logging.filter.BoundedCapture;
+import com.ram.opsnow.logging.filter.BoundedRequestWrapper;
+import com.ram.opsnow.logging.filter.TeeResponseWrapper;
+import com.ram.opsnow.logging.policy.LoggingDecision;
+import com.ram.opsnow.logging.service.ApiCallAggregateService;
 import com.ram.opsnow.logging.service.ApiCallHistoryService;
+import com.ram.opsnow.logging.service.ApiCallRollupService;
+import com.ram.opsnow.logging.service.ApiLatencyMetricsService;
+import com.ram.opsnow.logging.service.ApiLoggingPolicyService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -9,13 +17,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
 
-import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -23,10 +32,14 @@ import java.time.LocalDateTime;
 public class ApiLoggingInterceptor implements HandlerInterceptor {
 
     private final ApiCallHistoryService apiCallHistoryService;
+    private final ApiLoggingPolicyService apiLoggingPolicyService;
+    private final ApiCallAggregateService apiCallAggregateService;
+    private final ApiLatencyMetricsService apiLatencyMetricsService;
+    private final ApiCallRollupService apiCallRollupService;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        request.setAttribute("startTime", System.currentTimeMillis());
+        request.setAttribute("startTime", System.nanoTime());
         return true;
     }
 
@@ -34,26 +47,43 @@ public class ApiLoggingInterceptor implements HandlerInterceptor {
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
             Exception ex) {
         try {
+            LocalDateTime timestamp = LocalDateTime.now();
             long startTime = (Long) request.getAttribute("startTime");
-            long duration = System.currentTimeMillis() - startTime;
+            long durationNanos = System.nanoTime() - startTime;
+            long duration = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            int status = response.getStatus();
+            String endpointPattern = getEndpointPattern(request);
 
             String userIdentifier = extractUserIdentifier();
 
-            String requestBody = getRequestBody(request);
+            apiLatencyMetricsService.record(request.getMethod(), endpointPattern, status, durationNanos);
+            apiCallRollupService.record(timestamp, endpointPattern, request.getMethod(), status, userIdentifier,
+                    duration);
 
-            String responseBody = getResponseBody(response);
+            LoggingDecision decision = apiLoggingPolicyService.decide(
+                    request.getMethod(), request.getRequestURI(), status, duration);
+            apiCallAggregateService.record(request.getMethod(), endpointPattern, status, duration,
+                    decision != LoggingDecision.SKIP);
+            if (decision == LoggingDecision.SKIP) {
+                return;
+            }
+
+            boolean withBodies = decision == LoggingDecision.FULL;
+            String requestBody = withBodies ? getRequestBody(request) : null;
+
+            String responseBody = withBodies ? getResponseBody(response) : null;
 
             ApiCallHistory apiCallHistory = ApiCallHistory.builder()
-                    .timestamp(LocalDateTime.now())
+                    .timestamp(timestamp)
                     .apiEndpoint(request.getRequestURI())
                     .httpMethod(request.getMethod())
                     .userIdentifier(userIdentifier)
-                    .responseStatus(response.getStatus())
+                    .responseStatus(status)
                     .requestDurationMs(duration)
                     .clientIp(getClientIpAddress(request))
                     .userAgent(request.getHeader("User-Agent"))
-                    .requestBody(truncateIfNeeded(requestBody, 1000))
-                    .responseBody(truncateIfNeeded(responseBody, 1000))
+                    .requestBody(requestBody)
+                    .responseBody(responseBody)
                     .build();
 
             apiCallHistoryService.logApiCall(apiCallHistory);
@@ -63,6 +93,12 @@ public class ApiLoggingInterceptor implements HandlerInterceptor {
         }
     }
 
+    // the mapped pattern (e.g. /api/employee/{employeeNumber}) keeps the counters per endpoint, not per URL
+    private String getEndpointPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
     private String extractUserIdentifier() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -77,29 +113,16 @@ public class ApiLoggingInterceptor implements HandlerInterceptor {
     }
 
     private String getRequestBody(HttpServletRequest request) {
-        try {
-            if (request.getContentLength() > 0 &&
-                    (request.getContentType() != null && request.getContentType().contains("application/json"))) {
-                return StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
-            }
-        } catch (IOException e) {
-            log.debug("Could not read request body: {}", e.getMessage());
+        if (request.getContentType() == null || !request.getContentType().contains("application/json")) {
+            return null;
         }
-        return null;
+        BoundedRequestWrapper wrapper = WebUtils.getNativeRequest(request, BoundedRequestWrapper.class);
+        return wrapper != null ? capturedBody(wrapper.getCapture(), wrapper.getCharset()) : null;
     }
 
     private String getResponseBody(HttpServletResponse response) {
-        try {
-            if (response instanceof ContentCachingResponseWrapper wrapper) {
-                byte[] content = wrapper.getContentAsByteArray();
-                if (content.length > 0) {
-                    return new String(content, StandardCharsets.UTF_8);
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Could not read response body: {}", e.getMessage());
-        }
-        return null;
+        TeeResponseWrapper wrapper = WebUtils.getNativeResponse(response, TeeResponseWrapper.class);
+        return wrapper != null ? capturedBody(wrapper.getCapture(), StandardCharsets.UTF_8) : null;
     }
 
     private String getClientIpAddress(HttpServletRequest request) {
@@ -116,13 +139,11 @@ public class ApiLoggingInterceptor implements HandlerInterceptor {
         return request.getRemoteAddr();
     }
 
-    private String truncateIfNeeded(String content, int maxLength) {
-        if (content == null) {
+    private String capturedBody(BoundedCapture capture, Charset charset) {
+        if (capture.isEmpty()) {
             return null;
         }
-        if (content.length() <= maxLength) {
-            return content;
-        }
-        return content.substring(0, maxLength) + "... [truncated]";
+        String content = capture.toString(charset);
+        return capture.isTruncated() ? content + "... [truncated]" : content;
     }
 }
@@ -0,0 +1,332 @@
+package com.ram.opsnow.logging.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local overflow journal for API call history that could not be queued or
+ * written to the database.
+ * <p>
+ * Records are appended to fixed-size memory-mapped segment files as
+ * {@code [length][crc32][payload]}. The length is written last so a record
+ * torn by a crash reads as the end of the segment. When a segment is full a
+ * new one is started; once {@code max-segments} exist further records are
+ * rejected, which bounds disk usage to {@code segment-size * max-segments}.
+ * Sealed segments are handed to {@link ApiCallJournalReplayer} oldest first
+ * and deleted after they have been replayed. A segment the database keeps
+ * rejecting is moved to the {@code quarantine} subdirectory instead, where
+ * it no longer counts against the budget or holds up later segments.
+ */
+@Slf4j
+@Component
+public class ApiCallJournal {
+
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".journal";
+	private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+	private static final String QUARANTINE_DIRECTORY = "quarantine";
+
+	private final boolean enabled;
+	private final Path directory;
+	private final int segmentSize;
+	private final int maxSegments;
+
+	private final NavigableSet<Long> sealedSegments = new TreeSet<>();
+	private ActiveSegment active;
+	private long nextSegmentId;
+
+	private final LongAdder appended = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder replayed = new LongAdder();
+	private final LongAdder corrupted = new LongAdder();
+	private final LongAdder quarantined = new LongAdder();
+
+	public ApiCallJournal(
+			@Value("${api-logging.journal.enabled:true}") boolean enabled,
+			@Value("${api-logging.journal.directory:${java.io.tmpdir}/opsnow/api-call-journal}") String directory,
+			@Value("${api-logging.journal.segment-size-bytes:16777216}") int segmentSize,
+			@Value("${api-logging.journal.max-segments:16}") int maxSegments) {
+		this.enabled = enabled;
+		this.directory = Paths.get(directory);
+		this.segmentSize = segmentSize;
+		this.maxSegments = maxSegments;
+	}
+
+	@PostConstruct
+	synchronized void init() throws IOException {
+		if (!enabled) {
+			return;
+		}
+		Files.createDirectories(directory);
+		try (Stream<Path> files = Files.list(directory)) {
+			files.map(path -> segmentId(path.getFileName().toString()))
+					.filter(id -> id >= 0)
+					.forEach(sealedSegments::add);
+		}
+		nextSegmentId = sealedSegments.isEmpty() ? 1 : sealedSegments.last() + 1;
+		if (!sealedSegments.isEmpty()) {
+			log.info("Found {} API call journal segments to replay in {}", sealedSegments.size(), directory);
+		}
+	}
+
+	@PreDestroy
+	synchronized void close() {
+		sealActive();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns false when the record was not journaled, either because the
+	 * journal is disabled or because the disk budget is used up.
+	 */
+	public boolean append(ApiCallHistory record) {
+		if (!enabled) {
+			return false;
+		}
+		byte[] payload = JournalCodec.encode(record);
+		int required = RECORD_HEADER_BYTES + payload.length;
+		if (required > segmentSize) {
+			log.warn("API call record of {} bytes does not fit in a journal segment", payload.length);
+			rejected.increment();
+			return false;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+
+		synchronized (this) {
+			try {
+				if ((active == null || active.buffer.remaining() < required) && !rotate()) {
+					rejected.increment();
+					return false;
+				}
+				MappedByteBuffer buffer = active.buffer;
+				int position = buffer.position();
+				buffer.position(position + RECORD_HEADER_BYTES);
+				buffer.put(payload);
+				buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+				buffer.putInt(position, payload.length);
+				active.records++;
+			} catch (IOException e) {
+				log.error("Failed to append to API call journal: {}", e.getMessage());
+				rejected.increment();
+				return false;
+			}
+		}
+		appended.increment();
+		return true;
+	}
+
+	/**
+	 * Returns the oldest segment waiting to be replayed, sealing the active
+	 * segment first when it is the only one holding records. Returns null when
+	 * there is nothing to replay.
+	 */
+	public synchronized Path nextSegment() {
+		if (sealedSegments.isEmpty() && active != null && active.records > 0) {
+			sealActive();
+		}
+		return sealedSegments.isEmpty() ? null : segmentPath(sealedSegments.first());
+	}
+
+	public synchronized void release(Path segment) {
+		long id = segmentId(segment.getFileName().toString());
+		try {
+			Files.deleteIfExists(segment);
+			sealedSegments.remove(id);
+		} catch (IOException e) {
+			log.error("Failed to delete replayed journal segment {}: {}", segment, e.getMessage());
+		}
+	}
+
+	/**
+	 * Moves a segment that cannot be replayed out of the replay queue, keeping
+	 * its records on disk for inspection.
+	 */
+	public synchronized void quarantine(Path segment) {
+		long id = segmentId(segment.getFileName().toString());
+		Path target = directory.resolve(QUARANTINE_DIRECTORY).resolve(segment.getFileName());
+		try {
+			Files.createDirectories(target.getParent());
+			Files.move(segment, target, StandardCopyOption.REPLACE_EXISTING);
+			sealedSegments.remove(id);
+			quarantined.increment();
+			log.error("Quarantined API call journal segment {} to {}", segment, target);
+		} catch (IOException e) {
+			log.error("Failed to quarantine journal segment {}: {}", segment, e.getMessage());
+		}
+	}
+
+	public Reader read(Path segment) throws IOException {
+		return new Reader(segment);
+	}
+
+	public void recordReplayed(int count) {
+		replayed.add(count);
+	}
+
+	public synchronized int getSegmentCount() {
+		return sealedSegments.size() + (active == null ? 0 : 1);
+	}
+
+	public synchronized long getBytesOnDisk() {
+		return (long) getSegmentCount() * segmentSize;
+	}
+
+	public long getAppended() {
+		return appended.sum();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	public long getReplayed() {
+		return replayed.sum();
+	}
+
+	public long getCorrupted() {
+		return corrupted.sum();
+	}
+
+	public long getQuarantined() {
+		return quarantined.sum();
+	}
+
+	private boolean rotate() throws IOException {
+		sealActive();
+		if (sealedSegments.size() >= maxSegments) {
+			return false;
+		}
+		long id = nextSegmentId++;
+		Path path = segmentPath(id);
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			// the mapping stays valid after the channel is closed
+			active = new ActiveSegment(id, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+		}
+		log.warn("API call history overflowing to journal segment {}", path);
+		return true;
+	}
+
+	private void sealActive() {
+		if (active == null) {
+			return;
+		}
+		if (active.records > 0) {
+			active.buffer.force();
+			sealedSegments.add(active.id);
+		} else {
+			try {
+				Files.deleteIfExists(segmentPath(active.id));
+			} catch (IOException e) {
+				log.warn("Failed to delete empty journal segment: {}", e.getMessage());
+			}
+		}
+		active = null;
+	}
+
+	private Path segmentPath(long id) {
+		return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+	}
+
+	private static long segmentId(String fileName) {
+		if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private static final class ActiveSegment {
+		private final long id;
+		private final MappedByteBuffer buffer;
+		private int records;
+
+		private ActiveSegment(long id, MappedByteBuffer buffer) {
+			this.id = id;
+			this.buffer = buffer;
+		}
+	}
+
+	/**
+	 * Sequential reader over a sealed segment. Stops at the first empty,
+	 * truncated or corrupt record.
+	 */
+	public final class Reader implements AutoCloseable {
+
+		private final Path segment;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+
+		private Reader(Path segment) throws IOException {
+			this.segment = segment;
+			this.channel = FileChannel.open(segment, StandardOpenOption.READ);
+			this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		public ApiCallHistory next() {
+			if (buffer.remaining() < RECORD_HEADER_BYTES) {
+				return null;
+			}
+			int length = buffer.getInt();
+			int checksum = buffer.getInt();
+			if (length <= 0) {
+				return null;
+			}
+			if (length > buffer.remaining()) {
+				return corrupt("truncated record");
+			}
+			byte[] payload = new byte[length];
+			buffer.get(payload);
+			CRC32 crc = new CRC32();
+			crc.update(payload);
+			if ((int) crc.getValue() != checksum) {
+				return corrupt("checksum mismatch");
+			}
+			try {
+				return JournalCodec.decode(ByteBuffer.wrap(payload));
+			} catch (IllegalStateException e) {
+				return corrupt(e.getMessage());
+			}
+		}
+
+		private ApiCallHistory corrupt(String reason) {
+			corrupted.increment();
+			log.warn("Stopped reading journal segment {} at offset {}: {}", segment, buffer.position(), reason);
+			buffer.position(buffer.limit());
+			return null;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package com.ram.opsnow.logging.journal;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+import com.ram.opsnow.logging.service.ApiCallHistoryWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains journal segments back into api_call_history once live traffic is
+ * keeping up. A segment is deleted only after all of its records have been
+ * inserted; if an insert fails the segment is retried from the start after
+ * the replay interval, relying on the writer ignoring ids it already stored.
+ * After {@code replay-max-attempts} consecutive failures that are not about
+ * reaching the database, the segment is taken to hold a record the database
+ * will never accept and is quarantined, so later segments can drain.
+ */
+@Slf4j
+@Component
+public class ApiCallJournalReplayer implements SmartLifecycle {
+
+	private final ApiCallJournal journal;
+	private final ApiCallHistoryWriter writer;
+	private final int batchSize;
+	private final int maxRecordsPerSecond;
+	private final long intervalNanos;
+	private final int maxAttempts;
+
+	private volatile boolean running;
+	private volatile Thread replayThread;
+
+	// only touched by the replay thread
+	private Path failingSegment;
+	private int failedAttempts;
+
+	public ApiCallJournalReplayer(ApiCallJournal journal, ApiCallHistoryWriter writer,
+			@Value("${api-logging.journal.replay-batch-size:500}") int batchSize,
+			@Value("${api-logging.journal.replay-max-records-per-second:5000}") int maxRecordsPerSecond,
+			@Value("${api-logging.journal.replay-interval-ms:5000}") long intervalMs,
+			@Value("${api-logging.journal.replay-max-attempts:5}") int maxAttempts) {
+		this.journal = journal;
+		this.writer = writer;
+		// replayed batches go through the writer's multi-row insert
+		this.batchSize = ApiCallHistoryWriter.requireBatchSize("api-logging.journal.replay-batch-size", batchSize);
+		this.maxRecordsPerSecond = maxRecordsPerSecond;
+		this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+		this.maxAttempts = maxAttempts;
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		if (!journal.isEnabled()) {
+			return;
+		}
+		replayThread = new Thread(this::replayLoop, "ApiLogging-replayer");
+		replayThread.setDaemon(true);
+		replayThread.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		Thread thread = replayThread;
+		if (thread == null) {
+			return;
+		}
+		LockSupport.unpark(thread);
+		try {
+			thread.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void replayLoop() {
+		while (running) {
+			if (!replayNextSegment()) {
+				LockSupport.parkNanos(intervalNanos);
+			}
+		}
+	}
+
+	/**
+	 * Returns true when a segment was fully replayed and another one may be
+	 * waiting.
+	 */
+	private boolean replayNextSegment() {
+		if (!writer.isCaughtUp()) {
+			return false;
+		}
+		Path segment = journal.nextSegment();
+		if (segment == null) {
+			return false;
+		}
+
+		int replayed = 0;
+		try (ApiCallJournal.Reader reader = journal.read(segment)) {
+			List<ApiCallHistory> batch = new ArrayList<>(batchSize);
+			ApiCallHistory record;
+			while ((record = reader.next()) != null) {
+				batch.add(record);
+				if (batch.size() >= batchSize) {
+					replay(batch);
+					replayed += batch.size();
+					batch.clear();
+					if (!running || !writer.isCaughtUp()) {
+						// resume later; records already inserted are skipped on the next pass
+						return false;
+					}
+				}
+			}
+			if (!batch.isEmpty()) {
+				replay(batch);
+				replayed += batch.size();
+			}
+		} catch (Exception e) {
+			return onFailure(segment, replayed, e);
+		}
+
+		failingSegment = null;
+		failedAttempts = 0;
+		journal.release(segment);
+		log.info("Replayed {} API call records from journal segment {}", replayed, segment);
+		return true;
+	}
+
+	/**
+	 * Returns true when the segment was quarantined and the next one can be
+	 * tried straight away.
+	 */
+	private boolean onFailure(Path segment, int replayed, Exception e) {
+		if (isDatabaseUnavailable(e)) {
+			log.warn("Replay of journal segment {} paused after {} records: {}", segment, replayed, e.getMessage());
+			return false;
+		}
+		failedAttempts = segment.equals(failingSegment) ? failedAttempts + 1 : 1;
+		failingSegment = segment;
+		if (failedAttempts < maxAttempts) {
+			log.warn("Replay of journal segment {} failed after {} records (attempt {} of {}): {}", segment,
+					replayed, failedAttempts, maxAttempts, e.getMessage());
+			return false;
+		}
+		log.error("Replay of journal segment {} failed {} times in a row, last after {} records: {}", segment,
+				failedAttempts, replayed, e.getMessage());
+		journal.quarantine(segment);
+		failingSegment = null;
+		failedAttempts = 0;
+		return true;
+	}
+
+	// an outage says nothing about the records, so it does not count towards quarantine
+	private static boolean isDatabaseUnavailable(Exception e) {
+		return e instanceof TransientDataAccessException || e instanceof DataAccessResourceFailureException;
+	}
+
+	private void replay(List<ApiCallHistory> batch) {
+		long start = System.nanoTime();
+		writer.insert(batch);
+		journal.recordReplayed(batch.size());
+		if (maxRecordsPerSecond > 0) {
+			long minimumNanos = TimeUnit.SECONDS.toNanos(batch.size()) / maxRecordsPerSecond;
+			long remaining = minimumNanos - (System.nanoTime() - start);
+			if (remaining > 0) {
+				LockSupport.parkNanos(remaining);
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.ram.opsnow.logging.journal;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+
+/**
+ * Binary encoding of a journaled API call. Strings are written as a length
+ * followed by UTF-8 bytes, with -1 standing for null; the timestamp is stored
+ * as epoch seconds and nanos so it round-trips exactly. Version 1 records,
+ * written before ids became UUIDs, stored the id as a string.
+ */
+final class JournalCodec {
+
+	private static final byte VERSION_STRING_ID = 1;
+	private static final byte VERSION = 2;
+	private static final byte HAS_STATUS = 1;
+	private static final byte HAS_DURATION = 1 << 1;
+
+	private JournalCodec() {
+	}
+
+	static byte[] encode(ApiCallHistory record) {
+		byte[] endpoint = bytes(record.getApiEndpoint());
+		byte[] method = bytes(record.getHttpMethod());
+		byte[] user = bytes(record.getUserIdentifier());
+		byte[] clientIp = bytes(record.getClientIp());
+		byte[] userAgent = bytes(record.getUserAgent());
+		byte[] requestBody = bytes(record.getRequestBody());
+		byte[] responseBody = bytes(record.getResponseBody());
+
+		int size = 2 + 2 * Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES
+				+ sizeOf(endpoint) + sizeOf(method) + sizeOf(user)
+				+ sizeOf(clientIp) + sizeOf(userAgent) + sizeOf(requestBody) + sizeOf(responseBody);
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+
+		byte flags = 0;
+		if (record.getResponseStatus() != null) {
+			flags |= HAS_STATUS;
+		}
+		if (record.getRequestDurationMs() != null) {
+			flags |= HAS_DURATION;
+		}
+		buffer.put(VERSION);
+		buffer.put(flags);
+		buffer.putLong(record.getId().getMostSignificantBits());
+		buffer.putLong(record.getId().getLeastSignificantBits());
+		buffer.putLong(record.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+		buffer.putInt(record.getTimestamp().getNano());
+		buffer.putInt(record.getResponseStatus() == null ? 0 : record.getResponseStatus());
+		buffer.putLong(record.getRequestDurationMs() == null ? 0 : record.getRequestDurationMs());
+		put(buffer, endpoint);
+		put(buffer, method);
+		put(buffer, user);
+		put(buffer, clientIp);
+		put(buffer, userAgent);
+		put(buffer, requestBody);
+		put(buffer, responseBody);
+		return buffer.array();
+	}
+
+	static ApiCallHistory decode(ByteBuffer buffer) {
+		try {
+			byte version = buffer.get();
+			if (version != VERSION && version != VERSION_STRING_ID) {
+				throw new IllegalStateException("Unsupported journal record version: " + version);
+			}
+			byte flags = buffer.get();
+			UUID id = version == VERSION ? new UUID(buffer.getLong(), buffer.getLong()) : null;
+			LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+			int status = buffer.getInt();
+			long duration = buffer.getLong();
+			if (version == VERSION_STRING_ID) {
+				id = UUID.fromString(string(buffer));
+			}
+			return ApiCallHistory.builder()
+					.id(id)
+					.timestamp(timestamp)
+					.responseStatus((flags & HAS_STATUS) != 0 ? status : null)
+					.requestDurationMs((flags & HAS_DURATION) != 0 ? duration : null)
+					.apiEndpoint(string(buffer))
+					.httpMethod(string(buffer))
+					.userIdentifier(string(buffer))
+					.clientIp(string(buffer))
+					.userAgent(string(buffer))
+					.requestBody(string(buffer))
+					.responseBody(string(buffer))
+					.build();
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new IllegalStateException("Truncated journal record", e);
+		}
+	}
+
+	private static byte[] bytes(String value) {
+		return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static int sizeOf(byte[] value) {
+		return Integer.BYTES + (value == null ? 0 : value.length);
+	}
+
+	private static void put(ByteBuffer buffer, byte[] value) {
+		if (value == null) {
+			buffer.putInt(-1);
+			return;
+		}
+		buffer.putInt(value.length);
+		buffer.put(value);
+	}
+
+	private static String string(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		if (length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+}
@@ -0,0 +1,63 @@
+package com.ram.opsnow.logging.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A ring of histograms, one per time slot, covering the last
+ * {@code slots * slotNanos}. A slot is cleared the first time it is written in
+ * a new period; a value recorded by another thread during that reset may be
+ * lost, which is acceptable for monitoring data and keeps recording lock-free.
+ */
+public class RollingLatencyWindow {
+
+    private final long slotNanos;
+    private final Slot[] slots;
+
+    public RollingLatencyWindow(int slotCount, long slotNanos) {
+        this.slotNanos = slotNanos;
+        this.slots = new Slot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * @param now monotonic time in nanoseconds, never negative
+     */
+    public void record(long now, long nanos) {
+        long period = now / slotNanos;
+        Slot slot = slots[(int) (period % slots.length)];
+        slot.advanceTo(period);
+        slot.histogram.record(nanos);
+    }
+
+    public LatencyHistogram.Snapshot snapshot(long now) {
+        long period = now / slotNanos;
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        long max = 0;
+        for (Slot slot : slots) {
+            long slotPeriod = slot.period.get();
+            if (slotPeriod <= period && period - slotPeriod < slots.length) {
+                slot.histogram.addTo(counts);
+                max = Math.max(max, slot.histogram.getMax());
+            }
+        }
+        return new LatencyHistogram.Snapshot(counts, max);
+    }
+
+    public double getWindowSeconds() {
+        return slots.length * slotNanos / 1_000_000_000.0;
+    }
+
+    private static final class Slot {
+        private final AtomicLong period = new AtomicLong(-1);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private void advanceTo(long target) {
+            long current = period.get();
+            if (current < target && period.compareAndSet(current, target)) {
+                histogram.reset();
+            }
+        }
+    }
+}
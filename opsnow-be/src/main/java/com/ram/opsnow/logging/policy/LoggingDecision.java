@@ -0,0 +1,7 @@
+package com.ram.opsnow.logging.policy;
+
+public enum LoggingDecision {
+    SKIP,
+    METADATA,
+    FULL
+}
@@ -0,0 +1,12 @@
+package com.ram.opsnow.logging.policy;
+
+public enum LoggingMode {
+    /** Persist every call with request and response bodies. */
+    ALWAYS,
+    /** Persist only calls that failed (status >= 400) or exceeded the slow threshold. */
+    ERRORS_AND_SLOW,
+    /** Persist a random fraction of calls, given by the rule's sample rate. */
+    SAMPLE,
+    /** Persist every call without request and response bodies. */
+    METADATA_ONLY
+}
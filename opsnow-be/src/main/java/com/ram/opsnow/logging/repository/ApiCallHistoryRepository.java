@@ -1,6 +1,7 @@
 package com.ram.opsnow.logging.repository;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,17 +13,17 @@ import org.springframework.stereotype.Repository;
 import com.ram.opsnow.logging.entity.ApiCallHistory;
 
 @Repository
-public interface ApiCallHistoryRepository extends JpaRepository<ApiCallHistory, String> {
+public interface ApiCallHistoryRepository extends JpaRepository<ApiCallHistory, UUID> {
 
-	Page<ApiCallHistory> findByUserIdentifierOrderByTimestampDesc(String userIdentifier, Pageable pageable);
+	Page<ApiCallHistory> findByUserIdentifierOrderByTimestampDescIdDesc(String userIdentifier, Pageable pageable);
 
-	Page<ApiCallHistory> findByApiEndpointContainingIgnoreCaseOrderByTimestampDesc(String endpoint,
+	Page<ApiCallHistory> findByApiEndpointContainingIgnoreCaseOrderByTimestampDescIdDesc(String endpoint,
 			Pageable pageable);
 
-	Page<ApiCallHistory> findByHttpMethodOrderByTimestampDesc(String httpMethod, Pageable pageable);
+	Page<ApiCallHistory> findByHttpMethodOrderByTimestampDescIdDesc(String httpMethod, Pageable pageable);
 
-	@Query("SELECT a FROM ApiCallHistory a WHERE a.timestamp BETWEEN :startDate AND :endDate ORDER BY a.timestamp DESC")
-	Page<ApiCallHistory> findByTimestampBetweenOrderByTimestampDesc(
+	@Query("SELECT a FROM ApiCallHistory a WHERE a.timestamp BETWEEN :startDate AND :endDate ORDER BY a.timestamp DESC, a.id DESC")
+	Page<ApiCallHistory> findByTimestampBetweenOrderByTimestampDescIdDesc(
 			@Param("startDate") LocalDateTime startDate,
 			@Param("endDate") LocalDateTime endDate,
 			Pageable pageable);
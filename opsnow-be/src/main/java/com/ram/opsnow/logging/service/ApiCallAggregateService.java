@@ -0,0 +1,67 @@
+package com.ram.opsnow.logging.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Service;
+
+import com.ram.opsnow.logging.dto.ApiCallAggregate;
+
+/**
+ * In-memory counters per (method, endpoint pattern, status class) that every
+ * API call feeds, including calls the logging policy does not persist, so
+ * totals stay correct when history rows are sampled.
+ */
+@Service
+public class ApiCallAggregateService {
+
+	private final ConcurrentMap<Key, Counters> counters = new ConcurrentHashMap<>();
+
+	public void record(String method, String endpoint, int status, long durationMs, boolean logged) {
+		Counters c = counters.computeIfAbsent(new Key(method, endpoint, status / 100), key -> new Counters());
+		c.count.increment();
+		c.totalDurationMs.add(durationMs);
+		c.maxDurationMs.accumulate(durationMs);
+		if (logged) {
+			c.logged.increment();
+		}
+	}
+
+	public List<ApiCallAggregate> getAggregates() {
+		return counters.entrySet().stream()
+				.map(entry -> {
+					Key key = entry.getKey();
+					Counters c = entry.getValue();
+					long count = c.count.sum();
+					long total = c.totalDurationMs.sum();
+					return ApiCallAggregate.builder()
+							.httpMethod(key.method())
+							.endpoint(key.endpoint())
+							.statusClass(key.statusClass() + "xx")
+							.count(count)
+							.logged(c.logged.sum())
+							.totalDurationMs(total)
+							.avgDurationMs(count == 0 ? 0 : (double) total / count)
+							.maxDurationMs(c.maxDurationMs.get())
+							.build();
+				})
+				.sorted(Comparator.comparing(ApiCallAggregate::getEndpoint)
+						.thenComparing(ApiCallAggregate::getHttpMethod)
+						.thenComparing(ApiCallAggregate::getStatusClass))
+				.toList();
+	}
+
+	private record Key(String method, String endpoint, int statusClass) {
+	}
+
+	private static final class Counters {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder logged = new LongAdder();
+		private final LongAdder totalDurationMs = new LongAdder();
+		private final LongAccumulator maxDurationMs = new LongAccumulator(Math::max, 0);
+	}
+}
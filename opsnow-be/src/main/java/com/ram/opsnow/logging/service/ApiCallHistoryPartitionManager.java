@@ -0,0 +1,259 @@
+package com.ram.opsnow.logging.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Owns the api_call_history schema: a table range-partitioned on timestamp
+ * into daily or monthly partitions. Indexes are declared on the parent, so
+ * Postgres creates them on every partition, including ones added later.
+ * <p>
+ * {@link #maintain()} keeps a few partitions ahead of the clock and drops
+ * partitions that are entirely older than the retention period, so expiry
+ * is a metadata operation instead of a DELETE. Rows that fall outside every
+ * partition land in the default partition and are moved out when a matching
+ * partition is created.
+ */
+@Slf4j
+@Service
+public class ApiCallHistoryPartitionManager {
+
+	private static final String TABLE = "api_call_history";
+	private static final String DEFAULT_PARTITION = TABLE + "_default";
+	private static final String LEGACY_TABLE = TABLE + "_legacy";
+	private static final String PARTITION_PREFIX = TABLE + "_p";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final Interval interval;
+	private final int retentionDays;
+	private final int premake;
+
+	private volatile boolean initialized;
+
+	public ApiCallHistoryPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${api-logging.partition.interval:daily}") String interval,
+			@Value("${api-logging.partition.retention-days:90}") int retentionDays,
+			@Value("${api-logging.partition.premake:3}") int premake) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.interval = Interval.valueOf(interval.toUpperCase(Locale.ROOT));
+		this.retentionDays = retentionDays;
+		this.premake = premake;
+	}
+
+	/**
+	 * Creates the partitioned table, converting an existing unpartitioned
+	 * table first, then runs one maintenance pass.
+	 */
+	public synchronized void initialize() {
+		String kind = jdbcTemplate.query(
+				"SELECT relkind FROM pg_class WHERE relname = ? AND relnamespace = current_schema()::regnamespace",
+				rs -> rs.next() ? rs.getString(1) : null, TABLE);
+
+		if ("r".equals(kind)) {
+			migrateLegacyTable();
+		} else if (kind == null) {
+			createPartitionedTable();
+		} else {
+			migrateIdColumn();
+		}
+		initialized = true;
+		maintain();
+	}
+
+	@Scheduled(cron = "${api-logging.partition.maintenance-cron:0 5 * * * *}")
+	public synchronized void maintain() {
+		if (!initialized) {
+			return;
+		}
+		LocalDate current = interval.start(LocalDate.now());
+		for (int i = 0; i <= premake; i++) {
+			createPartition(current);
+			current = interval.next(current);
+		}
+		dropExpiredPartitions();
+
+		Long stray = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + DEFAULT_PARTITION, Long.class);
+		if (stray != null && stray > 0) {
+			log.warn("{} API call history rows are outside all partitions and sit in {}", stray, DEFAULT_PARTITION);
+		}
+	}
+
+	private void createPartitionedTable() {
+		jdbcTemplate.execute("""
+				CREATE TABLE IF NOT EXISTS api_call_history (
+				    id UUID NOT NULL,
+				    timestamp TIMESTAMP NOT NULL,
+				    api_endpoint VARCHAR(500) NOT NULL,
+				    http_method VARCHAR(10) NOT NULL,
+				    user_identifier VARCHAR(100),
+				    response_status INTEGER NOT NULL,
+				    request_duration_ms BIGINT,
+				    client_ip VARCHAR(45),
+				    user_agent VARCHAR(1000),
+				    request_body TEXT,
+				    response_body TEXT,
+				    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+				    PRIMARY KEY (id, timestamp)
+				) PARTITION BY RANGE (timestamp)
+				""");
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_api_call_history_timestamp ON api_call_history (timestamp)");
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_api_call_history_user ON api_call_history (user_identifier, timestamp)");
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_api_call_history_method ON api_call_history (http_method, timestamp)");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF api_call_history DEFAULT");
+		log.info("Created partitioned {} table ({} partitions)", TABLE, interval.name().toLowerCase(Locale.ROOT));
+	}
+
+	private void migrateLegacyTable() {
+		log.info("Converting {} to a partitioned table", TABLE);
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+			jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " RENAME CONSTRAINT " + TABLE + "_pkey TO " + LEGACY_TABLE + "_pkey");
+			createPartitionedTable();
+
+			List<LocalDate> days = jdbcTemplate.query("""
+					SELECT DISTINCT date_trunc('day', timestamp)::date AS day
+					FROM api_call_history_legacy
+					ORDER BY day
+					""", (rs, rowNum) -> rs.getObject("day", LocalDate.class));
+			LocalDate previous = null;
+			for (LocalDate day : days) {
+				LocalDate start = interval.start(day);
+				if (!start.equals(previous) && !isExpired(interval.next(start))) {
+					createPartition(start);
+				}
+				previous = start;
+			}
+
+			// rows already past the retention period are not carried over
+			int moved = jdbcTemplate.update("""
+					INSERT INTO api_call_history
+					    (id, timestamp, api_endpoint, http_method, user_identifier, response_status,
+					     request_duration_ms, client_ip, user_agent, request_body, response_body, created_at)
+					SELECT id::uuid, timestamp, api_endpoint, http_method, user_identifier, response_status,
+					       request_duration_ms, client_ip, user_agent, request_body, response_body, created_at
+					FROM api_call_history_legacy
+					WHERE ? = 0 OR timestamp >= ?
+					""", retentionDays, LocalDateTime.now().minusDays(retentionDays));
+			jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+			log.info("Moved {} API call history rows into partitions", moved);
+		});
+	}
+
+	// ids were random VARCHAR(36) UUIDs before they became time-ordered native uuids
+	private void migrateIdColumn() {
+		String type = jdbcTemplate.query("""
+				SELECT data_type FROM information_schema.columns
+				WHERE table_schema = current_schema() AND table_name = 'api_call_history' AND column_name = 'id'
+				""", rs -> rs.next() ? rs.getString(1) : null);
+		if ("character varying".equals(type)) {
+			log.info("Converting {}.id to uuid", TABLE);
+			jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id TYPE uuid USING id::uuid");
+		}
+	}
+
+	private void createPartition(LocalDate start) {
+		String name = partitionName(start);
+		Boolean exists = jdbcTemplate.queryForObject(
+				"SELECT EXISTS (SELECT 1 FROM pg_class WHERE relname = ? AND relnamespace = current_schema()::regnamespace)",
+				Boolean.class, name);
+		if (Boolean.TRUE.equals(exists)) {
+			return;
+		}
+		LocalDate end = interval.next(start);
+		// built detached so rows already caught by the default partition can be moved in before attaching
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+			jdbcTemplate.update("""
+					WITH moved AS (
+					    DELETE FROM api_call_history_default
+					    WHERE timestamp >= ? AND timestamp < ?
+					    RETURNING *
+					)
+					INSERT INTO %s SELECT * FROM moved
+					""".formatted(name), start.atStartOfDay(), end.atStartOfDay());
+			jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + name
+					+ " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+		});
+		log.info("Created API call history partition {} [{}, {})", name, start, end);
+	}
+
+	private void dropExpiredPartitions() {
+		if (retentionDays <= 0) {
+			return;
+		}
+		List<String> partitions = jdbcTemplate.queryForList("""
+				SELECT c.relname
+				FROM pg_inherits i
+				JOIN pg_class c ON c.oid = i.inhrelid
+				WHERE i.inhparent = 'api_call_history'::regclass
+				""", String.class);
+		for (String partition : partitions) {
+			LocalDate start = partitionStart(partition);
+			if (start != null && isExpired(interval.next(start))) {
+				jdbcTemplate.execute("DROP TABLE " + partition);
+				log.info("Dropped expired API call history partition {}", partition);
+			}
+		}
+		jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp < ?",
+				LocalDateTime.now().minusDays(retentionDays));
+	}
+
+	private boolean isExpired(LocalDate partitionEnd) {
+		return retentionDays > 0 && !partitionEnd.isAfter(LocalDate.now().minusDays(retentionDays));
+	}
+
+	private String partitionName(LocalDate start) {
+		return PARTITION_PREFIX + start.format(interval.format);
+	}
+
+	private LocalDate partitionStart(String partition) {
+		if (!partition.startsWith(PARTITION_PREFIX)) {
+			return null;
+		}
+		String suffix = partition.substring(PARTITION_PREFIX.length());
+		try {
+			return interval == Interval.MONTHLY
+					? LocalDate.parse(suffix + "01", DateTimeFormatter.BASIC_ISO_DATE)
+					: LocalDate.parse(suffix, DateTimeFormatter.BASIC_ISO_DATE);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	private enum Interval {
+		DAILY(DateTimeFormatter.BASIC_ISO_DATE, ChronoUnit.DAYS),
+		MONTHLY(DateTimeFormatter.ofPattern("yyyyMM"), ChronoUnit.MONTHS);
+
+		private final DateTimeFormatter format;
+		private final ChronoUnit unit;
+
+		Interval(DateTimeFormatter format, ChronoUnit unit) {
+			this.format = format;
+			this.unit = unit;
+		}
+
+		LocalDate start(LocalDate date) {
+			return this == MONTHLY ? date.withDayOfMonth(1) : date;
+		}
+
+		LocalDate next(LocalDate start) {
+			return start.plus(1, unit);
+		}
+	}
+}
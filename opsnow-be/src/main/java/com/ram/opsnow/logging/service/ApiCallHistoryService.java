@@ -2,15 +2,14 @@ package com.ram.opsnow.logging.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import com.ram.opsnow.logging.dto.ApiCallHistoryDTO;
+import com.ram.opsnow.logging.dto.ApiCallHistoryWriterMetrics;
 import com.ram.opsnow.logging.entity.ApiCallHistory;
 import com.ram.opsnow.logging.repository.ApiCallHistoryRepository;
 import com.ram.opsnow.util.PaginationResponse;
@@ -23,22 +22,23 @@ public class ApiCallHistoryService {
 
 	private final ApiCallHistoryRepository apiCallHistoryRepository;
 	private final ModelMapper modelMapper;
+	private final ApiCallHistoryWriter apiCallHistoryWriter;
 
-	public ApiCallHistoryService(ApiCallHistoryRepository apiCallHistoryRepository, ModelMapper modelMapper) {
+	public ApiCallHistoryService(ApiCallHistoryRepository apiCallHistoryRepository, ModelMapper modelMapper,
+			ApiCallHistoryWriter apiCallHistoryWriter) {
 		this.apiCallHistoryRepository = apiCallHistoryRepository;
 		this.modelMapper = modelMapper;
+		this.apiCallHistoryWriter = apiCallHistoryWriter;
 	}
 
-	@Async("apiLoggingExecutor")
-	public CompletableFuture<Void> logApiCall(ApiCallHistory apiCallHistory) {
-		try {
-			apiCallHistoryRepository.save(apiCallHistory);
-			log.debug("API call logged successfully for endpoint: {}", apiCallHistory.getApiEndpoint());
-		} catch (Exception e) {
-			log.error("Failed to log API call for endpoint: {} - Error: {}",
-					apiCallHistory.getApiEndpoint(), e.getMessage(), e);
+	public void logApiCall(ApiCallHistory apiCallHistory) {
+		if (!apiCallHistoryWriter.offer(apiCallHistory)) {
+			log.debug("API call log buffer full, dropped record for endpoint: {}", apiCallHistory.getApiEndpoint());
 		}
-		return CompletableFuture.completedFuture(null);
+	}
+
+	public ApiCallHistoryWriterMetrics getWriterMetrics() {
+		return apiCallHistoryWriter.getMetrics();
 	}
 
 	public PaginationResponse<ApiCallHistoryDTO> getApiCallHistory(Pageable pageable) {
@@ -55,7 +55,7 @@ public class ApiCallHistoryService {
 	}
 
 	public PaginationResponse<ApiCallHistoryDTO> getApiCallHistoryByUser(String userIdentifier, Pageable pageable) {
-		var history = apiCallHistoryRepository.findByUserIdentifierOrderByTimestampDesc(userIdentifier, pageable);
+		var history = apiCallHistoryRepository.findByUserIdentifierOrderByTimestampDescIdDesc(userIdentifier, pageable);
 		List<ApiCallHistoryDTO> apiCallHistories = history.getContent().stream()
 				.map(apiCallHistory -> modelMapper.map(apiCallHistory, ApiCallHistoryDTO.class))
 				.toList();
@@ -68,7 +68,7 @@ public class ApiCallHistoryService {
 	}
 
 	public PaginationResponse<ApiCallHistoryDTO> getApiCallHistoryByEndpoint(String endpoint, Pageable pageable) {
-		var history = apiCallHistoryRepository.findByApiEndpointContainingIgnoreCaseOrderByTimestampDesc(endpoint,
+		var history = apiCallHistoryRepository.findByApiEndpointContainingIgnoreCaseOrderByTimestampDescIdDesc(endpoint,
 				pageable);
 		List<ApiCallHistoryDTO> apiCallHistories = history.getContent().stream()
 				.map(apiCallHistory -> modelMapper.map(apiCallHistory, ApiCallHistoryDTO.class))
@@ -82,7 +82,7 @@ public class ApiCallHistoryService {
 	}
 
 	public PaginationResponse<ApiCallHistoryDTO> getApiCallHistoryByMethod(String httpMethod, Pageable pageable) {
-		var history = apiCallHistoryRepository.findByHttpMethodOrderByTimestampDesc(httpMethod, pageable);
+		var history = apiCallHistoryRepository.findByHttpMethodOrderByTimestampDescIdDesc(httpMethod, pageable);
 		List<ApiCallHistoryDTO> apiCallHistories = history.getContent().stream()
 				.map(apiCallHistory -> modelMapper.map(apiCallHistory, ApiCallHistoryDTO.class))
 				.toList();
@@ -97,7 +97,7 @@ public class ApiCallHistoryService {
 	public PaginationResponse<ApiCallHistoryDTO> getApiCallHistoryByDateRange(LocalDateTime startDate,
 			LocalDateTime endDate,
 			Pageable pageable) {
-		var history = apiCallHistoryRepository.findByTimestampBetweenOrderByTimestampDesc(startDate, endDate, pageable);
+		var history = apiCallHistoryRepository.findByTimestampBetweenOrderByTimestampDescIdDesc(startDate, endDate, pageable);
 		List<ApiCallHistoryDTO> apiCallHistories = history.getContent().stream()
 				.map(apiCallHistory -> modelMapper.map(apiCallHistory, ApiCallHistoryDTO.class))
 				.toList();
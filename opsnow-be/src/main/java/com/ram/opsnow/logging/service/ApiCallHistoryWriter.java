@@ -0,0 +1,255 @@
+package com.ram.opsnow.logging.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ram.opsnow.logging.buffer.RingBuffer;
+import com.ram.opsnow.logging.dto.ApiCallHistoryWriterMetrics;
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+import com.ram.opsnow.logging.journal.ApiCallJournal;
+import com.ram.opsnow.util.UuidV7;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-threaded writer for API call history. Request threads hand records to
+ * a bounded lock-free ring buffer; one writer thread drains it and inserts
+ * multi-row batches, flushing when a batch is full or the flush interval has
+ * passed, whichever comes first.
+ * <p>
+ * Records that do not fit in the buffer, or whose batch fails to insert, are
+ * spilled to the {@link ApiCallJournal} and replayed later instead of being
+ * dropped. Inserts ignore rows that already exist so a replayed batch that
+ * partly reached the database is harmless.
+ */
+@Slf4j
+@Component
+public class ApiCallHistoryWriter implements SmartLifecycle {
+
+	private static final String INSERT_PREFIX = "INSERT INTO api_call_history (id, timestamp, api_endpoint, http_method, user_identifier, response_status, request_duration_ms, client_ip, user_agent, request_body, response_body) VALUES ";
+	private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String ON_CONFLICT = " ON CONFLICT (id, timestamp) DO NOTHING";
+	private static final int COLUMNS = 11;
+
+	/**
+	 * Largest batch a single multi-row insert can carry: PostgreSQL allows at
+	 * most 65535 bind parameters per statement.
+	 */
+	public static final int MAX_BATCH_SIZE = 65535 / COLUMNS;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ApiCallJournal journal;
+	private final RingBuffer<ApiCallHistory> buffer;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final String fullBatchSql;
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder flushes = new LongAdder();
+	private final LongAdder failedFlushes = new LongAdder();
+	private final LongAdder totalFlushNanos = new LongAdder();
+	private final AtomicLong lastFlushNanos = new AtomicLong();
+	private final AtomicLong maxFlushNanos = new AtomicLong();
+
+	private volatile boolean running;
+	private volatile Thread writerThread;
+
+	public ApiCallHistoryWriter(JdbcTemplate jdbcTemplate, ApiCallJournal journal,
+			@Value("${api-logging.writer.capacity:8192}") int capacity,
+			@Value("${api-logging.writer.batch-size:500}") int batchSize,
+			@Value("${api-logging.writer.flush-interval-ms:1000}") long flushIntervalMs) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.journal = journal;
+		this.buffer = new RingBuffer<>(capacity);
+		this.batchSize = requireBatchSize("api-logging.writer.batch-size", batchSize);
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+		this.fullBatchSql = insertSql(batchSize);
+	}
+
+	/**
+	 * Fails startup on a batch size {@link #insert(List)} cannot send.
+	 */
+	public static int requireBatchSize(String property, int batchSize) {
+		if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+			throw new IllegalStateException(
+					property + " must be between 1 and " + MAX_BATCH_SIZE + ", got " + batchSize);
+		}
+		return batchSize;
+	}
+
+	public boolean offer(ApiCallHistory apiCallHistory) {
+		if (apiCallHistory.getId() == null) {
+			apiCallHistory.setId(UuidV7.next());
+		}
+		if (!buffer.offer(apiCallHistory)) {
+			if (journal.append(apiCallHistory)) {
+				return true;
+			}
+			dropped.increment();
+			return false;
+		}
+		accepted.increment();
+		if (buffer.size() >= batchSize) {
+			LockSupport.unpark(writerThread);
+		}
+		return true;
+	}
+
+	/**
+	 * True when less than one batch is waiting, i.e. live traffic is keeping up
+	 * and the database has room for replayed records.
+	 */
+	public boolean isCaughtUp() {
+		return running && buffer.size() < batchSize;
+	}
+
+	public void insert(List<ApiCallHistory> records) {
+		String sql = records.size() == batchSize ? fullBatchSql : insertSql(records.size());
+		Object[] args = new Object[records.size() * COLUMNS];
+		int i = 0;
+		for (ApiCallHistory record : records) {
+			args[i++] = record.getId();
+			args[i++] = Timestamp.valueOf(record.getTimestamp());
+			args[i++] = record.getApiEndpoint();
+			args[i++] = record.getHttpMethod();
+			args[i++] = record.getUserIdentifier();
+			args[i++] = record.getResponseStatus();
+			args[i++] = record.getRequestDurationMs();
+			args[i++] = record.getClientIp();
+			args[i++] = record.getUserAgent();
+			args[i++] = record.getRequestBody();
+			args[i++] = record.getResponseBody();
+		}
+		jdbcTemplate.update(sql, args);
+	}
+
+	public ApiCallHistoryWriterMetrics getMetrics() {
+		long flushCount = flushes.sum();
+		return ApiCallHistoryWriterMetrics.builder()
+				.queueDepth(buffer.size())
+				.queueCapacity(buffer.capacity())
+				.accepted(accepted.sum())
+				.written(written.sum())
+				.dropped(dropped.sum())
+				.flushes(flushCount)
+				.failedFlushes(failedFlushes.sum())
+				.lastFlushLatencyMs(toMillis(lastFlushNanos.get()))
+				.avgFlushLatencyMs(flushCount == 0 ? 0 : toMillis(totalFlushNanos.sum()) / flushCount)
+				.maxFlushLatencyMs(toMillis(maxFlushNanos.get()))
+				.journaled(journal.getAppended())
+				.replayed(journal.getReplayed())
+				.journalSegments(journal.getSegmentCount())
+				.journalBytes(journal.getBytesOnDisk())
+				.quarantinedSegments(journal.getQuarantined())
+				.build();
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		writerThread = new Thread(this::drainLoop, "ApiLogging-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		LockSupport.unpark(writerThread);
+		try {
+			writerThread.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void drainLoop() {
+		List<ApiCallHistory> batch = new ArrayList<>(batchSize);
+		long deadline = System.nanoTime() + flushIntervalNanos;
+
+		while (true) {
+			ApiCallHistory next = buffer.poll();
+			if (next != null) {
+				batch.add(next);
+				if (batch.size() >= batchSize) {
+					flush(batch);
+					deadline = System.nanoTime() + flushIntervalNanos;
+				}
+				continue;
+			}
+
+			long now = System.nanoTime();
+			if (!batch.isEmpty() && now - deadline >= 0) {
+				flush(batch);
+				deadline = now + flushIntervalNanos;
+			}
+			if (!running) {
+				if (!batch.isEmpty()) {
+					flush(batch);
+				}
+				return;
+			}
+			LockSupport.parkNanos(Math.min(Math.max(deadline - now, 1), TimeUnit.MILLISECONDS.toNanos(50)));
+		}
+	}
+
+	private void flush(List<ApiCallHistory> batch) {
+		long start = System.nanoTime();
+		try {
+			insert(batch);
+			written.add(batch.size());
+			log.debug("Flushed {} API call records", batch.size());
+		} catch (Exception e) {
+			failedFlushes.increment();
+			int journaled = 0;
+			for (ApiCallHistory record : batch) {
+				if (journal.append(record)) {
+					journaled++;
+				}
+			}
+			dropped.add(batch.size() - journaled);
+			log.error("Failed to flush {} API call records, {} journaled for replay: {}", batch.size(), journaled, e.getMessage());
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			flushes.increment();
+			totalFlushNanos.add(elapsed);
+			lastFlushNanos.set(elapsed);
+			maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+			batch.clear();
+		}
+	}
+
+	private static String insertSql(int rows) {
+		StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 1) + ON_CONFLICT.length());
+		sql.append(INSERT_PREFIX);
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				sql.append(',');
+			}
+			sql.append(ROW_PLACEHOLDERS);
+		}
+		sql.append(ON_CONFLICT);
+		return sql.toString();
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
@@ -0,0 +1,454 @@
+package com.ram.opsnow.logging.service;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ram.opsnow.exception.InvalidDataException;
+import com.ram.opsnow.logging.dto.ApiUsageStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pre-aggregates API calls per (minute, endpoint pattern, method, status,
+ * user) so usage questions are answered from small rollup tables instead of
+ * raw history.
+ * <p>
+ * Calls are counted in memory and flushed into api_call_rollup_minute with
+ * additive upserts. Compaction rebuilds recent hour buckets from minute rows
+ * and day buckets from hour rows, then trims each level to its retention.
+ * Latency is kept as a fixed-bucket sketch ({@link #LATENCY_BOUNDS_MS}) that
+ * merges by element-wise addition, so percentiles survive compaction.
+ * <p>
+ * Queries combine levels: complete days come from the day table, the hours
+ * after the last compacted day from the hour table, and anything after the
+ * last compacted hour from the minute table.
+ */
+@Slf4j
+@Service
+public class ApiCallRollupService {
+
+	static final long[] LATENCY_BOUNDS_MS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+	private static final String MINUTE_TABLE = "api_call_rollup_minute";
+	private static final String HOUR_TABLE = "api_call_rollup_hour";
+	private static final String DAY_TABLE = "api_call_rollup_day";
+	private static final Set<String> GROUP_DIMENSIONS = Set.of("endpoint", "method", "status", "user");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int minuteRetentionHours;
+	private final int hourRetentionDays;
+	private final int dayRetentionDays;
+
+	private final ConcurrentHashMap<RollupKey, Counters> pending = new ConcurrentHashMap<>();
+
+	private volatile boolean ready;
+	private volatile LocalDateTime hoursCompactedUntil;
+	private volatile LocalDateTime daysCompactedUntil;
+
+	public ApiCallRollupService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${api-logging.rollup.minute-retention-hours:48}") int minuteRetentionHours,
+			@Value("${api-logging.rollup.hour-retention-days:31}") int hourRetentionDays,
+			@Value("${api-logging.rollup.day-retention-days:730}") int dayRetentionDays) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.minuteRetentionHours = minuteRetentionHours;
+		this.hourRetentionDays = hourRetentionDays;
+		this.dayRetentionDays = dayRetentionDays;
+	}
+
+	public void record(LocalDateTime timestamp, String endpoint, String method, int status, String user,
+			long durationMs) {
+		RollupKey key = new RollupKey(timestamp.truncatedTo(ChronoUnit.MINUTES), endpoint, method, status,
+				user == null ? "" : user);
+		// compute runs under the map's bin lock, so flush() never loses a concurrent update
+		pending.compute(key, (k, counters) -> {
+			Counters c = counters != null ? counters : new Counters();
+			c.add(status, durationMs);
+			return c;
+		});
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void initialize() {
+		createTables();
+		ready = true;
+		// catch up on anything not compacted before the last shutdown
+		compact(minuteRetentionHours, hourRetentionDays);
+	}
+
+	@Scheduled(fixedDelayString = "${api-logging.rollup.flush-interval-ms:10000}")
+	public void flush() {
+		if (!ready || pending.isEmpty()) {
+			return;
+		}
+		List<Map.Entry<RollupKey, Counters>> drained = new ArrayList<>();
+		for (RollupKey key : pending.keySet()) {
+			Counters counters = pending.remove(key);
+			if (counters != null) {
+				drained.add(Map.entry(key, counters));
+			}
+		}
+
+		try {
+			// one transaction, so a failed flush leaves nothing half-applied to be added again
+			transactionTemplate.executeWithoutResult(status -> upsert(drained));
+			log.debug("Flushed {} API call rollup rows", drained.size());
+		} catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+			drained.forEach(this::requeue);
+			log.error("Failed to flush API call rollups, retrying later: {}", e.getMessage());
+		} catch (Exception e) {
+			// the batch rolled back; write rows one at a time so only the ones that can never be written are lost
+			log.warn("Failed to flush {} API call rollup rows, retrying row by row: {}", drained.size(),
+					e.getMessage());
+			for (Map.Entry<RollupKey, Counters> entry : drained) {
+				try {
+					upsert(List.of(entry));
+				} catch (TransientDataAccessException | DataAccessResourceFailureException retryable) {
+					requeue(entry);
+				} catch (Exception rowError) {
+					log.error("Dropping API call rollup row {} ({} calls): {}", entry.getKey(),
+							entry.getValue().count, rowError.getMessage());
+				}
+			}
+		}
+	}
+
+	private void requeue(Map.Entry<RollupKey, Counters> entry) {
+		pending.merge(entry.getKey(), entry.getValue(), Counters::merge);
+	}
+
+	private void upsert(List<Map.Entry<RollupKey, Counters>> rows) {
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO api_call_rollup_minute AS r
+				    (bucket_start, api_endpoint, http_method, response_status, user_identifier,
+				     call_count, error_count, latency_sum_ms, latency_max_ms, latency_buckets)
+				VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+				ON CONFLICT (bucket_start, api_endpoint, http_method, response_status, user_identifier) DO UPDATE SET
+				    call_count = r.call_count + EXCLUDED.call_count,
+				    error_count = r.error_count + EXCLUDED.error_count,
+				    latency_sum_ms = r.latency_sum_ms + EXCLUDED.latency_sum_ms,
+				    latency_max_ms = GREATEST(r.latency_max_ms, EXCLUDED.latency_max_ms),
+				    latency_buckets = api_rollup_add_buckets(r.latency_buckets, EXCLUDED.latency_buckets)
+				""", rows, 500, (ps, entry) -> {
+			RollupKey key = entry.getKey();
+			Counters c = entry.getValue();
+			ps.setTimestamp(1, Timestamp.valueOf(key.minute()));
+			ps.setString(2, key.endpoint());
+			ps.setString(3, key.method());
+			ps.setInt(4, key.status());
+			ps.setString(5, key.user());
+			ps.setLong(6, c.count);
+			ps.setLong(7, c.errors);
+			ps.setLong(8, c.latencySumMs);
+			ps.setLong(9, c.latencyMaxMs);
+			ps.setArray(10, ps.getConnection().createArrayOf("bigint", boxed(c.latencyBuckets)));
+		});
+	}
+
+	/**
+	 * Rebuilds the last two hours and days of coarser buckets from the finer
+	 * level, so late minute flushes are picked up, and applies retention.
+	 */
+	@Scheduled(cron = "${api-logging.rollup.compaction-cron:0 */5 * * * *}")
+	public void compact() {
+		if (ready) {
+			compact(2, 2);
+		}
+	}
+
+	private synchronized void compact(int hourLookback, int dayLookback) {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime hourBoundary = now.truncatedTo(ChronoUnit.HOURS);
+		LocalDateTime dayBoundary = now.truncatedTo(ChronoUnit.DAYS);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			rebuild(MINUTE_TABLE, HOUR_TABLE, "hour", hourBoundary.minusHours(hourLookback), hourBoundary);
+			rebuild(HOUR_TABLE, DAY_TABLE, "day", dayBoundary.minusDays(dayLookback), dayBoundary);
+			jdbcTemplate.update("DELETE FROM " + MINUTE_TABLE + " WHERE bucket_start < ?",
+					Timestamp.valueOf(hourBoundary.minusHours(minuteRetentionHours)));
+			jdbcTemplate.update("DELETE FROM " + HOUR_TABLE + " WHERE bucket_start < ?",
+					Timestamp.valueOf(dayBoundary.minusDays(hourRetentionDays)));
+			jdbcTemplate.update("DELETE FROM " + DAY_TABLE + " WHERE bucket_start < ?",
+					Timestamp.valueOf(dayBoundary.minusDays(dayRetentionDays)));
+		});
+		hoursCompactedUntil = hourBoundary;
+		daysCompactedUntil = dayBoundary;
+	}
+
+	public List<ApiUsageStats> getStats(LocalDateTime from, LocalDateTime to, String granularity, String groupBy,
+			String endpoint, String method, Integer status, String user) {
+		if (from == null || to == null || !from.isBefore(to)) {
+			throw new InvalidDataException("A time range with from before to is required");
+		}
+		String unit = granularity == null || granularity.isBlank() || "auto".equalsIgnoreCase(granularity)
+				? autoGranularity(from, to)
+				: granularity.toLowerCase(Locale.ROOT);
+		if (!List.of("minute", "hour", "day").contains(unit)) {
+			throw new InvalidDataException("Unknown granularity: " + granularity + " (expected minute, hour, day or auto)");
+		}
+		Set<String> dimensions = parseGroupBy(groupBy);
+
+		// pick each level for the part of the range it fully covers
+		LocalDateTime dayEnd = "day".equals(unit) && daysCompactedUntil != null ? clamp(daysCompactedUntil, from, to) : from;
+		LocalDateTime hourEnd = !"minute".equals(unit) && hoursCompactedUntil != null ? clamp(hoursCompactedUntil, dayEnd, to) : dayEnd;
+
+		List<Object> args = new ArrayList<>();
+		StringBuilder source = new StringBuilder();
+		appendSource(source, args, DAY_TABLE, from, dayEnd);
+		appendSource(source, args, HOUR_TABLE, dayEnd, hourEnd);
+		appendSource(source, args, MINUTE_TABLE, hourEnd, to);
+
+		List<String> filters = new ArrayList<>();
+		if (endpoint != null && !endpoint.isBlank()) {
+			filters.add("api_endpoint = ?");
+			args.add(endpoint);
+		}
+		if (method != null && !method.isBlank()) {
+			filters.add("http_method = ?");
+			args.add(method.toUpperCase(Locale.ROOT));
+		}
+		if (status != null) {
+			filters.add("response_status = ?");
+			args.add(status);
+		}
+		if (user != null && !user.isBlank()) {
+			filters.add("user_identifier = ?");
+			args.add(user);
+		}
+
+		String endpointColumn = dimensions.contains("endpoint") ? "api_endpoint" : "NULL::varchar";
+		String methodColumn = dimensions.contains("method") ? "http_method" : "NULL::varchar";
+		String statusColumn = dimensions.contains("status") ? "response_status" : "NULL::integer";
+		String userColumn = dimensions.contains("user") ? "NULLIF(user_identifier, '')" : "NULL::varchar";
+
+		String sql = """
+				SELECT
+				    date_trunc('%s', bucket_start) AS bucket,
+				    %s AS api_endpoint,
+				    %s AS http_method,
+				    %s AS response_status,
+				    %s AS user_identifier,
+				    SUM(call_count) AS call_count,
+				    SUM(error_count) AS error_count,
+				    SUM(latency_sum_ms) AS latency_sum_ms,
+				    MAX(latency_max_ms) AS latency_max_ms,
+				    api_rollup_sum_buckets(latency_buckets) AS latency_buckets
+				FROM (%s) source
+				%s
+				GROUP BY 1, 2, 3, 4, 5
+				ORDER BY 1, 2, 3, 4, 5
+				""".formatted(unit, endpointColumn, methodColumn, statusColumn, userColumn, source,
+				filters.isEmpty() ? "" : "WHERE " + String.join(" AND ", filters));
+
+		return jdbcTemplate.query(sql, (rs, rowNum) -> toStats(rs, unit), args.toArray());
+	}
+
+	private void rebuild(String sourceTable, String targetTable, String unit, LocalDateTime from, LocalDateTime to) {
+		jdbcTemplate.update("DELETE FROM " + targetTable + " WHERE bucket_start >= ? AND bucket_start < ?",
+				Timestamp.valueOf(from), Timestamp.valueOf(to));
+		jdbcTemplate.update("""
+				INSERT INTO %s
+				    (bucket_start, api_endpoint, http_method, response_status, user_identifier,
+				     call_count, error_count, latency_sum_ms, latency_max_ms, latency_buckets)
+				SELECT date_trunc('%s', bucket_start), api_endpoint, http_method, response_status, user_identifier,
+				       SUM(call_count), SUM(error_count), SUM(latency_sum_ms), MAX(latency_max_ms),
+				       api_rollup_sum_buckets(latency_buckets)
+				FROM %s
+				WHERE bucket_start >= ? AND bucket_start < ?
+				GROUP BY 1, 2, 3, 4, 5
+				""".formatted(targetTable, unit, sourceTable), Timestamp.valueOf(from), Timestamp.valueOf(to));
+	}
+
+	private void appendSource(StringBuilder source, List<Object> args, String table, LocalDateTime from,
+			LocalDateTime to) {
+		if (!from.isBefore(to)) {
+			return;
+		}
+		if (source.length() > 0) {
+			source.append(" UNION ALL ");
+		}
+		source.append("SELECT * FROM ").append(table).append(" WHERE bucket_start >= ? AND bucket_start < ?");
+		args.add(Timestamp.valueOf(from));
+		args.add(Timestamp.valueOf(to));
+	}
+
+	private ApiUsageStats toStats(ResultSet rs, String unit) throws SQLException {
+		long count = rs.getLong("call_count");
+		long errors = rs.getLong("error_count");
+		long[] buckets = unboxed(rs.getArray("latency_buckets"));
+		Integer status = rs.getObject("response_status", Integer.class);
+		return ApiUsageStats.builder()
+				.bucketStart(rs.getTimestamp("bucket").toLocalDateTime())
+				.granularity(unit)
+				.endpoint(rs.getString("api_endpoint"))
+				.httpMethod(rs.getString("http_method"))
+				.responseStatus(status)
+				.userIdentifier(rs.getString("user_identifier"))
+				.callCount(count)
+				.errorCount(errors)
+				.errorRate(count == 0 ? 0 : (double) errors / count)
+				.avgLatencyMs(count == 0 ? 0 : (double) rs.getLong("latency_sum_ms") / count)
+				.maxLatencyMs(rs.getLong("latency_max_ms"))
+				.p50LatencyMs(percentile(buckets, count, 50))
+				.p95LatencyMs(percentile(buckets, count, 95))
+				.p99LatencyMs(percentile(buckets, count, 99))
+				.build();
+	}
+
+	// upper bound of the bucket holding the percentile; the overflow bucket reports the last bound
+	private static long percentile(long[] buckets, long count, double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if (seen >= rank) {
+				return LATENCY_BOUNDS_MS[Math.min(i, LATENCY_BOUNDS_MS.length - 1)];
+			}
+		}
+		return LATENCY_BOUNDS_MS[LATENCY_BOUNDS_MS.length - 1];
+	}
+
+	private static String autoGranularity(LocalDateTime from, LocalDateTime to) {
+		Duration range = Duration.between(from, to);
+		if (range.compareTo(Duration.ofHours(6)) <= 0) {
+			return "minute";
+		}
+		return range.compareTo(Duration.ofDays(7)) <= 0 ? "hour" : "day";
+	}
+
+	private static Set<String> parseGroupBy(String groupBy) {
+		Set<String> dimensions = new LinkedHashSet<>();
+		if (groupBy == null || groupBy.isBlank()) {
+			return dimensions;
+		}
+		for (String dimension : groupBy.split(",")) {
+			String name = dimension.trim().toLowerCase(Locale.ROOT);
+			if (!GROUP_DIMENSIONS.contains(name)) {
+				throw new InvalidDataException("Unknown groupBy dimension: " + dimension + " (expected " + GROUP_DIMENSIONS + ")");
+			}
+			dimensions.add(name);
+		}
+		return dimensions;
+	}
+
+	private static LocalDateTime clamp(LocalDateTime value, LocalDateTime min, LocalDateTime max) {
+		return value.isBefore(min) ? min : value.isAfter(max) ? max : value;
+	}
+
+	private static Long[] boxed(long[] values) {
+		return Arrays.stream(values).boxed().toArray(Long[]::new);
+	}
+
+	private static long[] unboxed(Array array) throws SQLException {
+		long[] values = new long[LATENCY_BOUNDS_MS.length + 1];
+		if (array == null) {
+			return values;
+		}
+		Object[] elements = (Object[]) array.getArray();
+		for (int i = 0; i < elements.length && i < values.length; i++) {
+			values[i] = elements[i] == null ? 0 : ((Number) elements[i]).longValue();
+		}
+		return values;
+	}
+
+	private void createTables() {
+		jdbcTemplate.execute("""
+				CREATE OR REPLACE FUNCTION api_rollup_add_buckets(a BIGINT[], b BIGINT[]) RETURNS BIGINT[]
+				LANGUAGE sql IMMUTABLE AS $$
+				    SELECT CASE
+				        WHEN a IS NULL THEN b
+				        WHEN b IS NULL THEN a
+				        ELSE ARRAY(
+				            SELECT COALESCE(x, 0) + COALESCE(y, 0)
+				            FROM unnest(a, b) WITH ORDINALITY AS t(x, y, i)
+				            ORDER BY i)
+				    END
+				$$
+				""");
+		jdbcTemplate.execute("""
+				CREATE OR REPLACE AGGREGATE api_rollup_sum_buckets(BIGINT[]) (
+				    SFUNC = api_rollup_add_buckets,
+				    STYPE = BIGINT[]
+				)
+				""");
+		for (String table : List.of(MINUTE_TABLE, HOUR_TABLE, DAY_TABLE)) {
+			jdbcTemplate.execute("""
+					CREATE TABLE IF NOT EXISTS %s (
+					    bucket_start TIMESTAMP NOT NULL,
+					    api_endpoint VARCHAR(500) NOT NULL,
+					    http_method VARCHAR(10) NOT NULL,
+					    response_status INTEGER NOT NULL,
+					    user_identifier VARCHAR(100) NOT NULL DEFAULT '',
+					    call_count BIGINT NOT NULL,
+					    error_count BIGINT NOT NULL,
+					    latency_sum_ms BIGINT NOT NULL,
+					    latency_max_ms BIGINT NOT NULL,
+					    latency_buckets BIGINT[] NOT NULL,
+					    PRIMARY KEY (bucket_start, api_endpoint, http_method, response_status, user_identifier)
+					)
+					""".formatted(table));
+		}
+	}
+
+	private record RollupKey(LocalDateTime minute, String endpoint, String method, int status, String user) {
+	}
+
+	// only mutated inside ConcurrentHashMap.compute/merge, which serialise access per key
+	private static final class Counters {
+		private long count;
+		private long errors;
+		private long latencySumMs;
+		private long latencyMaxMs;
+		private final long[] latencyBuckets = new long[LATENCY_BOUNDS_MS.length + 1];
+
+		private void add(int status, long durationMs) {
+			count++;
+			if (status >= 400) {
+				errors++;
+			}
+			latencySumMs += durationMs;
+			latencyMaxMs = Math.max(latencyMaxMs, durationMs);
+			int bucket = Arrays.binarySearch(LATENCY_BOUNDS_MS, durationMs);
+			latencyBuckets[bucket >= 0 ? bucket : -bucket - 1]++;
+		}
+
+		private Counters merge(Counters other) {
+			count += other.count;
+			errors += other.errors;
+			latencySumMs += other.latencySumMs;
+			latencyMaxMs = Math.max(latencyMaxMs, other.latencyMaxMs);
+			for (int i = 0; i < latencyBuckets.length; i++) {
+				latencyBuckets[i] += other.latencyBuckets[i];
+			}
+			return this;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.ram.opsnow.logging.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.ram.opsnow.exception.InvalidDataException;
+import com.ram.opsnow.logging.dto.EndpointLatencyMetrics;
+import com.ram.opsnow.logging.metrics.LatencyHistogram;
+import com.ram.opsnow.logging.metrics.RollingLatencyWindow;
+
+/**
+ * Live latency percentiles per (endpoint pattern, method, status class), kept
+ * in memory over a rolling minute (12 x 5s slots) and a rolling hour
+ * (12 x 5min slots) so the dashboard does not have to query history rows.
+ */
+@Service
+public class ApiLatencyMetricsService {
+
+	public static final String WINDOW_MINUTE = "minute";
+	public static final String WINDOW_HOUR = "hour";
+
+	private static final int SLOTS = 12;
+
+	private final ConcurrentMap<Key, Windows> windows = new ConcurrentHashMap<>();
+	private final long origin = System.nanoTime();
+
+	public void record(String method, String endpoint, int status, long durationNanos) {
+		long now = System.nanoTime() - origin;
+		Windows w = windows.computeIfAbsent(new Key(endpoint, method, status / 100), key -> new Windows());
+		w.minute.record(now, durationNanos);
+		w.hour.record(now, durationNanos);
+	}
+
+	public List<EndpointLatencyMetrics> getMetrics(String window) {
+		String name = window == null ? WINDOW_MINUTE : window.toLowerCase(Locale.ROOT);
+		if (!WINDOW_MINUTE.equals(name) && !WINDOW_HOUR.equals(name)) {
+			throw new InvalidDataException("Unknown metrics window: " + window + " (expected minute or hour)");
+		}
+		long now = System.nanoTime() - origin;
+
+		return windows.entrySet().stream()
+				.map(entry -> {
+					Key key = entry.getKey();
+					RollingLatencyWindow rolling = WINDOW_HOUR.equals(name) ? entry.getValue().hour : entry.getValue().minute;
+					LatencyHistogram.Snapshot snapshot = rolling.snapshot(now);
+					return EndpointLatencyMetrics.builder()
+							.endpoint(key.endpoint())
+							.httpMethod(key.method())
+							.statusClass(key.statusClass() + "xx")
+							.window(name)
+							.count(snapshot.getCount())
+							.throughputPerSecond(snapshot.getCount() / rolling.getWindowSeconds())
+							.p50Ms(toMillis(snapshot.percentileNanos(50)))
+							.p90Ms(toMillis(snapshot.percentileNanos(90)))
+							.p99Ms(toMillis(snapshot.percentileNanos(99)))
+							.maxMs(toMillis(snapshot.getMaxNanos()))
+							.build();
+				})
+				.filter(metrics -> metrics.getCount() > 0)
+				.sorted(Comparator.comparing(EndpointLatencyMetrics::getEndpoint)
+						.thenComparing(EndpointLatencyMetrics::getHttpMethod)
+						.thenComparing(EndpointLatencyMetrics::getStatusClass))
+				.toList();
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private record Key(String endpoint, String method, int statusClass) {
+	}
+
+	private static final class Windows {
+		private final RollingLatencyWindow minute = new RollingLatencyWindow(SLOTS, TimeUnit.SECONDS.toNanos(5));
+		private final RollingLatencyWindow hour = new RollingLatencyWindow(SLOTS, TimeUnit.MINUTES.toNanos(5));
+	}
+}
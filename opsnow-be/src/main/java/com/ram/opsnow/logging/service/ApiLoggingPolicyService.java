@@ -0,0 +1,144 @@
+package com.ram.opsnow.logging.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.opsnow.exception.InvalidDataException;
+import com.ram.opsnow.logging.dto.LoggingPolicies;
+import com.ram.opsnow.logging.dto.LoggingPolicyRule;
+import com.ram.opsnow.logging.policy.LoggingDecision;
+import com.ram.opsnow.logging.policy.LoggingMode;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides how much of each API call is persisted. Rules are matched in order
+ * against the request path (Ant-style patterns) and, when given, the HTTP
+ * method; the first match wins and unmatched calls use the default mode.
+ * <p>
+ * Rules are loaded from {@code api-logging.policy.location}, which only the
+ * operator controls; after editing that file they can be reloaded without a
+ * restart.
+ */
+@Slf4j
+@Service
+public class ApiLoggingPolicyService {
+
+	private final ResourceLoader resourceLoader;
+	private final ObjectMapper objectMapper;
+	private final String location;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+	private volatile LoggingPolicies policies = new LoggingPolicies();
+
+	public ApiLoggingPolicyService(ResourceLoader resourceLoader, ObjectMapper objectMapper,
+			@Value("${api-logging.policy.location:classpath:api-logging-policies.json}") String location) {
+		this.resourceLoader = resourceLoader;
+		this.objectMapper = objectMapper;
+		this.location = location;
+	}
+
+	@PostConstruct
+	void init() {
+		try {
+			reload();
+		} catch (RuntimeException e) {
+			log.error("Failed to load API logging policies from {}, logging every call: {}", location, e.getMessage());
+		}
+	}
+
+	public LoggingDecision decide(String method, String path, int status, long durationMs) {
+		LoggingPolicies current = policies;
+		LoggingPolicyRule rule = match(current, method, path);
+		LoggingMode mode = rule != null ? rule.getMode() : current.getDefaultMode();
+
+		switch (mode) {
+			case METADATA_ONLY:
+				return LoggingDecision.METADATA;
+			case ERRORS_AND_SLOW:
+				long threshold = rule != null && rule.getSlowThresholdMs() != null
+						? rule.getSlowThresholdMs()
+						: current.getSlowThresholdMs();
+				return status >= 400 || durationMs >= threshold ? LoggingDecision.FULL : LoggingDecision.SKIP;
+			case SAMPLE:
+				double rate = rule != null && rule.getSampleRate() != null ? rule.getSampleRate() : 1.0;
+				return ThreadLocalRandom.current().nextDouble() < rate ? LoggingDecision.FULL : LoggingDecision.SKIP;
+			default:
+				return LoggingDecision.FULL;
+		}
+	}
+
+	public LoggingPolicies getPolicies() {
+		return policies;
+	}
+
+	public LoggingPolicies reload() {
+		Resource resource = resourceLoader.getResource(location);
+		if (!resource.exists()) {
+			log.info("No API logging policy file at {}, logging every call", location);
+			return policies;
+		}
+		try (InputStream in = resource.getInputStream()) {
+			LoggingPolicies loaded = objectMapper.readValue(in, LoggingPolicies.class);
+			validate(loaded);
+			policies = loaded;
+			log.info("Loaded {} API logging policy rules from {}", loaded.getRules().size(), location);
+			return loaded;
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to read API logging policies from " + location, e);
+		}
+	}
+
+	private LoggingPolicyRule match(LoggingPolicies current, String method, String path) {
+		for (LoggingPolicyRule rule : current.getRules()) {
+			if (rule.getMethod() != null && !rule.getMethod().equalsIgnoreCase(method)) {
+				continue;
+			}
+			if (pathMatcher.match(rule.getPattern(), path)) {
+				return rule;
+			}
+		}
+		return null;
+	}
+
+	private void validate(LoggingPolicies candidate) {
+		if (candidate == null) {
+			throw new InvalidDataException("Logging policies are required");
+		}
+		if (candidate.getDefaultMode() == null) {
+			candidate.setDefaultMode(LoggingMode.ALWAYS);
+		}
+		if (candidate.getRules() == null) {
+			candidate.setRules(new ArrayList<>());
+		}
+		List<LoggingPolicyRule> rules = candidate.getRules();
+		for (int i = 0; i < rules.size(); i++) {
+			LoggingPolicyRule rule = rules.get(i);
+			if (rule.getPattern() == null || rule.getPattern().isBlank()) {
+				throw new InvalidDataException("Logging policy rule " + i + " has no pattern");
+			}
+			if (rule.getMode() == null) {
+				throw new InvalidDataException("Logging policy rule " + i + " has no mode");
+			}
+			if (rule.getMode() == LoggingMode.SAMPLE
+					&& (rule.getSampleRate() == null || rule.getSampleRate() < 0 || rule.getSampleRate() > 1)) {
+				throw new InvalidDataException("Logging policy rule " + i + " needs a sampleRate between 0 and 1");
+			}
+			if (rule.getMethod() != null) {
+				rule.setMethod(rule.getMethod().toUpperCase(Locale.ROOT));
+			}
+		}
+	}
+}
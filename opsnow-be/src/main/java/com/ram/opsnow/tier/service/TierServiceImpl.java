@@ -9,6 +9,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import com.ram.opsnow.employee.service.EmployeeRankingIndex;
 import com.ram.opsnow.exception.DataAlreadyExistException;
 import com.ram.opsnow.exception.DataNotFoundException;
 import com.ram.opsnow.exception.InvalidDataException;
@@ -25,10 +26,13 @@ import lombok.extern.slf4j.Slf4j;
 public class TierServiceImpl implements TierService {
 	private final TierRepository tierRepository;
 	private final ModelMapper modelMapper;
+	private final EmployeeRankingIndex employeeRankingIndex;
 
-	public TierServiceImpl(TierRepository tierRepository, ModelMapper modelMapper) {
+	public TierServiceImpl(TierRepository tierRepository, ModelMapper modelMapper,
+			EmployeeRankingIndex employeeRankingIndex) {
 		this.tierRepository = tierRepository;
 		this.modelMapper = modelMapper;
+		this.employeeRankingIndex = employeeRankingIndex;
 	}
 
 	@Override
@@ -71,6 +75,7 @@ public class TierServiceImpl implements TierService {
 		}
 
 		var tier = tierRepository.save(modelMapper.map(tierDTO, Tier.class));
+		employeeRankingIndex.putTierName(tier.getTierCode(), tier.getTierName());
 		return modelMapper.map(tier, TierDTO.class);
 	}
 
@@ -78,6 +83,7 @@ public class TierServiceImpl implements TierService {
 	public String deleteTier(String tierCode) {
 		try {
 			tierRepository.deleteById(tierCode);
+			employeeRankingIndex.removeTierName(tierCode);
 		} catch (Exception e) {
 			return "Failed to delete tier with code: " + tierCode;
 		}
@@ -90,6 +96,7 @@ public class TierServiceImpl implements TierService {
 			throw new DataNotFoundException("Tier not found with code: " + tierDTO.getTierCode());
 		}
 		var tier = tierRepository.save(modelMapper.map(tierDTO, Tier.class));
+		employeeRankingIndex.putTierName(tier.getTierCode(), tier.getTierName());
 		return modelMapper.map(tier, TierDTO.class);
 	}
 }
\ No newline at end of file
@@ -3,20 +3,27 @@ package com.ram.opsnow.util;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import com.ram.opsnow.logging.service.ApiCallHistoryPartitionManager;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Component
 @Slf4j
 public class CsvDataLoader implements CommandLineRunner {
 	private final CsvImportService csvImportService;
+	private final ApiCallHistoryPartitionManager apiCallHistoryPartitionManager;
 
-	public CsvDataLoader(CsvImportService csvImportService) {
+	public CsvDataLoader(CsvImportService csvImportService,
+			ApiCallHistoryPartitionManager apiCallHistoryPartitionManager) {
 		this.csvImportService = csvImportService;
+		this.apiCallHistoryPartitionManager = apiCallHistoryPartitionManager;
 	}
 
 	@Override
 	public void run(String... args) throws Exception {
-		csvImportService.deleteEmployeeTable();
+		if (csvImportService.isReplacing()) {
+			csvImportService.deleteEmployeeTable();
+		}
 		csvImportService.importDepartment("data/department.csv");
 		log.info("Department data imported");
 		csvImportService.importTier("data/tier.csv");
@@ -25,7 +32,7 @@ public class CsvDataLoader implements CommandLineRunner {
 		log.info("Location data imported");
 		csvImportService.importEmployee("data/employee.csv");
 		log.info("Employee data imported");
-		csvImportService.createLoggingTable();
+		apiCallHistoryPartitionManager.initialize();
 		log.info("Logging table created");
 	}
 }
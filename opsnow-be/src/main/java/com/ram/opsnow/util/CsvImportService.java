@@ -1,20 +1,25 @@
 package com.ram.opsnow.util;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
-import java.io.InputStreamReader;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import com.ram.opsnow.employee.service.EmployeeDepartmentSummaryService;
+import com.ram.opsnow.employee.service.EmployeeNumberAllocator;
+import com.ram.opsnow.util.csv.CsvImportMonitor;
+import com.ram.opsnow.util.csv.CsvImportResult;
+import com.ram.opsnow.util.csv.CsvRecord;
+import com.ram.opsnow.util.csv.CsvTableImport;
+import com.ram.opsnow.util.csv.StreamingCsvImporter;
 
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
@@ -22,55 +27,112 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Slf4j
 public class CsvImportService {
-	private final JdbcTemplate jdbcTemplate;
+	private static final List<String> EMPLOYEE_COLUMNS = List.of(
+			"employee_number", "employee_name", "tier_code", "location_code", "department_code",
+			"supervisor_code", "salary", "entry_date", "password", "email");
+	private static final List<String> LOCATION_COLUMNS = List.of("location_code", "location_name", "location_address");
+	private static final List<String> TIER_COLUMNS = List.of("tier_code", "tier_name");
+	private static final List<String> DEPARTMENT_COLUMNS = List.of("department_code", "department_name");
+	private static final List<String> EMPLOYEE_KEY = List.of("employee_number");
+	private static final List<String> LOCATION_KEY = List.of("location_code");
+	private static final List<String> TIER_KEY = List.of("tier_code");
+	private static final List<String> DEPARTMENT_KEY = List.of("department_code");
 
-	public CsvImportService(JdbcTemplate jdbcTemplate) {
+	private final JdbcTemplate jdbcTemplate;
+	private final EmployeeDepartmentSummaryService employeeDepartmentSummaryService;
+	private final EmployeeNumberAllocator employeeNumberAllocator;
+	private final StreamingCsvImporter streamingCsvImporter;
+	private final boolean incremental;
+	private final boolean resume;
+	private final boolean deleteMissing;
+
+	public CsvImportService(JdbcTemplate jdbcTemplate,
+			EmployeeDepartmentSummaryService employeeDepartmentSummaryService,
+			EmployeeNumberAllocator employeeNumberAllocator,
+			StreamingCsvImporter streamingCsvImporter,
+			@Value("${csv.import.strategy:sync}") String strategy,
+			@Value("${csv.import.resume:false}") boolean resume,
+			@Value("${csv.import.sync.delete-missing:false}") boolean deleteMissing) {
 		this.jdbcTemplate = jdbcTemplate;
+		this.employeeDepartmentSummaryService = employeeDepartmentSummaryService;
+		this.employeeNumberAllocator = employeeNumberAllocator;
+		this.streamingCsvImporter = streamingCsvImporter;
+		this.incremental = "sync".equalsIgnoreCase(strategy);
+		this.resume = resume && !incremental;
+		this.deleteMissing = deleteMissing;
 	}
 
-	@Transactional
-	public void importEmployee(String filePath) throws IOException {
+	/**
+	 * True when tables are dropped and reloaded from the first record. With
+	 * {@code csv.import.resume=true} a replace import instead continues an
+	 * interrupted run into the existing tables after the records its
+	 * checkpoints recorded; syncs are idempotent and always start from the
+	 * first record.
+	 */
+	public boolean isReplacing() {
+		return !incremental && !resume;
+	}
+
+	public CsvImportResult importEmployee(String filePath) throws IOException {
 		createEmployeeTable();
+		return afterEmployeeImport(load(employeeImport(), filePath));
+	}
+
+	/**
+	 * Upserts employees from {@code resource} whatever the configured
+	 * strategy, so the table is never dropped under running requests.
+	 */
+	public CsvImportResult syncEmployee(Resource resource, boolean deleteMissing, CsvImportMonitor monitor)
+			throws IOException {
+		createEmployeeTable();
+		try {
+			return afterEmployeeImport(
+					streamingCsvImporter.syncCsv(employeeImport(), resource, deleteMissing, monitor));
+		} catch (IOException | RuntimeException e) {
+			// batches committed before the failure are already in the table
+			employeeDepartmentSummaryService.rebuild();
+			employeeNumberAllocator.synchronize();
+			throw e;
+		}
+	}
+
+	private CsvTableImport employeeImport() {
+		return new CsvTableImport("employee", "employee", EMPLOYEE_COLUMNS, EMPLOYEE_KEY, (record, args) -> {
+			if (record.getFieldCount() < 10)
+				return false;
+
+			args[0] = record.getTrimmed(0);
+			args[1] = record.getTrimmed(1);
+			args[2] = record.getTrimmed(2);
+			args[3] = record.getTrimmed(3);
+			args[4] = record.getTrimmed(4);
+			args[5] = record.getTrimmed(5);
+			args[6] = parseBigDecimalOrNull(record, 6);
+			args[7] = parseTimestampOrNull(record, 7);
+			args[8] = record.getTrimmed(8);
+			args[9] = record.getTrimmed(9);
+			return true;
+		}, new EmployeeCsvValidator(jdbcTemplate, EMPLOYEE_COLUMNS));
+	}
 
-		String sql = "INSERT INTO employee (employee_number,employee_name,tier_code,location_code,department_code,supervisor_code,salary,entry_date,password,email) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-		try (BufferedReader br = new BufferedReader(
-				new InputStreamReader(new ClassPathResource(filePath).getInputStream()))) {
-			String line;
-			List<Object[]> batchArgs = new ArrayList<>();
-			boolean skipHeader = true;
-
-			while ((line = br.readLine()) != null) {
-				if (skipHeader) {
-					skipHeader = false;
-					continue;
-				}
-
-				String[] data = line.split(";", -1);
-				if (data.length < 10)
-					continue;
-
-				batchArgs.add(new Object[] {
-						emptyToNull(data[0]),
-						emptyToNull(data[1]),
-						emptyToNull(data[2]),
-						emptyToNull(data[3]),
-						emptyToNull(data[4]),
-						emptyToNull(data[5]),
-						parseBigDecimalOrNull(data[6]),
-						parseTimestampOrNull(data[7]),
-						emptyToNull(data[8]),
-						emptyToNull(data[9])
-				});
-			}
-
-			jdbcTemplate.batchUpdate(sql, batchArgs);
+	private CsvImportResult afterEmployeeImport(CsvImportResult result) {
+		if (!result.unchanged()) {
+			employeeDepartmentSummaryService.rebuild();
 		}
+		employeeNumberAllocator.synchronize();
+		return result;
+	}
+
+	private CsvImportResult load(CsvTableImport table, String filePath) throws IOException {
+		ClassPathResource resource = new ClassPathResource(filePath);
+		return incremental
+				? streamingCsvImporter.syncCsv(table, resource, deleteMissing)
+				: streamingCsvImporter.importCsv(table, resource, resume);
 	}
 
 	private void createEmployeeTable() {
 		String createTableSQL = """
-					CREATE TABLE employee (
+					CREATE TABLE IF NOT EXISTS employee (
 						employee_number varchar(50) PRIMARY KEY NOT NULL,
 						employee_name varchar(200) NOT NULL,
 						tier_code varchar(5) not null,
@@ -87,171 +149,139 @@ public class CsvImportService {
 					);
 				""";
 		jdbcTemplate.execute(createTableSQL);
+		jdbcTemplate.execute(
+				"CREATE INDEX IF NOT EXISTS idx_employee_department_number ON employee (department_code, employee_number)");
+		jdbcTemplate.execute(
+				"CREATE INDEX IF NOT EXISTS idx_employee_location_department ON employee (location_code, department_code)");
+		jdbcTemplate.execute(
+				"CREATE INDEX IF NOT EXISTS idx_employee_name_number ON employee (employee_name, employee_number)");
+		jdbcTemplate.execute(
+				"CREATE INDEX IF NOT EXISTS idx_employee_entry_date_number ON employee (entry_date, employee_number)");
 	}
 
-	@Transactional
-	public void importLocation(String filePath) throws IOException {
-		createLocationTable();
-
-		String sql = "INSERT INTO location (location_code, location_name,location_address) VALUES (?, ?, ?)";
-
-		try (BufferedReader br = new BufferedReader(
-				new InputStreamReader(new ClassPathResource(filePath).getInputStream()))) {
-			String line;
-			List<Object[]> batchArgs = new ArrayList<>();
-			boolean skipHeader = true;
-
-			while ((line = br.readLine()) != null) {
-				if (skipHeader) {
-					skipHeader = false;
-					continue;
-				}
-
-				String[] data = line.split(";", -1);
-				if (data.length < 3)
-					continue;
-
-				batchArgs.add(new Object[] {
-						emptyToNull(data[0]),
-						emptyToNull(data[1]),
-						emptyToNull(data[2])
-				});
-			}
-
-			jdbcTemplate.batchUpdate(sql, batchArgs);
-		}
+	public CsvImportResult importLocation(String filePath) throws IOException {
+		createLocationTable(isReplacing());
+		return load(locationImport(), filePath);
+	}
+
+	public CsvImportResult syncLocation(Resource resource, boolean deleteMissing, CsvImportMonitor monitor)
+			throws IOException {
+		createLocationTable(false);
+		return streamingCsvImporter.syncCsv(locationImport(), resource, deleteMissing, monitor);
 	}
 
-	private void createLocationTable() {
+	private CsvTableImport locationImport() {
+		return new CsvTableImport("location", "location", LOCATION_COLUMNS, LOCATION_KEY, (record, args) -> {
+			if (record.getFieldCount() < 3)
+				return false;
+
+			args[0] = record.getTrimmed(0);
+			args[1] = record.getTrimmed(1);
+			args[2] = record.getTrimmed(2);
+			return true;
+		});
+	}
+
+	private void createLocationTable(boolean replace) {
 		String createTableSQL = """
-						CREATE TABLE location (
+						CREATE TABLE IF NOT EXISTS location (
 						    location_code varchar(5) PRIMARY KEY NOT NULL,
 						    location_name varchar(200) NOT NULL,
 						    location_address varchar(300) NOT NULL
 						);
 				""";
-		jdbcTemplate.execute("DROP TABLE IF EXISTS location");
+		if (replace) {
+			jdbcTemplate.execute("DROP TABLE IF EXISTS location");
+		}
 		jdbcTemplate.execute(createTableSQL);
 	}
 
-	@Transactional
-	public void importTier(String filePath) throws IOException {
-		createTierTable();
-
-		String sql = "INSERT INTO tier (tier_code, tier_name) VALUES (?, ?)";
-
-		try (BufferedReader br = new BufferedReader(
-				new InputStreamReader(new ClassPathResource(filePath).getInputStream()))) {
-			String line;
-			List<Object[]> batchArgs = new ArrayList<>();
-			boolean skipHeader = true;
-
-			while ((line = br.readLine()) != null) {
-				if (skipHeader) {
-					skipHeader = false;
-					continue;
-				}
-
-				String[] data = line.split(";", -1);
-				if (data.length < 2)
-					continue;
-
-				batchArgs.add(new Object[] {
-						emptyToNull(data[0]),
-						emptyToNull(data[1])
-				});
-			}
-
-			jdbcTemplate.batchUpdate(sql, batchArgs);
-		}
+	public CsvImportResult importTier(String filePath) throws IOException {
+		createTierTable(isReplacing());
+		return load(tierImport(), filePath);
 	}
 
-	private void createTierTable() {
+	public CsvImportResult syncTier(Resource resource, boolean deleteMissing, CsvImportMonitor monitor)
+			throws IOException {
+		createTierTable(false);
+		return streamingCsvImporter.syncCsv(tierImport(), resource, deleteMissing, monitor);
+	}
+
+	private CsvTableImport tierImport() {
+		return new CsvTableImport("tier", "tier", TIER_COLUMNS, TIER_KEY, (record, args) -> {
+			if (record.getFieldCount() < 2)
+				return false;
+
+			args[0] = record.getTrimmed(0);
+			args[1] = record.getTrimmed(1);
+			return true;
+		});
+	}
+
+	private void createTierTable(boolean replace) {
 		String createTableSQL = """
-						CREATE TABLE tier (
+						CREATE TABLE IF NOT EXISTS tier (
 							tier_code varchar(5) PRIMARY KEY NOT NULL,
 							tier_name varchar(200) NOT NULL
 						);
 				""";
-		jdbcTemplate.execute("DROP TABLE IF EXISTS tier");
+		if (replace) {
+			jdbcTemplate.execute("DROP TABLE IF EXISTS tier");
+		}
 		jdbcTemplate.execute(createTableSQL);
 	}
 
-	@Transactional
-	public void importDepartment(String filePath) throws IOException {
-		createDepartmentTable();
-
-		String sql = "INSERT INTO department (department_code, department_name) VALUES (?, ?)";
-
-		try (BufferedReader br = new BufferedReader(
-				new InputStreamReader(new ClassPathResource(filePath).getInputStream()))) {
-			String line;
-			List<Object[]> batchArgs = new ArrayList<>();
-			boolean skipHeader = true;
-
-			while ((line = br.readLine()) != null) {
-				if (skipHeader) {
-					skipHeader = false;
-					continue;
-				}
-
-				String[] data = line.split(";", -1);
-				if (data.length < 2)
-					continue;
-
-				batchArgs.add(new Object[] {
-						emptyToNull(data[0]),
-						emptyToNull(data[1])
-				});
-			}
-
-			jdbcTemplate.batchUpdate(sql, batchArgs);
-		}
+	public CsvImportResult importDepartment(String filePath) throws IOException {
+		createDepartmentTable(isReplacing());
+		return load(departmentImport(), filePath);
+	}
+
+	public CsvImportResult syncDepartment(Resource resource, boolean deleteMissing, CsvImportMonitor monitor)
+			throws IOException {
+		createDepartmentTable(false);
+		return streamingCsvImporter.syncCsv(departmentImport(), resource, deleteMissing, monitor);
+	}
+
+	private CsvTableImport departmentImport() {
+		return new CsvTableImport("department", "department", DEPARTMENT_COLUMNS, DEPARTMENT_KEY, (record, args) -> {
+			if (record.getFieldCount() < 2)
+				return false;
+
+			args[0] = record.getTrimmed(0);
+			args[1] = record.getTrimmed(1);
+			return true;
+		});
 	}
 
-	private void createDepartmentTable() {
+	private void createDepartmentTable(boolean replace) {
 		String createTableSQL = """
-						CREATE TABLE department (
+						CREATE TABLE IF NOT EXISTS department (
 							department_code varchar(5) PRIMARY KEY NOT NULL,
 							department_name varchar(200) NOT NULL
 						);
 				""";
-		jdbcTemplate.execute("DROP TABLE IF EXISTS department");
+		if (replace) {
+			jdbcTemplate.execute("DROP TABLE IF EXISTS department");
+		}
 		jdbcTemplate.execute(createTableSQL);
 	}
 
-	private String emptyToNull(String value) {
-		return (value == null || value.trim().isEmpty()) ? null : value.trim();
-	}
-
-	private BigDecimal parseBigDecimalOrNull(String value) {
+	private BigDecimal parseBigDecimalOrNull(CsvRecord record, int index) {
 		try {
-			return (value == null || value.trim().isEmpty()) ? null : new BigDecimal(value.trim());
+			return record.getDecimal(index);
 		} catch (NumberFormatException e) {
 			return null;
 		}
 	}
 
-	private LocalDateTime parseTimestampOrNull(String value) {
-		if (value == null || value.trim().isEmpty()) {
+	private LocalDateTime parseTimestampOrNull(CsvRecord record, int index) {
+		try {
+			LocalDate date = record.getDate(index);
+			return date == null ? null : date.atStartOfDay();
+		} catch (DateTimeException e) {
+			log.error("⚠️ Unrecognized timestamp format: " + record.getTrimmed(index));
 			return null;
 		}
-
-		String v = value.trim();
-		List<DateTimeFormatter> formatters = List.of(
-				DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-
-		for (DateTimeFormatter formatter : formatters) {
-			try {
-				LocalDate localDate = LocalDate.parse(v, formatter);
-				return localDate.atStartOfDay();
-			} catch (DateTimeParseException e) {
-				log.error(e.getMessage());
-			}
-		}
-
-		log.error("⚠️ Unrecognized timestamp format: " + v);
-		return null;
 	}
 
 	@Transactional
@@ -259,25 +289,4 @@ public class CsvImportService {
 		String dropTableSQL = "DROP TABLE IF EXISTS employee";
 		jdbcTemplate.execute(dropTableSQL);
 	}
-
-	@Transactional
-	public void createLoggingTable() {
-		String createTableSQL = """
-				CREATE TABLE IF NOT EXISTS api_call_history (
-				    id VARCHAR(36) PRIMARY KEY,
-				    timestamp TIMESTAMP NOT NULL,
-				    api_endpoint VARCHAR(500) NOT NULL,
-				    http_method VARCHAR(10) NOT NULL,
-				    user_identifier VARCHAR(100),
-				    response_status INTEGER NOT NULL,
-				    request_duration_ms BIGINT,
-				    client_ip VARCHAR(45),
-				    user_agent VARCHAR(1000),
-				    request_body TEXT,
-				    response_body TEXT,
-				    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-				);
-								""";
-		jdbcTemplate.execute(createTableSQL);
-	}
 }
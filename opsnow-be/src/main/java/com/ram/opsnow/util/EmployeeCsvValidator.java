@@ -0,0 +1,81 @@
+package com.ram.opsnow.util;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ram.opsnow.util.csv.CsvRowValidator;
+import com.ram.opsnow.util.csv.LongHashSet;
+
+/**
+ * Checks employee rows before they are written, so a bad row is rejected on
+ * its own instead of failing the batch it was sent in.
+ * <p>
+ * Tier, location and department codes are looked up in key sets read once
+ * when the import starts. Employee numbers and emails already seen in the
+ * file are kept as 64-bit fingerprints in {@link LongHashSet}s, 11 to 21
+ * bytes per row each, so a few million rows need tens of megabytes. The
+ * first occurrence of a duplicate wins. Two different values sharing a
+ * fingerprint would wrongly reject the second as a duplicate, which at 64
+ * bits is negligible for files of this size.
+ */
+class EmployeeCsvValidator implements CsvRowValidator {
+
+	private static final List<String> REQUIRED = List.of(
+			"employee_number", "employee_name", "tier_code", "location_code", "department_code", "password",
+			"email");
+
+	private final Set<String> tierCodes;
+	private final Set<String> locationCodes;
+	private final Set<String> departmentCodes;
+	private final int[] required;
+	private final int employeeNumber;
+	private final int tierCode;
+	private final int locationCode;
+	private final int departmentCode;
+	private final int email;
+	private final LongHashSet employeeNumbers = new LongHashSet();
+	private final LongHashSet emails = new LongHashSet();
+
+	EmployeeCsvValidator(JdbcTemplate jdbcTemplate, List<String> columns) {
+		this.tierCodes = Set.copyOf(jdbcTemplate.queryForList("SELECT tier_code FROM tier", String.class));
+		this.locationCodes = Set.copyOf(
+				jdbcTemplate.queryForList("SELECT location_code FROM location", String.class));
+		this.departmentCodes = Set.copyOf(
+				jdbcTemplate.queryForList("SELECT department_code FROM department", String.class));
+		this.required = REQUIRED.stream().mapToInt(columns::indexOf).toArray();
+		this.employeeNumber = columns.indexOf("employee_number");
+		this.tierCode = columns.indexOf("tier_code");
+		this.locationCode = columns.indexOf("location_code");
+		this.departmentCode = columns.indexOf("department_code");
+		this.email = columns.indexOf("email");
+	}
+
+	@Override
+	public String validate(Object[] row) {
+		for (int i = 0; i < required.length; i++) {
+			if (row[required[i]] == null) {
+				return "Missing " + REQUIRED.get(i);
+			}
+		}
+		if (!tierCodes.contains(row[tierCode])) {
+			return "Unknown tier_code '" + row[tierCode] + "'";
+		}
+		if (!locationCodes.contains(row[locationCode])) {
+			return "Unknown location_code '" + row[locationCode] + "'";
+		}
+		if (!departmentCodes.contains(row[departmentCode])) {
+			return "Unknown department_code '" + row[departmentCode] + "'";
+		}
+		long numberKey = LongHashSet.fingerprint((String) row[employeeNumber]);
+		if (employeeNumbers.contains(numberKey)) {
+			return "Duplicate employee_number '" + row[employeeNumber] + "'";
+		}
+		if (!emails.add(LongHashSet.fingerprint((String) row[email]))) {
+			return "Duplicate email '" + row[email] + "'";
+		}
+		employeeNumbers.add(numberKey);
+		return null;
+	}
+}
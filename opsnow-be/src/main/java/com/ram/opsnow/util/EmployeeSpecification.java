@@ -1,10 +1,25 @@
 package com.ram.opsnow.util;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+
 import org.springframework.data.jpa.domain.Specification;
 
 import com.ram.opsnow.employee.entity.Employee;
+import com.ram.opsnow.exception.InvalidDataException;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 
 public class EmployeeSpecification {
+    // columns keyset pagination may sort by, with how to read the cursor value from the last row
+    private static final Map<String, Function<Employee, Object>> KEYSET_SORT_KEYS = Map.of(
+            "employeeNumber", Employee::getEmployeeNumber,
+            "employeeName", Employee::getEmployeeName,
+            "entryDate", Employee::getEntryDate);
+
     private EmployeeSpecification() {
     }
 
@@ -25,4 +40,87 @@ public class EmployeeSpecification {
                 : criteriaBuilder.like(criteriaBuilder.lower(root.get("employeeEmail")),
                         "%" + employeeEmail.toLowerCase() + "%");
     }
+
+    /**
+     * Seek predicate for keyset pagination ordered by (sortBy ASC NULLS LAST,
+     * employeeNumber ASC): matches rows strictly after the cursor position.
+     * <p>
+     * For a non-null cursor value this is {@code sortBy >= value AND (sortBy >
+     * value OR employeeNumber > lastKey)}, a range the (sortBy,
+     * employeeNumber) index can seek into. Rows with a null sortBy sort after
+     * it and are not matched; read them with {@link #hasNullSortKey(String)}
+     * once this runs out.
+     */
+    public static Specification<Employee> isAfterCursor(KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return null;
+            }
+            Path<String> employeeNumber = root.get("employeeNumber");
+            Predicate afterKey = criteriaBuilder.greaterThan(employeeNumber, cursor.lastKey());
+            if ("employeeNumber".equals(cursor.sortBy())) {
+                return afterKey;
+            }
+
+            Path<Object> sortKey = root.get(cursor.sortBy());
+            if (cursor.lastValue() == null) {
+                return criteriaBuilder.and(criteriaBuilder.isNull(sortKey), afterKey);
+            }
+
+            Comparable<?> lastValue = toSortValue(sortKey.getJavaType(), cursor.lastValue());
+            return criteriaBuilder.and(
+                    greaterThanOrEqualTo(criteriaBuilder, sortKey, lastValue),
+                    criteriaBuilder.or(
+                            greaterThan(criteriaBuilder, sortKey, lastValue),
+                            afterKey));
+        };
+    }
+
+    public static Specification<Employee> hasNullSortKey(String sortBy) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isNull(root.get(sortBy));
+    }
+
+    /**
+     * Whether {@link #isAfterCursor(KeysetCursor)} leaves out rows with a null
+     * sort key, i.e. the cursor is still in the non-null part of the order.
+     */
+    public static boolean skipsNullSortKeys(KeysetCursor cursor) {
+        return cursor != null && cursor.lastValue() != null && !"employeeNumber".equals(cursor.sortBy());
+    }
+
+    public static void requireKeysetSortable(String sortBy) {
+        if (!KEYSET_SORT_KEYS.containsKey(sortBy)) {
+            throw new InvalidDataException("Keyset pagination can only sort by "
+                    + String.join(", ", KEYSET_SORT_KEYS.keySet().stream().sorted().toList()) + ".");
+        }
+    }
+
+    /**
+     * The cursor value of {@code sortBy} for the last row of a slice;
+     * {@code sortBy} must have passed {@link #requireKeysetSortable(String)}.
+     */
+    public static String toCursorValue(Employee employee, String sortBy) {
+        Object value = KEYSET_SORT_KEYS.get(sortBy).apply(employee);
+        return value == null ? null : value.toString();
+    }
+
+    private static Comparable<?> toSortValue(Class<?> type, String value) {
+        if (type == String.class) {
+            return value;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        throw new InvalidDataException("Keyset pagination is not supported for type: " + type.getSimpleName());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate greaterThanOrEqualTo(CriteriaBuilder criteriaBuilder, Path path, Comparable value) {
+        return criteriaBuilder.greaterThanOrEqualTo(path, value);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate greaterThan(CriteriaBuilder criteriaBuilder, Path path, Comparable value) {
+        return criteriaBuilder.greaterThan(path, value);
+    }
 }
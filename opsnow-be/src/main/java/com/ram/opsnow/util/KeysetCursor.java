@@ -0,0 +1,45 @@
+package com.ram.opsnow.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.ram.opsnow.exception.InvalidDataException;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort property, the
+ * last row's value for it and the last row's primary key as a tiebreaker.
+ */
+public record KeysetCursor(String sortBy, String lastValue, String lastKey) {
+
+    private static final String NULL_MARKER = "!";
+
+    public String encode() {
+        return encodePart(sortBy) + "." + encodePart(lastValue) + "." + encodePart(lastKey);
+    }
+
+    public static KeysetCursor decode(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new InvalidDataException("Invalid pagination cursor.");
+        }
+        try {
+            return new KeysetCursor(decodePart(parts[0]), decodePart(parts[1]), decodePart(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Invalid pagination cursor.");
+        }
+    }
+
+    private static String encodePart(String value) {
+        if (value == null) {
+            return NULL_MARKER;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String part) {
+        if (NULL_MARKER.equals(part)) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+    }
+}
@@ -13,4 +13,14 @@ public class PaginationResponse<T> {
     private int pageSize;
     private long totalElements;
     private int totalPages;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public PaginationResponse(List<T> data, int pageNumber, int pageSize, long totalElements, int totalPages) {
+        this(data, pageNumber, pageSize, totalElements, totalPages, null, pageNumber + 1 < totalPages);
+    }
+
+    public static <T> PaginationResponse<T> ofSlice(List<T> data, int pageSize, String nextCursor) {
+        return new PaginationResponse<>(data, 0, pageSize, -1, -1, nextCursor, nextCursor != null);
+    }
 }
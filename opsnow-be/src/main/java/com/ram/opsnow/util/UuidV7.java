@@ -0,0 +1,38 @@
+package com.ram.opsnow.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID version 7 (RFC 9562) generator.
+ * <p>
+ * The first 48 bits are Unix epoch milliseconds, followed by a 12-bit counter
+ * that keeps ids strictly increasing within a node even when several are
+ * created in the same millisecond (a full counter borrows the next
+ * millisecond). The remaining 62 bits are random, salted per JVM so nodes
+ * whose thread-local random generators happen to share a seed still differ.
+ */
+public final class UuidV7 {
+
+    private static final long NODE_SALT = new SecureRandom().nextLong();
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.updateAndGet(last -> Math.max(last + 1, now));
+
+        long mostSignificant = ((stamp >>> 12) << 16) | 0x7000L | (stamp & 0xFFFL);
+        long random = ThreadLocalRandom.current().nextLong() ^ NODE_SALT;
+        long leastSignificant = (random & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,380 @@
+package com.ram.opsnow.util.csv;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Tokenizer that scans UTF-8 bytes directly, either from a memory-mapped file
+ * or from a byte buffer already in memory, with the same quoting rules as
+ * {@link CsvTokenizer}.
+ * <p>
+ * Fields are kept as offsets into the buffer. Only fields containing doubled
+ * quotes, or text after a closing quote, are copied into a scratch array. A
+ * String is built only when a text field is read, and decimals and dates are
+ * parsed from the bytes. Files are mapped in windows of up to 256 MB; when a
+ * record crosses the end of a window, the next window is mapped from the
+ * start of that record.
+ */
+public class ByteCsvTokenizer implements CsvRecordReader {
+
+    private static final int WINDOW_BYTES = 256 * 1024 * 1024;
+    private static final int FOUND = 1;
+    private static final int END = 0;
+    private static final int REMAP = -1;
+
+    private final FileChannel channel;
+    private final long size;
+    private final byte delimiter;
+    private final int windowBytes;
+
+    private ByteBuffer buffer;
+    private long windowStart;
+    private int position;
+    private boolean started;
+
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] fieldCopied = new boolean[16];
+    private int fieldCount;
+    private byte[] scratch = new byte[256];
+    private int scratchLength;
+
+    private byte[] bytes = new byte[256];
+    private char[] chars = new char[64];
+    private int trimmedStart;
+    private int trimmedEnd;
+
+    private long recordNumber;
+    private long lineBreaks;
+    private long recordLine;
+
+    // current field while scanning: [segmentStart, segmentEnd) in the buffer until it has to be copied
+    private int segmentStart;
+    private int segmentEnd;
+    private boolean copying;
+    private int copyStart;
+
+    public ByteCsvTokenizer(ByteBuffer buffer, char delimiter) {
+        this(null, buffer.remaining(), buffer.slice(), delimiter, WINDOW_BYTES);
+    }
+
+    private ByteCsvTokenizer(FileChannel channel, long size, ByteBuffer buffer, char delimiter, int windowBytes) {
+        this.channel = channel;
+        this.size = size;
+        this.buffer = buffer;
+        this.delimiter = (byte) delimiter;
+        this.windowBytes = windowBytes;
+    }
+
+    public static ByteCsvTokenizer open(Path path, char delimiter) throws IOException {
+        return open(path, delimiter, WINDOW_BYTES);
+    }
+
+    /**
+     * Maps the file in windows of {@code windowBytes}; tests use small
+     * windows to have records cross window boundaries.
+     */
+    static ByteCsvTokenizer open(Path path, char delimiter, int windowBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer first = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, windowBytes));
+            return new ByteCsvTokenizer(channel, size, first, delimiter, windowBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (!started) {
+            started = true;
+            if (buffer.limit() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+                    && buffer.get(2) == (byte) 0xBF) {
+                position = 3;
+            }
+        }
+        while (true) {
+            int result = scanRecord();
+            if (result != REMAP) {
+                return result == FOUND;
+            }
+            remap();
+        }
+    }
+
+    private int scanRecord() {
+        int limit = buffer.limit();
+        if (position == limit) {
+            return hasMoreWindows() ? REMAP : END;
+        }
+        int recordStart = position;
+        long breaksAtStart = lineBreaks;
+        fieldCount = 0;
+        scratchLength = 0;
+        startField(position);
+
+        int p = position;
+        boolean quoted = false;
+        boolean atFieldStart = true;
+        while (true) {
+            if (p == limit) {
+                if (hasMoreWindows()) {
+                    return restart(recordStart, breaksAtStart);
+                }
+                endField();
+                break;
+            }
+            byte b = buffer.get(p);
+            if (quoted) {
+                if (b == '"') {
+                    if (p + 1 == limit && hasMoreWindows()) {
+                        return restart(recordStart, breaksAtStart);
+                    }
+                    if (p + 1 < limit && buffer.get(p + 1) == '"') {
+                        append(p);
+                        p += 2;
+                    } else {
+                        quoted = false;
+                        p++;
+                    }
+                    continue;
+                }
+                if (b == '\r' || (b == '\n' && (p == recordStart || buffer.get(p - 1) != '\r'))) {
+                    lineBreaks++;
+                }
+                append(p++);
+                continue;
+            }
+            if (b == '"' && atFieldStart) {
+                quoted = true;
+                atFieldStart = false;
+                startField(p + 1);
+                p++;
+            } else if (b == delimiter) {
+                endField();
+                p++;
+                startField(p);
+                atFieldStart = true;
+            } else if (b == '\n') {
+                lineBreaks++;
+                endField();
+                p++;
+                break;
+            } else if (b == '\r') {
+                if (p + 1 == limit && hasMoreWindows()) {
+                    return restart(recordStart, breaksAtStart);
+                }
+                lineBreaks++;
+                endField();
+                p += p + 1 < limit && buffer.get(p + 1) == '\n' ? 2 : 1;
+                break;
+            } else {
+                append(p++);
+                atFieldStart = false;
+            }
+        }
+        position = p;
+        recordLine = breaksAtStart + 1;
+        recordNumber++;
+        return FOUND;
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public long getBytePosition() {
+        return windowStart + position;
+    }
+
+    @Override
+    public long getLineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    @Override
+    public boolean isBlankRecord() {
+        return fieldCount == 1 && fieldEnds[0] == fieldStarts[0];
+    }
+
+    @Override
+    public String get(int index) {
+        return decode(fieldStarts[index], fieldEnds[index], fieldCopied[index]);
+    }
+
+    @Override
+    public String getTrimmed(int index) {
+        return trim(index) ? decode(trimmedStart, trimmedEnd, fieldCopied[index]) : null;
+    }
+
+    @Override
+    public BigDecimal getDecimal(int index) {
+        if (!trim(index)) {
+            return null;
+        }
+        int length = toAsciiChars(index);
+        if (length < 0) {
+            throw new NumberFormatException("Not a decimal: '" + getTrimmed(index) + "'");
+        }
+        return CsvFieldParser.parseDecimal(chars, 0, length);
+    }
+
+    @Override
+    public LocalDate getDate(int index) {
+        if (!trim(index)) {
+            return null;
+        }
+        int length = toAsciiChars(index);
+        if (length < 0) {
+            throw new DateTimeException("Unparseable date '" + getTrimmed(index) + "'");
+        }
+        return CsvFieldParser.parseDate(chars, 0, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private boolean hasMoreWindows() {
+        return channel != null && windowStart + buffer.limit() < size;
+    }
+
+    private int restart(int recordStart, long breaksAtStart) {
+        position = recordStart;
+        lineBreaks = breaksAtStart;
+        return REMAP;
+    }
+
+    private void remap() throws IOException {
+        if (position == 0 && buffer.limit() == windowBytes) {
+            throw new IOException("CSV record at line " + (lineBreaks + 1) + " is larger than "
+                    + windowBytes + " bytes");
+        }
+        windowStart += position;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(size - windowStart, windowBytes));
+        position = 0;
+    }
+
+    private void startField(int start) {
+        segmentStart = start;
+        segmentEnd = start;
+        copying = false;
+    }
+
+    /**
+     * Adds the byte at {@code p} to the current field. The field stays a
+     * buffer range while its bytes are contiguous and is copied to the
+     * scratch array from the first gap on.
+     */
+    private void append(int p) {
+        if (!copying) {
+            if (segmentEnd == p) {
+                segmentEnd++;
+                return;
+            }
+            copying = true;
+            copyStart = scratchLength;
+            int length = segmentEnd - segmentStart;
+            ensureScratch(length);
+            buffer.get(segmentStart, scratch, scratchLength, length);
+            scratchLength += length;
+        }
+        ensureScratch(1);
+        scratch[scratchLength++] = buffer.get(p);
+    }
+
+    private void endField() {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+            fieldCopied = Arrays.copyOf(fieldCopied, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = copying ? copyStart : segmentStart;
+        fieldEnds[fieldCount] = copying ? scratchLength : segmentEnd;
+        fieldCopied[fieldCount] = copying;
+        fieldCount++;
+    }
+
+    private void ensureScratch(int extra) {
+        if (scratchLength + extra > scratch.length) {
+            scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + extra));
+        }
+    }
+
+    private byte byteAt(int offset, boolean copied) {
+        return copied ? scratch[offset] : buffer.get(offset);
+    }
+
+    private boolean trim(int index) {
+        if (index >= fieldCount) {
+            return false;
+        }
+        boolean copied = fieldCopied[index];
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        while (start < end && isWhitespace(byteAt(start, copied))) {
+            start++;
+        }
+        while (end > start && isWhitespace(byteAt(end - 1, copied))) {
+            end--;
+        }
+        trimmedStart = start;
+        trimmedEnd = end;
+        return start < end;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+    }
+
+    private String decode(int start, int end, boolean copied) {
+        int length = end - start;
+        if (copied) {
+            return new String(scratch, start, length, StandardCharsets.UTF_8);
+        }
+        if (length > bytes.length) {
+            bytes = new byte[Math.max(bytes.length * 2, length)];
+        }
+        buffer.get(start, bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the trimmed range of a field into {@link #chars}. Returns the
+     * length, or -1 when the field is not plain ASCII.
+     */
+    private int toAsciiChars(int index) {
+        boolean copied = fieldCopied[index];
+        int length = trimmedEnd - trimmedStart;
+        if (length > chars.length) {
+            chars = new char[Math.max(chars.length * 2, length)];
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = byteAt(trimmedStart + i, copied);
+            if (b < 0) {
+                return -1;
+            }
+            chars[i] = (char) b;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ram.opsnow.util.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits a delimited file into byte chunks of roughly {@code chunkBytes} that
+ * always end on a record boundary, so each chunk can be tokenized on its own.
+ * <p>
+ * Boundaries are found with the same quoting rules as {@link CsvTokenizer}:
+ * a line break inside a quoted field does not end the record. Each chunk
+ * carries the line its first record starts on, counted the way the tokenizer
+ * counts lines.
+ */
+class CsvChunkReader {
+
+    record Chunk(long sequence, long firstLine, byte[] data) {
+    }
+
+    private final InputStream in;
+    private final byte delimiter;
+    private final int chunkBytes;
+
+    private byte[] buffer;
+    private int start;
+    private int boundary;
+    private int scanned;
+    private int length;
+    private boolean eof;
+    private long sequence;
+
+    private long startLine = 1;
+    private long boundaryLine = 1;
+    private long currentLine = 1;
+    private long toSkip;
+
+    private boolean quoted;
+    private boolean closedQuote;
+    private boolean atFieldStart = true;
+    private boolean pendingCr;
+    private boolean crInQuotes;
+
+    CsvChunkReader(InputStream in, char delimiter, int chunkBytes) {
+        this.in = in;
+        this.delimiter = (byte) delimiter;
+        this.chunkBytes = chunkBytes;
+        this.buffer = new byte[Math.max(chunkBytes * 2, 8192)];
+    }
+
+    /**
+     * Drops the next {@code records} records, e.g. the header and anything a
+     * previous run already committed.
+     */
+    void skip(long records) {
+        toSkip += records;
+    }
+
+    /**
+     * Returns the next chunk of whole records, or null at end of input.
+     */
+    Chunk next() throws IOException {
+        while (true) {
+            if (boundary > start && (boundary - start >= chunkBytes || eof)) {
+                return take(boundary, boundaryLine);
+            }
+            if (eof) {
+                if (start == length) {
+                    return null;
+                }
+                // a last record without a line break
+                if (toSkip > 0) {
+                    toSkip--;
+                    start = length;
+                    return null;
+                }
+                return take(length, currentLine);
+            }
+            fill();
+            scan();
+            if (eof && pendingCr) {
+                pendingCr = false;
+                endRecord(length);
+            }
+        }
+    }
+
+    private Chunk take(int end, long nextLine) {
+        Chunk chunk = new Chunk(sequence++, startLine, Arrays.copyOfRange(buffer, start, end));
+        start = end;
+        startLine = nextLine;
+        return chunk;
+    }
+
+    private void fill() throws IOException {
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, length - start);
+            length -= start;
+            scanned -= start;
+            boundary -= start;
+            start = 0;
+        }
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = in.read(buffer, length, buffer.length - length);
+        if (read < 0) {
+            eof = true;
+        } else {
+            length += read;
+        }
+    }
+
+    private void scan() {
+        for (; scanned < length; scanned++) {
+            byte b = buffer[scanned];
+            if (pendingCr) {
+                pendingCr = false;
+                if (b == '\n') {
+                    endRecord(scanned + 1);
+                    continue;
+                }
+                endRecord(scanned);
+            }
+            if (quoted) {
+                if (b == '"') {
+                    quoted = false;
+                    closedQuote = true;
+                } else if (b == '\r' || (b == '\n' && !crInQuotes)) {
+                    currentLine++;
+                }
+                crInQuotes = b == '\r';
+                continue;
+            }
+            if (b == '"' && (atFieldStart || closedQuote)) {
+                // opening quote, or the second half of an escaped quote
+                quoted = true;
+                atFieldStart = false;
+                closedQuote = false;
+                continue;
+            }
+            closedQuote = false;
+            if (b == delimiter) {
+                atFieldStart = true;
+            } else if (b == '\n') {
+                currentLine++;
+                endRecord(scanned + 1);
+            } else if (b == '\r') {
+                currentLine++;
+                pendingCr = true;
+            } else {
+                atFieldStart = false;
+            }
+        }
+    }
+
+    private void endRecord(int end) {
+        atFieldStart = true;
+        boundary = end;
+        boundaryLine = currentLine;
+        if (toSkip > 0) {
+            toSkip--;
+            start = end;
+            startLine = currentLine;
+        }
+    }
+}
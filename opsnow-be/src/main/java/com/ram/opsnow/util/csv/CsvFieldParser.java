@@ -0,0 +1,44 @@
+package com.ram.opsnow.util.csv;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Field parsers shared by the tokenizers. They work on a char range so
+ * neither tokenizer has to build a String for numeric or date fields.
+ */
+final class CsvFieldParser {
+
+    private CsvFieldParser() {
+    }
+
+    static BigDecimal parseDecimal(char[] chars, int offset, int length) {
+        return new BigDecimal(chars, offset, length);
+    }
+
+    static LocalDate parseDate(char[] chars, int offset, int length) {
+        if (length != 10 || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            throw new DateTimeException("Unparseable date '" + new String(chars, offset, length) + "'");
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            throw new DateTimeException("Unparseable date '" + new String(chars, offset, length) + "'");
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ram.opsnow.util.csv;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live view of one import for other threads. The importer publishes its
+ * counters as it goes, appends rejected records as they are reported, and
+ * checks the cancel flag between records; a cancelled import rolls back its
+ * open transaction and stops with a {@link CancellationException}.
+ */
+public class CsvImportMonitor {
+
+	private final AtomicLong rowsParsed = new AtomicLong();
+	private final List<CsvRowError> errors = new CopyOnWriteArrayList<>();
+	private volatile long bytesTotal = -1;
+	private volatile long bytesDone;
+	private volatile long rowsWritten;
+	private volatile long rowsSkipped;
+	private volatile long rowsRejected;
+	private volatile String rejectFile;
+	private volatile boolean cancelled;
+
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Size of the source in bytes, or -1 when unknown.
+	 */
+	public long getBytesTotal() {
+		return bytesTotal;
+	}
+
+	/**
+	 * Bytes of the source covered by committed rows, or -1 when the reader
+	 * cannot tell.
+	 */
+	public long getBytesDone() {
+		return bytesDone;
+	}
+
+	public long getRowsParsed() {
+		return rowsParsed.get();
+	}
+
+	public long getRowsWritten() {
+		return rowsWritten;
+	}
+
+	public long getRowsSkipped() {
+		return rowsSkipped;
+	}
+
+	public long getRowsRejected() {
+		return rowsRejected;
+	}
+
+	/**
+	 * Rejected records reported so far, in line order, up to
+	 * {@code csv.import.max-reported-errors}.
+	 */
+	public List<CsvRowError> getErrors() {
+		return List.copyOf(errors);
+	}
+
+	/**
+	 * Path of the file rejected records are written to, or null until the
+	 * first one is rejected.
+	 */
+	public String getRejectFile() {
+		return rejectFile;
+	}
+
+	void checkCancelled(String name) {
+		if (cancelled) {
+			throw new CancellationException("CSV import of " + name + " was cancelled");
+		}
+	}
+
+	void started(long bytesTotal) {
+		this.bytesTotal = bytesTotal;
+	}
+
+	void parsed(long records) {
+		rowsParsed.addAndGet(records);
+	}
+
+	void rejected(CsvRowError error) {
+		errors.add(error);
+	}
+
+	void rejectFile(String rejectFile) {
+		this.rejectFile = rejectFile;
+	}
+
+	void committed(long bytesDone, long parsed, long written, long skipped, long rejected) {
+		this.bytesDone = bytesDone;
+		// parser threads may already be ahead of the committed rows
+		rowsParsed.accumulateAndGet(parsed, Math::max);
+		this.rowsWritten = written;
+		this.rowsSkipped = skipped;
+		this.rowsRejected = rejected;
+	}
+}
@@ -0,0 +1,337 @@
+package com.ram.opsnow.util.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ram.opsnow.util.csv.CsvChunkReader.Chunk;
+
+/**
+ * Runs one import as three stages connected by bounded queues:
+ * <ol>
+ * <li>a reader cuts the file into byte chunks on record boundaries,</li>
+ * <li>parser threads tokenize each chunk's bytes in place and map them into
+ * typed rows, which the table's validator then checks chunk by chunk in file
+ * order,</li>
+ * <li>writer threads insert each chunk in its own transaction, so each
+ * writer works on its own pooled connection.</li>
+ * </ol>
+ * Parsed chunks are handed to writers in file order and writers commit in
+ * file order: a writer inserts as soon as it has a chunk but waits for the
+ * previous chunk's commit before writing the checkpoint and committing. The
+ * checkpoint therefore always covers a contiguous prefix of the file, and
+ * rejected records are reported in line order. A chunk sharing a key with an
+ * earlier chunk that is still in flight is only written once that chunk has
+ * committed, so a writer never blocks on a row lock held by a transaction
+ * that is itself waiting for its turn, and the later row wins as it would in
+ * a sequential import. A semaphore bounds the number
+ * of chunks in flight, so a slow database pushes back on the reader.
+ * Every stage checks the import's cancel flag once per chunk.
+ */
+class CsvImportPipeline {
+
+	private static final Chunk END = new Chunk(-1, 0, new byte[0]);
+
+	private final CsvTableImport table;
+	private final char delimiter;
+	private final int chunkBytes;
+	private final int parsers;
+	private final int writers;
+	private final TransactionTemplate transactionTemplate;
+	private final Consumer<List<Object[]>> rowWriter;
+	private final LongConsumer checkpointWriter;
+	private final CsvImportProgress progress;
+
+	private final BlockingQueue<Chunk> chunks;
+	private final Semaphore inFlight;
+
+	// guarded by this
+	private final Map<Long, ParsedChunk> parsed = new HashMap<>();
+	private final Map<String, Long> keysInFlight = new HashMap<>();
+	private long nextToWrite;
+	private long nextToCommit;
+	private long totalChunks = -1;
+	private long committedBytes;
+
+	CsvImportPipeline(CsvTableImport table, char delimiter, int chunkBytes, int parsers, int writers,
+			int queueCapacity, TransactionTemplate transactionTemplate, Consumer<List<Object[]>> rowWriter,
+			LongConsumer checkpointWriter, CsvImportProgress progress) {
+		this.table = table;
+		this.delimiter = delimiter;
+		this.chunkBytes = chunkBytes;
+		this.parsers = parsers;
+		this.writers = writers;
+		this.transactionTemplate = transactionTemplate;
+		this.rowWriter = rowWriter;
+		this.checkpointWriter = checkpointWriter;
+		this.progress = progress;
+		this.chunks = new ArrayBlockingQueue<>(queueCapacity);
+		this.inFlight = new Semaphore(queueCapacity * 2 + parsers + writers);
+	}
+
+	/**
+	 * Imports everything after the header and the first {@code skipRecords}
+	 * records. Blocks until every chunk is committed or a stage fails, in
+	 * which case the other stages are interrupted and the failure rethrown.
+	 */
+	void run(InputStream in, long skipRecords) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(1 + parsers + writers,
+				new CustomizableThreadFactory("csv-import-" + table.name() + "-"));
+		CompletionService<Void> stages = new ExecutorCompletionService<>(executor);
+		try {
+			stages.submit(() -> read(in, skipRecords));
+			for (int i = 0; i < parsers; i++) {
+				stages.submit(this::parse);
+			}
+			for (int i = 0; i < writers; i++) {
+				stages.submit(this::write);
+			}
+
+			int remaining = 1 + parsers + writers;
+			while (remaining > 0) {
+				Future<Void> done = stages.poll(1, TimeUnit.SECONDS);
+				if (done != null) {
+					remaining--;
+					done.get();
+				}
+				progress.checkCancelled();
+				synchronized (this) {
+					progress.logIfDue();
+				}
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) {
+				throw ioException;
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new RuntimeException("CSV import of " + table.name() + " failed", cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("CSV import of " + table.name() + " was interrupted");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Void read(InputStream in, long skipRecords) throws IOException, InterruptedException {
+		CsvChunkReader reader = new CsvChunkReader(in, delimiter, chunkBytes);
+		reader.skip(1 + skipRecords);
+		long count = 0;
+		try {
+			Chunk chunk;
+			while ((chunk = reader.next()) != null) {
+				progress.checkCancelled();
+				inFlight.acquire();
+				chunks.put(chunk);
+				count++;
+			}
+		} finally {
+			in.close();
+		}
+		synchronized (this) {
+			totalChunks = count;
+			notifyAll();
+		}
+		for (int i = 0; i < parsers; i++) {
+			chunks.put(END);
+		}
+		return null;
+	}
+
+	private Void parse() throws IOException, InterruptedException {
+		Chunk chunk;
+		while ((chunk = chunks.take()) != END) {
+			progress.checkCancelled();
+			ParsedChunk result = new ParsedChunk(chunk.sequence(), chunk.firstLine(), chunk.data().length);
+			try (ByteCsvTokenizer tokenizer = new ByteCsvTokenizer(ByteBuffer.wrap(chunk.data()), delimiter)) {
+				while (tokenizer.next()) {
+					result.records++;
+					if (tokenizer.isBlankRecord()) {
+						result.blank++;
+						continue;
+					}
+					Object[] row = new Object[table.columnCount()];
+					long line = chunk.firstLine() + tokenizer.getLineNumber() - 1;
+					String error = table.mapRecord(tokenizer, row);
+					if (error == null) {
+						result.add(row, line);
+					} else {
+						result.rejects.add(CsvReject.of(line, error, tokenizer));
+					}
+				}
+			}
+			progress.parsed(result.records);
+			handOff(result);
+		}
+		return null;
+	}
+
+	private Void write() throws InterruptedException {
+		ParsedChunk chunk;
+		while ((chunk = takeInOrder()) != null) {
+			ParsedChunk current = chunk;
+			progress.checkCancelled();
+			if (current.sharesKeys) {
+				awaitCommitTurn(current.sequence);
+			}
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					if (!current.rows.isEmpty()) {
+						rowWriter.accept(current.rows);
+					}
+					checkpointWriter.accept(awaitCommitTurn(current.sequence) + current.records);
+				});
+			} catch (DataAccessException e) {
+				throw new RuntimeException("Failed to write " + table.name() + " records starting at line "
+						+ current.firstLine, e);
+			}
+			committed(current);
+			inFlight.release();
+		}
+		return null;
+	}
+
+	private synchronized void handOff(ParsedChunk chunk) {
+		parsed.put(chunk.sequence, chunk);
+		notifyAll();
+	}
+
+	private synchronized ParsedChunk takeInOrder() throws InterruptedException {
+		while (!parsed.containsKey(nextToWrite)) {
+			if (totalChunks >= 0 && nextToWrite >= totalChunks) {
+				return null;
+			}
+			wait();
+		}
+		ParsedChunk chunk = parsed.remove(nextToWrite++);
+		validate(chunk);
+		claimKeys(chunk);
+		return chunk;
+	}
+
+	/**
+	 * Runs the table's validator over a chunk's rows. Chunks arrive here one
+	 * at a time in file order, so a validator that remembers earlier rows
+	 * sees them as a sequential import would.
+	 */
+	private void validate(ParsedChunk chunk) {
+		List<Object[]> valid = new ArrayList<>(chunk.rows.size());
+		int rejected = 0;
+		for (int i = 0; i < chunk.rows.size(); i++) {
+			Object[] row = chunk.rows.get(i);
+			String error = table.validate(row);
+			if (error == null) {
+				valid.add(row);
+				progress.accepted(table, row);
+			} else {
+				chunk.rejects.add(CsvReject.of(chunk.lines[i], error, row));
+				rejected++;
+			}
+		}
+		if (rejected > 0) {
+			chunk.rows = valid;
+			chunk.rejects.sort(Comparator.comparingLong(CsvReject::line));
+		}
+	}
+
+	/**
+	 * Records the keys of a chunk's rows as in flight until it commits, and
+	 * whether an earlier uncommitted chunk already writes one of them.
+	 */
+	private void claimKeys(ParsedChunk chunk) {
+		chunk.keys = new String[chunk.rows.size()];
+		for (int i = 0; i < chunk.keys.length; i++) {
+			String key = table.rowKey(chunk.rows.get(i));
+			chunk.keys[i] = key;
+			Long previous = keysInFlight.put(key, chunk.sequence);
+			if (previous != null && previous != chunk.sequence) {
+				chunk.sharesKeys = true;
+			}
+		}
+	}
+
+	/**
+	 * Waits until every earlier chunk is committed and returns the number of
+	 * records they cover.
+	 */
+	private synchronized long awaitCommitTurn(long sequence) {
+		try {
+			while (nextToCommit != sequence) {
+				wait();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("CSV import of " + table.name() + " was interrupted");
+		}
+		return progress.consumed;
+	}
+
+	private synchronized void committed(ParsedChunk chunk) {
+		nextToCommit++;
+		for (String key : chunk.keys) {
+			keysInFlight.remove(key, chunk.sequence);
+		}
+		progress.consumed += chunk.records;
+		progress.imported += chunk.rows.size();
+		progress.skipped += chunk.blank;
+		for (CsvReject reject : chunk.rejects) {
+			progress.reject(reject);
+		}
+		committedBytes += chunk.bytes;
+		progress.publish(committedBytes);
+		notifyAll();
+	}
+
+	private static final class ParsedChunk {
+		private final long sequence;
+		private final long firstLine;
+		private final long bytes;
+		private final List<CsvReject> rejects = new ArrayList<>();
+		private List<Object[]> rows = new ArrayList<>();
+		private long[] lines = new long[256];
+		private String[] keys;
+		private boolean sharesKeys;
+		private long records;
+		private long blank;
+
+		private ParsedChunk(long sequence, long firstLine, long bytes) {
+			this.sequence = sequence;
+			this.firstLine = firstLine;
+			this.bytes = bytes;
+		}
+
+		private void add(Object[] row, long line) {
+			if (rows.size() == lines.length) {
+				lines = Arrays.copyOf(lines, lines.length * 2);
+			}
+			lines[rows.size()] = line;
+			rows.add(row);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.ram.opsnow.util.csv;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counters for one running import. Rejected records are logged and kept in
+ * file order up to {@code maxErrors}; the rest are only counted. All of them
+ * go to the reject file when one is configured.
+ */
+@Slf4j
+class CsvImportProgress {
+
+	private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+	private final String name;
+	private final int maxErrors;
+	private final long initialConsumed;
+	private final CsvImportMonitor monitor;
+	private final CsvRejectWriter rejects;
+	private boolean rejectsFailed;
+	private final long startNanos = System.nanoTime();
+	private final List<CsvRowError> errors = new ArrayList<>();
+	private long lastLogNanos = startNanos;
+	private long rejected;
+	private Set<String> keys;
+
+	long consumed;
+	long imported;
+	long skipped;
+	long deleted;
+	long kept;
+
+	CsvImportProgress(String name, long consumed, int maxErrors, CsvImportMonitor monitor,
+			CsvRejectWriter rejects) {
+		this.name = name;
+		this.consumed = consumed;
+		this.initialConsumed = consumed;
+		this.maxErrors = maxErrors;
+		this.monitor = monitor;
+		this.rejects = rejects;
+	}
+
+	/**
+	 * Starts remembering the key of every accepted row, so a sync can find
+	 * rows that are no longer in the source.
+	 */
+	void trackKeys() {
+		keys = ConcurrentHashMap.newKeySet();
+	}
+
+	/**
+	 * Called for every accepted row, possibly from several parser threads.
+	 */
+	void accepted(CsvTableImport table, Object[] row) {
+		if (keys != null) {
+			keys.add(table.rowKey(row));
+		}
+	}
+
+	Set<String> keys() {
+		return keys;
+	}
+
+	void reject(CsvReject reject) {
+		skipped++;
+		rejected++;
+		writeReject(reject);
+		if (rejected <= maxErrors) {
+			CsvRowError error = reject.error();
+			errors.add(error);
+			monitor.rejected(error);
+			log.warn("{} import, line {}: {}", name, reject.line(), reject.reason());
+		} else if (rejected == maxErrors + 1) {
+			log.warn("{} import: more than {} rejected records, only counting from here", name, maxErrors);
+		}
+	}
+
+	void started(long bytesTotal) {
+		monitor.started(bytesTotal);
+	}
+
+	void parsed(long records) {
+		monitor.parsed(records);
+	}
+
+	/**
+	 * A reject file that cannot be written is reported once and then given
+	 * up on; the import itself carries on.
+	 */
+	private void writeReject(CsvReject reject) {
+		if (rejects == null || rejectsFailed) {
+			return;
+		}
+		try {
+			rejects.write(reject);
+			if (monitor.getRejectFile() == null) {
+				monitor.rejectFile(rejects.getFile().toString());
+			}
+		} catch (IOException e) {
+			rejectsFailed = true;
+			log.warn("{} import: could not write reject file {}", name, rejects.getFile(), e);
+		}
+	}
+
+	void close() {
+		if (rejects == null) {
+			return;
+		}
+		try {
+			rejects.close();
+		} catch (IOException e) {
+			log.warn("{} import: could not close reject file {}", name, rejects.getFile(), e);
+		}
+	}
+
+	void checkCancelled() {
+		monitor.checkCancelled(name);
+	}
+
+	/**
+	 * Publishes the committed counters to the monitor. {@code bytes} is the
+	 * position in the source they cover, or -1 when unknown.
+	 */
+	void publish(long bytes) {
+		monitor.committed(bytes, consumed - initialConsumed, imported, skipped, rejected);
+	}
+
+	void logIfDue() {
+		long now = System.nanoTime();
+		if (now - lastLogNanos >= LOG_INTERVAL_NANOS) {
+			lastLogNanos = now;
+			log.info("{} import: {} rows written ({} rows/s)", name, imported, Math.round(rowsPerSecond(now)));
+		}
+	}
+
+	CsvImportResult result(String source, long resumedFrom) {
+		long now = System.nanoTime();
+		return new CsvImportResult(name, source, false, imported, skipped, deleted, kept, resumedFrom,
+				TimeUnit.NANOSECONDS.toMillis(now - startNanos), rowsPerSecond(now), monitor.getRejectFile(),
+				List.copyOf(errors));
+	}
+
+	private double rowsPerSecond(long now) {
+		double seconds = (now - startNanos) / 1_000_000_000.0;
+		return seconds <= 0 ? 0 : imported / seconds;
+	}
+}
@@ -0,0 +1,30 @@
+package com.ram.opsnow.util.csv;
+
+import java.util.List;
+
+/**
+ * Outcome of one import. {@code unchanged} is set when a sync found the
+ * source identical to the last one it loaded and did not touch the table.
+ * {@code rejectFile} holds every rejected record, while {@code errors} only
+ * lists the first {@code csv.import.max-reported-errors}. {@code rowsKept}
+ * counts rows a sync should have deleted but left in place because other
+ * rows still reference them.
+ */
+public record CsvImportResult(
+        String name,
+        String source,
+        boolean unchanged,
+        long rowsImported,
+        long rowsSkipped,
+        long rowsDeleted,
+        long rowsKept,
+        long resumedFromRow,
+        long durationMs,
+        double rowsPerSecond,
+        String rejectFile,
+        List<CsvRowError> errors) {
+
+    static CsvImportResult unchanged(String name, String source) {
+        return new CsvImportResult(name, source, true, 0, 0, 0, 0, 0, 0, 0, null, List.of());
+    }
+}
@@ -0,0 +1,48 @@
+package com.ram.opsnow.util.csv;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only view of the current record of a tokenizer. The view is reused for
+ * every record, so values must be read before the tokenizer advances.
+ * <p>
+ * Text is materialized only when asked for with {@link #get(int)} or
+ * {@link #getTrimmed(int)}; numeric and date fields are parsed straight from
+ * the tokenizer's buffer.
+ */
+public interface CsvRecord {
+
+    /**
+     * One-based line on which the record starts.
+     */
+    long getLineNumber();
+
+    int getFieldCount();
+
+    boolean isBlankRecord();
+
+    String get(int index);
+
+    /**
+     * Returns the field with surrounding whitespace removed, or null when it is
+     * empty or missing.
+     */
+    String getTrimmed(int index);
+
+    /**
+     * Returns the trimmed field as a decimal, or null when it is empty or
+     * missing.
+     *
+     * @throws NumberFormatException if the field is not a decimal number
+     */
+    BigDecimal getDecimal(int index);
+
+    /**
+     * Returns a trimmed {@code yyyy-MM-dd} field as a date, or null when it is
+     * empty or missing.
+     *
+     * @throws java.time.DateTimeException if the field is not such a date
+     */
+    LocalDate getDate(int index);
+}
@@ -0,0 +1,22 @@
+package com.ram.opsnow.util.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A tokenizer that exposes each record through the {@link CsvRecord} view.
+ */
+public interface CsvRecordReader extends CsvRecord, Closeable {
+
+    /**
+     * Advances to the next record. Returns false at end of input.
+     */
+    boolean next() throws IOException;
+
+    /**
+     * Bytes of the source consumed so far, or -1 when the reader cannot tell.
+     */
+    default long getBytePosition() {
+        return -1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ram.opsnow.util.csv;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A rejected record on its way to the reject file: where it starts, why it
+ * was rejected and its fields, either as read or as mapped.
+ */
+record CsvReject(long line, String reason, String[] fields) {
+
+    static CsvReject of(long line, String reason, CsvRecord record) {
+        String[] fields = new String[record.getFieldCount()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = record.get(i);
+        }
+        return new CsvReject(line, reason, fields);
+    }
+
+    static CsvReject of(long line, String reason, Object[] row) {
+        String[] fields = new String[row.length];
+        for (int i = 0; i < row.length; i++) {
+            fields[i] = format(row[i]);
+        }
+        return new CsvReject(line, reason, fields);
+    }
+
+    CsvRowError error() {
+        return new CsvRowError(line, reason);
+    }
+
+    // written back the way the source files spell them, so fixed rows can be imported again
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof LocalDateTime dateTime && dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            return dateTime.toLocalDate().toString();
+        }
+        return value.toString();
+    }
+}
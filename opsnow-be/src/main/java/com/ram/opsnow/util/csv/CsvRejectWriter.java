@@ -0,0 +1,99 @@
+package com.ram.opsnow.util.csv;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes rejected records to {@code <dir>/<name>-<timestamp>-*.rejects.csv},
+ * one per line as {@code line;reason;fields...} in the source's delimiter and
+ * quoting. The file is only created once the first record is rejected.
+ */
+class CsvRejectWriter implements Closeable {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final String name;
+    private final List<String> columns;
+    private final char delimiter;
+    private final StringBuilder line = new StringBuilder();
+
+    private Path file;
+    private BufferedWriter writer;
+
+    CsvRejectWriter(Path directory, String name, List<String> columns, char delimiter) {
+        this.directory = directory;
+        this.name = name;
+        this.columns = columns;
+        this.delimiter = delimiter;
+    }
+
+    void write(CsvReject reject) throws IOException {
+        if (writer == null) {
+            open();
+        }
+        line.setLength(0);
+        line.append(reject.line()).append(delimiter);
+        appendField(reject.reason());
+        for (String field : reject.fields()) {
+            line.append(delimiter);
+            appendField(field);
+        }
+        writer.write(line.toString());
+        writer.newLine();
+    }
+
+    /**
+     * The reject file, or null when nothing was rejected.
+     */
+    Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        file = Files.createTempFile(directory, name + "-" + LocalDateTime.now().format(TIMESTAMP) + "-",
+                ".rejects.csv");
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write("line" + delimiter + "reason" + delimiter + String.join(String.valueOf(delimiter), columns));
+        writer.newLine();
+    }
+
+    private void appendField(String field) {
+        if (field == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(field);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,7 @@
+package com.ram.opsnow.util.csv;
+
+/**
+ * A record that was not imported, with the one-based line it starts on.
+ */
+public record CsvRowError(long line, String message) {
+}
@@ -0,0 +1,11 @@
+package com.ram.opsnow.util.csv;
+
+/**
+ * Copies the current record into the statement parameters of one row.
+ * Returns false to skip the record.
+ */
+@FunctionalInterface
+public interface CsvRowMapper {
+
+    boolean map(CsvRecord record, Object[] parameters);
+}
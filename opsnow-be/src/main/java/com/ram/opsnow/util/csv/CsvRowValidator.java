@@ -0,0 +1,15 @@
+package com.ram.opsnow.util.csv;
+
+/**
+ * Checks a mapped row before it is written. Called once per row in file
+ * order, also when the file is parsed on several threads, so an
+ * implementation may remember earlier rows without synchronizing.
+ */
+@FunctionalInterface
+public interface CsvRowValidator {
+
+    /**
+     * Returns null when the row may be written, otherwise why it is rejected.
+     */
+    String validate(Object[] row);
+}
@@ -0,0 +1,150 @@
+package com.ram.opsnow.util.csv;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Describes how one CSV file is loaded: the name its checkpoint is kept under,
+ * the target table and columns, the primary key columns used to reconcile
+ * rows when syncing, how a record maps onto one value per column, and an
+ * optional validator that rejects mapped rows before they reach the database.
+ * A validator may keep state across rows, so an import with one is used once.
+ */
+public record CsvTableImport(String name, String table, List<String> columns, List<String> keyColumns,
+        CsvRowMapper mapper, CsvRowValidator validator) {
+
+    private static final char KEY_SEPARATOR = '\u001F';
+
+    public CsvTableImport(String name, String table, List<String> columns, List<String> keyColumns,
+            CsvRowMapper mapper) {
+        this(name, table, columns, keyColumns, mapper, null);
+    }
+
+    public int columnCount() {
+        return columns.size();
+    }
+
+    public String insertSql() {
+        String placeholders = String.join(", ", columns.stream().map(column -> "?").toList());
+        return "INSERT INTO " + table + " (" + columnList() + ") VALUES (" + placeholders + ")";
+    }
+
+    /**
+     * Inserts a row or updates the existing row with the same key. Rows whose
+     * values are unchanged are left alone, so re-syncing the same data writes
+     * nothing.
+     */
+    public String upsertSql() {
+        return insertSql() + onConflict();
+    }
+
+    public String copySql() {
+        return "COPY " + table + " (" + columnList() + ") FROM STDIN";
+    }
+
+    /**
+     * Session-local table that COPY writes into when syncing, since COPY
+     * itself cannot resolve key conflicts. It is emptied on every commit.
+     */
+    String createStagingSql() {
+        return "CREATE TEMP TABLE IF NOT EXISTS " + stagingTable() + " (LIKE " + table
+                + " INCLUDING DEFAULTS) ON COMMIT DELETE ROWS";
+    }
+
+    String copyToStagingSql() {
+        return "COPY " + stagingTable() + " (" + columnList() + ") FROM STDIN";
+    }
+
+    /**
+     * Upserts the staged rows. When a key appears more than once, the last
+     * occurrence wins, as it would with row-by-row upserts.
+     */
+    String mergeStagingSql() {
+        String keys = String.join(", ", keyColumns);
+        return "INSERT INTO " + table + " (" + columnList() + ") SELECT DISTINCT ON (" + keys + ") "
+                + columnList() + " FROM " + stagingTable() + " ORDER BY " + keys + ", ctid DESC" + onConflict();
+    }
+
+    String selectKeysSql() {
+        return "SELECT " + String.join(", ", keyColumns) + " FROM " + table;
+    }
+
+    String deleteByKeySql() {
+        return "DELETE FROM " + table + " WHERE "
+                + keyColumns.stream().map(column -> column + " = ?").collect(Collectors.joining(" AND "));
+    }
+
+    /**
+     * Identity of a mapped row, comparable with {@link #keyOf(Object[])} for
+     * key values read back from the table.
+     */
+    String rowKey(Object[] row) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) {
+                key.append(KEY_SEPARATOR);
+            }
+            key.append(row[columns.indexOf(keyColumns.get(i))]);
+        }
+        return key.toString();
+    }
+
+    String keyOf(Object[] keyValues) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < keyValues.length; i++) {
+            if (i > 0) {
+                key.append(KEY_SEPARATOR);
+            }
+            key.append(keyValues[i]);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Maps the current record into {@code row}. Returns null when the record
+     * was accepted, otherwise why it was rejected.
+     */
+    String mapRecord(CsvRecord record, Object[] row) {
+        try {
+            return mapper.map(record, row) ? null : "Rejected record with " + record.getFieldCount() + " fields";
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * Returns null when the mapped row may be written, otherwise why it was
+     * rejected.
+     */
+    String validate(Object[] row) {
+        if (validator == null) {
+            return null;
+        }
+        try {
+            return validator.validate(row);
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private String columnList() {
+        return String.join(", ", columns);
+    }
+
+    private String stagingTable() {
+        return table + "_csv_stage";
+    }
+
+    private String onConflict() {
+        List<String> updated = columns.stream().filter(column -> !keyColumns.contains(column)).toList();
+        String conflict = " ON CONFLICT (" + String.join(", ", keyColumns) + ")";
+        if (updated.isEmpty()) {
+            return conflict + " DO NOTHING";
+        }
+        return conflict + " DO UPDATE SET "
+                + updated.stream().map(column -> column + " = EXCLUDED." + column).collect(Collectors.joining(", "))
+                + " WHERE (" + updated.stream().map(column -> table + "." + column).collect(Collectors.joining(", "))
+                + ") IS DISTINCT FROM ("
+                + updated.stream().map(column -> "EXCLUDED." + column).collect(Collectors.joining(", ")) + ")";
+    }
+}
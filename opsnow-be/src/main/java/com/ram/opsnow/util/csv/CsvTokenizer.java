@@ -0,0 +1,230 @@
+package com.ram.opsnow.util.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Streaming delimited-text tokenizer that reuses its buffers from record to
+ * record, so parsing allocates only the strings the caller asks for.
+ * <p>
+ * Fields may be wrapped in double quotes, in which case they can contain the
+ * delimiter, line breaks and doubled quotes. A leading byte order mark is
+ * skipped. {@link #next()} advances to the next record; fields are then read
+ * with {@link #get(int)} or {@link #getTrimmed(int)} until the next call.
+ */
+public class CsvTokenizer implements CsvRecordReader {
+
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private boolean started;
+
+    private char[] record = new char[256];
+    private int recordLength;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+    private long recordNumber;
+    private long lineBreaks;
+    private long recordLine;
+    private char previous;
+    private int trimmedStart;
+    private int trimmedEnd;
+
+    public CsvTokenizer(Reader reader, char delimiter) {
+        this(reader, delimiter, 64 * 1024);
+    }
+
+    public CsvTokenizer(Reader reader, char delimiter, int bufferSize) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.buffer = new char[bufferSize];
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        if (!started) {
+            started = true;
+            if (peek() == BOM) {
+                position++;
+            }
+        }
+        if (peek() < 0) {
+            return false;
+        }
+        recordLine = lineBreaks + 1;
+
+        int fieldStart = 0;
+        boolean quoted = false;
+        boolean atFieldStart = true;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                endField(fieldStart);
+                break;
+            }
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    if (peek() == '"') {
+                        position++;
+                        append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (ch == '\r' || (ch == '\n' && previous != '\r')) {
+                        lineBreaks++;
+                    }
+                    append(ch);
+                }
+                previous = ch;
+                continue;
+            }
+            previous = ch;
+            if (ch == '"' && atFieldStart) {
+                quoted = true;
+                atFieldStart = false;
+            } else if (ch == delimiter) {
+                endField(fieldStart);
+                fieldStart = recordLength;
+                atFieldStart = true;
+            } else if (ch == '\n') {
+                lineBreaks++;
+                endField(fieldStart);
+                break;
+            } else if (ch == '\r') {
+                lineBreaks++;
+                if (peek() == '\n') {
+                    position++;
+                    previous = '\n';
+                }
+                endField(fieldStart);
+                break;
+            } else {
+                append(ch);
+                atFieldStart = false;
+            }
+        }
+        recordNumber++;
+        return true;
+    }
+
+    /**
+     * One-based number of the current record, counting the header.
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * One-based line on which the current record starts. Line breaks inside
+     * quoted fields are counted, so this matches what an editor shows.
+     */
+    @Override
+    public long getLineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    @Override
+    public boolean isBlankRecord() {
+        return fieldCount == 1 && fieldEnds[0] == fieldStarts[0];
+    }
+
+    @Override
+    public String get(int index) {
+        return new String(record, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    @Override
+    public String getTrimmed(int index) {
+        return trim(index) ? new String(record, trimmedStart, trimmedEnd - trimmedStart) : null;
+    }
+
+    @Override
+    public BigDecimal getDecimal(int index) {
+        return trim(index) ? CsvFieldParser.parseDecimal(record, trimmedStart, trimmedEnd - trimmedStart) : null;
+    }
+
+    @Override
+    public LocalDate getDate(int index) {
+        return trim(index) ? CsvFieldParser.parseDate(record, trimmedStart, trimmedEnd - trimmedStart) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean trim(int index) {
+        if (index >= fieldCount) {
+            return false;
+        }
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        while (start < end && Character.isWhitespace(record[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(record[end - 1])) {
+            end--;
+        }
+        trimmedStart = start;
+        trimmedEnd = end;
+        return start < end;
+    }
+
+    private void endField(int start) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = recordLength;
+        fieldCount++;
+    }
+
+    private void append(char ch) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = ch;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
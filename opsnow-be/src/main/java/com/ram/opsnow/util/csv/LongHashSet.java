@@ -0,0 +1,115 @@
+package com.ram.opsnow.util.csv;
+
+/**
+ * Set of longs in a single open-addressing array with linear probing, so a
+ * large set costs 8 to 16 bytes per element instead of a boxed entry each.
+ * Zero marks an empty slot and is tracked with a separate flag.
+ */
+public class LongHashSet {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] slots;
+    private int used;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(1024);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize + expectedSize / 3) - 1) << 1;
+        slots = new long[Math.min(capacity, MAX_CAPACITY)];
+    }
+
+    /**
+     * Adds the value. Returns false when it was already present.
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int mask = slots.length - 1;
+        int slot = (int) mix(value) & mask;
+        while (true) {
+            long current = slots[slot];
+            if (current == 0) {
+                slots[slot] = value;
+                if (++used > slots.length / 4 * 3) {
+                    grow();
+                }
+                return true;
+            }
+            if (current == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int slot = (int) mix(value) & mask;
+        while (true) {
+            long current = slots[slot];
+            if (current == 0) {
+                return false;
+            }
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return used + (containsZero ? 1 : 0);
+    }
+
+    /**
+     * 64-bit fingerprint of a string for sets of strings too large to keep:
+     * FNV-1a over the UTF-16 code units, finished with a mixing step. Two
+     * distinct strings share a fingerprint with probability about 2^-64.
+     */
+    public static long fingerprint(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private void grow() {
+        if (slots.length == MAX_CAPACITY) {
+            throw new IllegalStateException("LongHashSet cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        int mask = slots.length - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int slot = (int) mix(value) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = value;
+            }
+        }
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ram.opsnow.util.csv;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Writes rows to a {@code COPY ... FROM STDIN} stream in Postgres text format:
+ * tab-separated columns, {@code \N} for null and backslash escapes for
+ * characters that would otherwise end a column or row. Rows are buffered and
+ * sent in chunks rather than one call per row.
+ */
+class PgCopyEncoder {
+
+    private static final int FLUSH_THRESHOLD = 32 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+
+    PgCopyEncoder(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    void writeRow(Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            appendValue(values[i]);
+        }
+        buffer.append('\n');
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            buffer.append("\\N");
+        } else if (value instanceof BigDecimal decimal) {
+            buffer.append(decimal.toPlainString());
+        } else if (value instanceof LocalDateTime dateTime) {
+            buffer.append(dateTime.toLocalDate()).append(' ').append(dateTime.toLocalTime());
+        } else if (value instanceof LocalDate date) {
+            buffer.append(date);
+        } else {
+            appendEscaped(value.toString());
+        }
+    }
+
+    private void appendEscaped(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,596 @@
+package com.ram.opsnow.util.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads a semicolon-separated file into a table without holding it in memory.
+ * <p>
+ * Records are tokenized one at a time into a fixed set of reusable parameter
+ * arrays and written with {@code batchUpdate} once {@code batch-size} rows are
+ * ready. Every {@code batches-per-commit} batches the transaction commits
+ * together with a row in csv_import_checkpoint recording how many records
+ * have been consumed and the SHA-256 of the source, so an interrupted import
+ * of the same file can resume after the last commit instead of starting over.
+ * <p>
+ * On Postgres each commit's rows are streamed through {@code COPY ... FROM
+ * STDIN} instead ({@code csv.import.mode=auto} or {@code copy}). The rows go
+ * through the same mapper, so validation, empty-to-NULL and date parsing are
+ * identical in both modes; other databases fall back to batched inserts.
+ * <p>
+ * Files larger than one pipeline chunk go through {@link CsvImportPipeline}
+ * instead, which parses and writes on several threads while keeping the
+ * checkpoint and error reporting in file order.
+ * <p>
+ * Records the mapper or the table's validator rejects never reach the
+ * database; they are counted, reported and, with {@code csv.import.reject-dir}
+ * set, written to a reject file together with the reason.
+ * <p>
+ * {@link #syncCsv} is the incremental alternative to a full load: a source
+ * whose SHA-256 matches the last successful sync is skipped without touching
+ * the table, and a changed source is upserted by primary key, optionally
+ * deleting rows whose keys no longer appear in it.
+ * <p>
+ * Callers that run imports in the background pass a {@link CsvImportMonitor}
+ * to follow progress and to cancel; the import stops at the next record or
+ * chunk and rolls back whatever it had not committed yet.
+ */
+@Slf4j
+@Component
+public class StreamingCsvImporter {
+
+	private static final char DELIMITER = ';';
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final int batchesPerCommit;
+	private final LoadMode mode;
+	private final int maxReportedErrors;
+	private final boolean pipelineEnabled;
+	private final int parserThreads;
+	private final int writerThreads;
+	private final int chunkBytes;
+	private final int queueCapacity;
+	private final long lockTimeoutMs;
+	private final Path rejectDirectory;
+
+	private volatile boolean trackingTablesReady;
+	private volatile Boolean postgres;
+
+	public StreamingCsvImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${csv.import.batch-size:1000}") int batchSize,
+			@Value("${csv.import.batches-per-commit:10}") int batchesPerCommit,
+			@Value("${csv.import.mode:auto}") String mode,
+			@Value("${csv.import.max-reported-errors:100}") int maxReportedErrors,
+			@Value("${csv.import.pipeline.enabled:true}") boolean pipelineEnabled,
+			@Value("${csv.import.pipeline.parser-threads:0}") int parserThreads,
+			@Value("${csv.import.pipeline.writer-threads:4}") int writerThreads,
+			@Value("${csv.import.pipeline.chunk-bytes:1048576}") int chunkBytes,
+			@Value("${csv.import.pipeline.queue-capacity:8}") int queueCapacity,
+			@Value("${csv.import.pipeline.lock-timeout-ms:60000}") long lockTimeoutMs,
+			@Value("${csv.import.reject-dir:}") String rejectDirectory) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.batchesPerCommit = batchesPerCommit;
+		this.mode = LoadMode.valueOf(mode.toUpperCase(Locale.ROOT));
+		this.maxReportedErrors = maxReportedErrors;
+		this.pipelineEnabled = pipelineEnabled && writerThreads > 0;
+		this.parserThreads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+		this.writerThreads = writerThreads;
+		this.chunkBytes = chunkBytes;
+		this.queueCapacity = queueCapacity;
+		this.lockTimeoutMs = lockTimeoutMs;
+		this.rejectDirectory = rejectDirectory.isBlank() ? null : Path.of(rejectDirectory);
+	}
+
+	/**
+	 * @param resume skip the records committed by a previous run of the same
+	 *               import from the same source, as long as its content is
+	 *               unchanged, and otherwise start from the first record
+	 *               upserting over whatever that run left in the table;
+	 *               without it start from the first record and reset the
+	 *               checkpoint
+	 */
+	public CsvImportResult importCsv(CsvTableImport table, Resource resource, boolean resume) throws IOException {
+		return importCsv(table, resource, resume, new CsvImportMonitor());
+	}
+
+	public CsvImportResult importCsv(CsvTableImport table, Resource resource, boolean resume,
+			CsvImportMonitor monitor) throws IOException {
+		ensureTrackingTables();
+		String source = resource.getDescription();
+		String hash = contentHash(resource);
+		long resumeFrom = resume ? committedRecords(table.name(), source, hash) : 0;
+		if (resumeFrom > 0) {
+			log.info("Resuming {} import from {} after {} records", table.name(), source, resumeFrom);
+		}
+		CsvImportProgress progress = newProgress(table, resumeFrom, monitor);
+		try {
+			load(table, resource, source, hash, resumeFrom, resume && resumeFrom == 0, progress);
+		} finally {
+			progress.close();
+		}
+		return progress.result(source, resumeFrom);
+	}
+
+	/**
+	 * Brings the table in line with the source without reloading it: skips the
+	 * source when it is unchanged since the last sync, otherwise upserts every
+	 * row by key and, with {@code deleteMissing}, deletes rows whose key is no
+	 * longer in the source. Rows still referenced by other tables are kept,
+	 * and the sync is not recorded then, so the next one tries them again.
+	 */
+	public CsvImportResult syncCsv(CsvTableImport table, Resource resource, boolean deleteMissing)
+			throws IOException {
+		return syncCsv(table, resource, deleteMissing, new CsvImportMonitor());
+	}
+
+	public CsvImportResult syncCsv(CsvTableImport table, Resource resource, boolean deleteMissing,
+			CsvImportMonitor monitor) throws IOException {
+		ensureTrackingTables();
+		String source = resource.getDescription();
+		String hash = contentHash(resource);
+		if (hash.equals(syncedHash(table.name(), source)) && tableExists(table.table())) {
+			log.info("{} is unchanged since the last sync from {}, skipping", table.name(), source);
+			return CsvImportResult.unchanged(table.name(), source);
+		}
+
+		CsvImportProgress progress = newProgress(table, 0, monitor);
+		if (deleteMissing) {
+			progress.trackKeys();
+		}
+		try {
+			load(table, resource, source, hash, 0, true, progress);
+		} finally {
+			progress.close();
+		}
+		if (deleteMissing) {
+			deleteMissing(table, progress);
+		}
+		if (progress.kept == 0) {
+			saveSyncedHash(table.name(), source, hash, progress.imported);
+		}
+		return progress.result(source, 0);
+	}
+
+	private CsvImportProgress newProgress(CsvTableImport table, long resumeFrom, CsvImportMonitor monitor) {
+		CsvRejectWriter rejects = rejectDirectory == null ? null
+				: new CsvRejectWriter(rejectDirectory, table.name(), table.columns(), DELIMITER);
+		return new CsvImportProgress(table.name(), resumeFrom, maxReportedErrors, monitor, rejects);
+	}
+
+	private void load(CsvTableImport table, Resource resource, String source, String hash, long resumeFrom,
+			boolean upsert, CsvImportProgress progress) throws IOException {
+		saveCheckpoint(table.name(), source, hash, resumeFrom, false);
+		Target target = new Target(useCopy(), upsert);
+		long length = resource.contentLength();
+		boolean pipelined = pipelineEnabled && length > chunkBytes;
+		progress.started(length);
+
+		if (pipelined) {
+			new CsvImportPipeline(table, DELIMITER, chunkBytes, parserThreads, writerThreads, queueCapacity,
+					transactionTemplate, rows -> {
+						limitLockWait();
+						writeRows(table, rows, target);
+					},
+					consumed -> saveCheckpoint(table.name(), source, hash, consumed, false), progress)
+					.run(resource.getInputStream(), resumeFrom);
+			saveCheckpoint(table.name(), source, hash, progress.consumed, true);
+			progress.publish(length);
+		} else {
+			loadSequentially(table, resource, source, hash, resumeFrom, target, progress);
+		}
+
+		CsvImportResult result = progress.result(source, resumeFrom);
+		log.info("{} {} rows into {} from {} in {} ms ({} rows/s, {} skipped, {}{})",
+				upsert ? "Synced" : "Imported", result.rowsImported(), table.name(), source, result.durationMs(),
+				Math.round(result.rowsPerSecond()), result.rowsSkipped(), target.copy() ? "COPY" : "batch insert",
+				pipelined ? ", " + parserThreads + " parsers, " + writerThreads + " writers" : "");
+	}
+
+	private void loadSequentially(CsvTableImport table, Resource resource, String source, String hash,
+			long resumeFrom, Target target, CsvImportProgress progress) throws IOException {
+		try (CsvRecordReader tokenizer = open(resource)) {
+			// header
+			tokenizer.next();
+			long skipped = 0;
+			while (skipped < resumeFrom && tokenizer.next()) {
+				skipped++;
+			}
+
+			Object[][] rows = new Object[target.copy() ? 1 : batchSize][table.columnCount()];
+			boolean more = true;
+			while (more) {
+				more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+					boolean remaining = target.copy()
+							? copyRows(table, tokenizer, rows[0], target, progress)
+							: writeBatches(table, tokenizer, rows, target, progress);
+					saveCheckpoint(table.name(), source, hash, progress.consumed, !remaining);
+					return remaining;
+				}));
+				progress.publish(tokenizer.getBytePosition());
+				progress.logIfDue();
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Plain files are memory-mapped and tokenized as bytes; anything else,
+	 * such as a classpath resource inside a jar, is decoded as a stream.
+	 */
+	private CsvRecordReader open(Resource resource) throws IOException {
+		if (resource.isFile()) {
+			return ByteCsvTokenizer.open(resource.getFile().toPath(), DELIMITER);
+		}
+		return new CsvTokenizer(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8), DELIMITER);
+	}
+
+	/**
+	 * Writes up to one commit's worth of batches. Returns false once the input
+	 * is exhausted.
+	 */
+	private boolean writeBatches(CsvTableImport table, CsvRecordReader tokenizer, Object[][] rows, Target target,
+			CsvImportProgress progress) {
+		String sql = target.upsert() ? table.upsertSql() : table.insertSql();
+		try {
+			for (int batch = 0; batch < batchesPerCommit; batch++) {
+				int filled = 0;
+				boolean exhausted = false;
+				while (filled < rows.length) {
+					if (!tokenizer.next()) {
+						exhausted = true;
+						break;
+					}
+					progress.consumed++;
+					if (!accept(table, tokenizer, rows[filled], progress)) {
+						continue;
+					}
+					filled++;
+				}
+				if (filled > 0) {
+					List<Object[]> batchArgs = Arrays.asList(rows).subList(0, filled);
+					jdbcTemplate.batchUpdate(sql, batchArgs);
+					progress.imported += filled;
+				}
+				if (exhausted) {
+					return false;
+				}
+			}
+			return true;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Streams up to one commit's worth of rows through a single COPY on the
+	 * transaction's connection. Returns false once the input is exhausted.
+	 */
+	private boolean copyRows(CsvTableImport table, CsvRecordReader tokenizer, Object[] row, Target target,
+			CsvImportProgress progress) {
+		long limit = (long) batchSize * batchesPerCommit;
+		return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+			CopyIn copyIn = beginCopy(con, table, target);
+			try {
+				PgCopyEncoder encoder = new PgCopyEncoder(copyIn);
+				long written = 0;
+				boolean exhausted = false;
+				while (written < limit) {
+					if (!tokenizer.next()) {
+						exhausted = true;
+						break;
+					}
+					progress.consumed++;
+					if (!accept(table, tokenizer, row, progress)) {
+						continue;
+					}
+					encoder.writeRow(row);
+					written++;
+				}
+				encoder.flush();
+				endCopy(con, copyIn, table, target);
+				progress.imported += written;
+				return !exhausted;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} finally {
+				if (copyIn.isActive()) {
+					copyIn.cancelCopy();
+				}
+			}
+		}));
+	}
+
+	private boolean accept(CsvTableImport table, CsvRecordReader tokenizer, Object[] row,
+			CsvImportProgress progress) {
+		progress.checkCancelled();
+		if (tokenizer.isBlankRecord()) {
+			progress.skipped++;
+			return false;
+		}
+		String error = table.mapRecord(tokenizer, row);
+		if (error != null) {
+			progress.reject(CsvReject.of(tokenizer.getLineNumber(), error, tokenizer));
+			return false;
+		}
+		error = table.validate(row);
+		if (error != null) {
+			progress.reject(CsvReject.of(tokenizer.getLineNumber(), error, row));
+			return false;
+		}
+		progress.accepted(table, row);
+		return true;
+	}
+
+	/**
+	 * Writes already mapped rows on the current transaction's connection.
+	 */
+	private void writeRows(CsvTableImport table, List<Object[]> rows, Target target) {
+		if (!target.copy()) {
+			String sql = target.upsert() ? table.upsertSql() : table.insertSql();
+			for (int from = 0; from < rows.size(); from += batchSize) {
+				jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+			}
+			return;
+		}
+		jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+			CopyIn copyIn = beginCopy(con, table, target);
+			try {
+				PgCopyEncoder encoder = new PgCopyEncoder(copyIn);
+				for (Object[] row : rows) {
+					encoder.writeRow(row);
+				}
+				encoder.flush();
+				endCopy(con, copyIn, table, target);
+				return null;
+			} finally {
+				if (copyIn.isActive()) {
+					copyIn.cancelCopy();
+				}
+			}
+		});
+	}
+
+	/**
+	 * COPY cannot resolve key conflicts, so an upsert copies into a session
+	 * staging table and merges it into the target once the copy is done.
+	 */
+	private CopyIn beginCopy(Connection con, CsvTableImport table, Target target) throws SQLException {
+		if (!target.upsert()) {
+			return con.unwrap(PGConnection.class).getCopyAPI().copyIn(table.copySql());
+		}
+		try (Statement statement = con.createStatement()) {
+			statement.execute(table.createStagingSql());
+		}
+		return con.unwrap(PGConnection.class).getCopyAPI().copyIn(table.copyToStagingSql());
+	}
+
+	private void endCopy(Connection con, CopyIn copyIn, CsvTableImport table, Target target) throws SQLException {
+		copyIn.endCopy();
+		if (target.upsert()) {
+			try (Statement statement = con.createStatement()) {
+				statement.executeUpdate(table.mergeStagingSql());
+			}
+		}
+	}
+
+	/**
+	 * Deletes the rows whose key is not among the keys the sync read. When
+	 * some are still referenced, every key is retried on its own so the rest
+	 * are deleted and only the referenced ones are kept.
+	 */
+	private void deleteMissing(CsvTableImport table, CsvImportProgress progress) {
+		Set<String> seen = progress.keys();
+		List<Object[]> missing = new ArrayList<>();
+		int keyCount = table.keyColumns().size();
+		jdbcTemplate.query(table.selectKeysSql(), rs -> {
+			Object[] key = new Object[keyCount];
+			for (int i = 0; i < keyCount; i++) {
+				key[i] = rs.getObject(i + 1);
+			}
+			if (!seen.contains(table.keyOf(key))) {
+				missing.add(key);
+			}
+		});
+		if (missing.isEmpty()) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int from = 0; from < missing.size(); from += batchSize) {
+					jdbcTemplate.batchUpdate(table.deleteByKeySql(),
+							missing.subList(from, Math.min(from + batchSize, missing.size())));
+				}
+			});
+			progress.deleted = missing.size();
+		} catch (DataIntegrityViolationException e) {
+			List<String> kept = new ArrayList<>();
+			for (Object[] key : missing) {
+				try {
+					progress.deleted += jdbcTemplate.update(table.deleteByKeySql(), key);
+				} catch (DataIntegrityViolationException referenced) {
+					kept.add(table.keyOf(key));
+				}
+			}
+			progress.kept = kept.size();
+			log.warn("Kept {} {} rows that are no longer in the source because other rows still reference them: {}",
+					kept.size(), table.name(), kept.size() > 20 ? kept.subList(0, 20) + " ..." : kept);
+		}
+		log.info("Deleted {} {} rows that are no longer in the source", progress.deleted, table.name());
+	}
+
+	private String contentHash(Resource resource) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = resource.getInputStream()) {
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private String syncedHash(String name, String source) {
+		List<String> hashes = jdbcTemplate.queryForList(
+				"SELECT content_hash FROM csv_import_source WHERE import_name = ? AND source = ?",
+				String.class, name, source);
+		return hashes.isEmpty() ? null : hashes.get(0);
+	}
+
+	private void saveSyncedHash(String name, String source, String hash, long rows) {
+		jdbcTemplate.update("""
+				INSERT INTO csv_import_source (import_name, source, content_hash, rows_synced, synced_at)
+				VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
+				ON CONFLICT (import_name, source) DO UPDATE SET
+				    content_hash = EXCLUDED.content_hash,
+				    rows_synced = EXCLUDED.rows_synced,
+				    synced_at = EXCLUDED.synced_at
+				""", name, source, hash, rows);
+	}
+
+	private boolean tableExists(String table) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+				table));
+	}
+
+	private boolean useCopy() {
+		if (mode == LoadMode.BATCH) {
+			return false;
+		}
+		boolean supported = isPostgres();
+		if (!supported && mode == LoadMode.COPY) {
+			log.warn("csv.import.mode=copy needs PostgreSQL, using batched inserts");
+		}
+		return supported;
+	}
+
+	private boolean isPostgres() {
+		Boolean supported = postgres;
+		if (supported == null) {
+			supported = Boolean.TRUE.equals(jdbcTemplate.execute(
+					(ConnectionCallback<Boolean>) con -> con.isWrapperFor(PGConnection.class)));
+			postgres = supported;
+		}
+		return supported;
+	}
+
+	/**
+	 * Makes a pipeline writer that waits on a row lock fail the import after
+	 * csv.import.pipeline.lock-timeout-ms instead of hanging, whatever holds
+	 * the lock.
+	 */
+	private void limitLockWait() {
+		if (lockTimeoutMs > 0 && isPostgres()) {
+			jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+		}
+	}
+
+	/**
+	 * Records committed by the last run from {@code source}, or 0 when its
+	 * content has changed: skipping that many records of a different file
+	 * would lose rows.
+	 */
+	private long committedRecords(String name, String source, String hash) {
+		List<Map<String, Object>> checkpoints = jdbcTemplate.queryForList(
+				"SELECT records_consumed, content_hash FROM csv_import_checkpoint WHERE import_name = ? AND source = ?",
+				name, source);
+		if (checkpoints.isEmpty()) {
+			return 0;
+		}
+		Map<String, Object> checkpoint = checkpoints.get(0);
+		if (!hash.equals(checkpoint.get("content_hash"))) {
+			log.warn("{} has changed since the last {} import, starting over instead of resuming", source, name);
+			return 0;
+		}
+		return ((Number) checkpoint.get("records_consumed")).longValue();
+	}
+
+	private void saveCheckpoint(String name, String source, String hash, long consumed, boolean completed) {
+		jdbcTemplate.update("""
+				INSERT INTO csv_import_checkpoint (import_name, source, content_hash, records_consumed, completed,
+				    updated_at)
+				VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+				ON CONFLICT (import_name, source) DO UPDATE SET
+				    content_hash = EXCLUDED.content_hash,
+				    records_consumed = EXCLUDED.records_consumed,
+				    completed = EXCLUDED.completed,
+				    updated_at = EXCLUDED.updated_at
+				""", name, source, hash, consumed, completed);
+	}
+
+	private void ensureTrackingTables() {
+		if (trackingTablesReady) {
+			return;
+		}
+		jdbcTemplate.execute("""
+				CREATE TABLE IF NOT EXISTS csv_import_checkpoint (
+				    import_name VARCHAR(100) NOT NULL,
+				    source VARCHAR(500) NOT NULL,
+				    content_hash VARCHAR(64),
+				    records_consumed BIGINT NOT NULL,
+				    completed BOOLEAN NOT NULL,
+				    updated_at TIMESTAMP NOT NULL,
+				    PRIMARY KEY (import_name, source)
+				)
+				""");
+		// checkpoints written before the hash was recorded never resume
+		jdbcTemplate.execute("ALTER TABLE csv_import_checkpoint ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64)");
+		jdbcTemplate.execute("""
+				CREATE TABLE IF NOT EXISTS csv_import_source (
+				    import_name VARCHAR(100) NOT NULL,
+				    source VARCHAR(500) NOT NULL,
+				    content_hash VARCHAR(64) NOT NULL,
+				    rows_synced BIGINT NOT NULL,
+				    synced_at TIMESTAMP NOT NULL,
+				    PRIMARY KEY (import_name, source)
+				)
+				""");
+		trackingTablesReady = true;
+	}
+
+	private enum LoadMode {
+		AUTO, COPY, BATCH
+	}
+
+	private record Target(boolean copy, boolean upsert) {
+	}
+}
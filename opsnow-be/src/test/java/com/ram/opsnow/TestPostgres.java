@@ -0,0 +1,46 @@
+package com.ram.opsnow;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Scratch schemas on a real PostgreSQL for tests of code that relies on its
+ * SQL, such as COPY and ON CONFLICT. Those tests are annotated with
+ * {@code @EnabledIfSystemProperty(named = TestPostgres.URL_PROPERTY, matches = ".+")}
+ * and run with e.g.
+ * {@code mvn test -Dtest.postgres.url=jdbc:postgresql://localhost:5432/postgres},
+ * plus {@code test.postgres.username} and {@code test.postgres.password} when
+ * they differ from application.properties.
+ */
+public final class TestPostgres {
+
+	public static final String URL_PROPERTY = "test.postgres.url";
+
+	private TestPostgres() {
+	}
+
+	/**
+	 * A pool on an empty schema {@code schema}, dropped and recreated first.
+	 */
+	public static HikariDataSource schema(String schema) {
+		try (HikariDataSource admin = dataSource(null, 1)) {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(admin);
+			jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+			jdbcTemplate.execute("CREATE SCHEMA " + schema);
+		}
+		return dataSource(schema, 8);
+	}
+
+	private static HikariDataSource dataSource(String schema, int poolSize) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(System.getProperty(URL_PROPERTY));
+		dataSource.setUsername(System.getProperty("test.postgres.username", "admin"));
+		dataSource.setPassword(System.getProperty("test.postgres.password", "password"));
+		dataSource.setMaximumPoolSize(poolSize);
+		if (schema != null) {
+			dataSource.setSchema(schema);
+		}
+		return dataSource;
+	}
+}
@@ -0,0 +1,16 @@
+package com.ram.opsnow.datagen;
+
+import java.nio.file.Path;
+
+/**
+ * Files written by one {@link SyntheticDataGenerator} run.
+ */
+public record GeneratedDataset(
+        Path employeeFile,
+        Path departmentFile,
+        Path locationFile,
+        Path tierFile,
+        long employees,
+        long bytes,
+        long durationMs) {
+}
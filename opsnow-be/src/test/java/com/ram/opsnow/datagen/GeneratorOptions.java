@@ -0,0 +1,53 @@
+package com.ram.opsnow.datagen;
+
+import java.nio.file.Path;
+
+/**
+ * Shape of a generated data set. The same options and seed always produce
+ * byte-identical files, whatever the number of threads.
+ */
+public record GeneratorOptions(
+        Path outputDirectory,
+        long seed,
+        int employees,
+        int departments,
+        int locations,
+        int tiers,
+        int threads,
+        int chunkRows) {
+
+    public static final int MAX_EMPLOYEES = 10_000_000;
+
+    public GeneratorOptions {
+        if (employees < 1 || employees > MAX_EMPLOYEES) {
+            throw new IllegalArgumentException("employees must be between 1 and " + MAX_EMPLOYEES);
+        }
+        // codes are varchar(5): one letter plus up to four base-36 digits
+        if (departments < 1 || departments > 1_679_616 || locations < 1 || locations > 1_679_616) {
+            throw new IllegalArgumentException("departments and locations must be between 1 and 1679616");
+        }
+        if (tiers < 1 || tiers > 9_999) {
+            throw new IllegalArgumentException("tiers must be between 1 and 9999");
+        }
+        if (threads < 1 || chunkRows < 1) {
+            throw new IllegalArgumentException("threads and chunkRows must be positive");
+        }
+    }
+
+    /**
+     * Options scaled from the employee count: about one department per
+     * thousand employees, one location per twenty thousand, and the six tiers
+     * of the sample data.
+     */
+    public static GeneratorOptions of(Path outputDirectory, int employees, long seed) {
+        return new GeneratorOptions(outputDirectory, seed, employees,
+                Math.max(5, Math.min(2_000, employees / 1_000)),
+                Math.max(2, Math.min(500, employees / 20_000)),
+                6, Runtime.getRuntime().availableProcessors(), 20_000);
+    }
+
+    public GeneratorOptions withThreads(int threads) {
+        return new GeneratorOptions(outputDirectory, seed, employees, departments, locations, tiers, threads,
+                chunkRows);
+    }
+}
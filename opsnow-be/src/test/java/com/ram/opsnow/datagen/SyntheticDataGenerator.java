@@ -0,0 +1,388 @@
+package com.ram.opsnow.datagen;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes employee.csv, department.csv, location.csv and tier.csv in the
+ * format of {@code src/main/resources/data}, at up to ten million employees,
+ * for load tests and import benchmarks.
+ * <p>
+ * Every value of employee {@code i} is derived from {@code (seed, i)} alone,
+ * so chunks of rows are rendered on several threads and written in order, and
+ * the files do not depend on the thread count. The data is skewed like real
+ * data:
+ * <ul>
+ * <li>employees form one supervisor tree with a fan-out of about six, and
+ * nobody has a higher tier than their supervisor;</li>
+ * <li>tiers thin out towards the top, and salaries are log-normal around a
+ * median that rises with the tier;</li>
+ * <li>department and location sizes follow a Zipf distribution, and
+ * subordinates mostly stay in their supervisor's department and location.</li>
+ * </ul>
+ * Lives in the test sources, which the benchmarks profile compiles together
+ * with src/jmh, so tests and benchmarks share it and it stays out of the
+ * application jar. From the command line, after {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/test-classes:target/classes com.ram.opsnow.datagen.SyntheticDataGenerator \
+ *     --out target/datagen --employees 1000000 --seed 42
+ * </pre>
+ * Optional flags are {@code --departments}, {@code --locations},
+ * {@code --tiers}, {@code --threads} and {@code --chunk-rows}. Tests and
+ * benchmarks call {@link #generate(GeneratorOptions)}.
+ */
+public final class SyntheticDataGenerator {
+
+    private static final String USAGE = "Usage: SyntheticDataGenerator --out <dir> [--employees N] [--seed N]"
+            + " [--departments N] [--locations N] [--tiers N] [--threads N] [--chunk-rows N]";
+    private static final Set<String> FLAGS = Set.of(
+            "out", "employees", "seed", "departments", "locations", "tiers", "threads", "chunk-rows");
+
+    private static final int FAN_OUT = 6;
+    private static final double DEPARTMENT_ZIPF = 1.1;
+    private static final double LOCATION_ZIPF = 0.8;
+    private static final double TIER_DECAY = 0.45;
+    // chance that a subordinate is placed in a department or location of its own
+    private static final double DEPARTMENT_MOVE = 0.05;
+    private static final double LOCATION_MOVE = 0.10;
+    private static final double SALARY_MEDIAN = 3_500_000;
+    private static final double SALARY_STEP = 1.32;
+    private static final double SALARY_SIGMA = 0.18;
+    private static final long FIRST_EMPLOYEE_NUMBER = 100_001;
+    private static final LocalDate FIRST_ENTRY_DATE = LocalDate.of(2000, 1, 1);
+    private static final int ENTRY_DATE_DAYS = (int) ChronoUnit.DAYS.between(FIRST_ENTRY_DATE,
+            LocalDate.of(2026, 1, 1));
+    // the bcrypt hash every row of the sample data uses; hashing per row would dominate generation
+    private static final String PASSWORD = "$2a$10$7w5HMiGteauFy7H3cHH/juWNpBvsoxuSTHISpqdOF8c1g8JTCHprK";
+    private static final byte[] BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    private static final String[] SYLLABLES = {
+            "min", "ji", "soo", "hyun", "woo", "jin", "seo", "yeon", "ha", "eun",
+            "do", "joon", "tae", "young", "kyung", "sung", "hee", "na", "ra", "yun",
+            "park", "moon", "han", "shin", "kang", "ho", "bin", "chul", "mi", "sol" };
+    private static final String[] TIER_NAMES = {
+            "Employee", "Assistant Manager", "Manager", "Deputy Manager", "Director", "Senior Director" };
+    private static final String[] DEPARTMENT_NAMES = {
+            "governance", "ETL", "Storage", "Research", "Trade", "Finance", "Sales", "Platform", "Security",
+            "Support", "Marketing", "Legal" };
+    private static final String[] PLACE_NAMES = {
+            "sangarm", "cityhall", "magok", "eunpyung", "gangnam", "pangyo", "yeouido", "jamsil", "mapo",
+            "seongsu" };
+
+    // independent random streams per employee
+    private static final int PARENT = 1;
+    private static final int DEPARTMENT = 2;
+    private static final int DEPARTMENT_MOVED = 3;
+    private static final int LOCATION = 4;
+    private static final int LOCATION_MOVED = 5;
+    private static final int TIER = 6;
+    private static final int SALARY_U1 = 7;
+    private static final int SALARY_U2 = 8;
+    private static final int ENTRY_DATE = 9;
+    private static final int FIRST_SYLLABLE = 10;
+    private static final int SECOND_SYLLABLE = 11;
+
+    private final GeneratorOptions options;
+    private final double[] departmentCdf;
+    private final double[] locationCdf;
+    private final double[] tierCdf;
+
+    private SyntheticDataGenerator(GeneratorOptions options) {
+        this.options = options;
+        this.departmentCdf = zipfCdf(options.departments(), DEPARTMENT_ZIPF);
+        this.locationCdf = zipfCdf(options.locations(), LOCATION_ZIPF);
+        double[] tierWeights = new double[options.tiers()];
+        for (int t = 0; t < tierWeights.length; t++) {
+            tierWeights[t] = Math.pow(TIER_DECAY, t);
+        }
+        this.tierCdf = cdf(tierWeights);
+    }
+
+    public static GeneratedDataset generate(GeneratorOptions options) throws IOException {
+        return new SyntheticDataGenerator(options).generate();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> flags = parseFlags(args);
+        if (!flags.containsKey("out")) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        GeneratorOptions scaled = GeneratorOptions.of(Path.of(flags.get("out")),
+                Integer.parseInt(flags.getOrDefault("employees", "100000")),
+                Long.parseLong(flags.getOrDefault("seed", "42")));
+        GeneratorOptions options = new GeneratorOptions(scaled.outputDirectory(), scaled.seed(), scaled.employees(),
+                intFlag(flags, "departments", scaled.departments()),
+                intFlag(flags, "locations", scaled.locations()),
+                intFlag(flags, "tiers", scaled.tiers()),
+                intFlag(flags, "threads", scaled.threads()),
+                intFlag(flags, "chunk-rows", scaled.chunkRows()));
+
+        GeneratedDataset dataset = generate(options);
+        System.out.printf(Locale.ROOT, "Wrote %d employees, %d departments, %d locations and %d tiers to %s"
+                + " (%d bytes in %d ms, seed %d)%n", dataset.employees(), options.departments(), options.locations(),
+                options.tiers(), options.outputDirectory().toAbsolutePath(), dataset.bytes(), dataset.durationMs(),
+                options.seed());
+    }
+
+    private GeneratedDataset generate() throws IOException {
+        long start = System.nanoTime();
+        Path directory = options.outputDirectory();
+        Files.createDirectories(directory);
+        Path tierFile = directory.resolve("tier.csv");
+        Path locationFile = directory.resolve("location.csv");
+        Path departmentFile = directory.resolve("department.csv");
+        Path employeeFile = directory.resolve("employee.csv");
+
+        long bytes = writeReferenceFile(tierFile, "tiercode;tiername", options.tiers(),
+                (out, t) -> out.append(tierCode(t)).append(';').append(tierName(t)));
+        bytes += writeReferenceFile(locationFile, "locationcode;locationname;locationaddress", options.locations(),
+                (out, l) -> out.append(code('L', l)).append(';').append(numbered(PLACE_NAMES, l)).append(';')
+                        .append(100 + (l * 37) % 900).append(' ').append(PLACE_NAMES[(l + 3) % PLACE_NAMES.length])
+                        .append("-ro"));
+        bytes += writeReferenceFile(departmentFile, "departmentcode;departmentname", options.departments(),
+                (out, d) -> out.append(code('D', d)).append(';').append(numbered(DEPARTMENT_NAMES, d)));
+        bytes += writeEmployees(employeeFile);
+
+        return new GeneratedDataset(employeeFile, departmentFile, locationFile, tierFile, options.employees(), bytes,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long writeReferenceFile(Path file, String header, int rows, RowWriter rowWriter) throws IOException {
+        StringBuilder out = new StringBuilder(header).append('\n');
+        for (int i = 0; i < rows; i++) {
+            rowWriter.append(out, i);
+            out.append('\n');
+        }
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            stream.write(BOM);
+            stream.write(out.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return Files.size(file);
+    }
+
+    /**
+     * Renders chunks of {@code chunkRows} employees on the pool and writes
+     * them in order, with at most two chunks per thread in memory.
+     */
+    private long writeEmployees(Path file) throws IOException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads(), runnable -> {
+            Thread thread = new Thread(runnable, "datagen-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            out.write(BOM);
+            out.write("empno;empname;tiercode;locationcode;departmentcode;supervisorcode;salary;entrydate;password;email\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            Deque<Future<byte[]>> pending = new ArrayDeque<>();
+            for (int from = 0; from < options.employees(); from += options.chunkRows()) {
+                int chunkStart = from;
+                int chunkEnd = (int) Math.min((long) from + options.chunkRows(), options.employees());
+                pending.add(pool.submit(() -> renderEmployees(chunkStart, chunkEnd)));
+                if (pending.size() > options.threads() * 2) {
+                    out.write(await(pending.remove()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                out.write(await(pending.remove()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return Files.size(file);
+    }
+
+    private byte[] renderEmployees(int from, int to) {
+        StringBuilder out = new StringBuilder((to - from) * 160);
+        long[] chain = new long[64];
+        for (int i = from; i < to; i++) {
+            appendEmployee(out, i, chain);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendEmployee(StringBuilder out, long i, long[] chain) {
+        // collect the path to the root, then settle placement and tier from the top down
+        int depth = 0;
+        for (long node = i; node > 0; node = parent(node)) {
+            chain[depth++] = node;
+        }
+        int department = sample(departmentCdf, uniform(0, DEPARTMENT));
+        int location = sample(locationCdf, uniform(0, LOCATION));
+        int tier = options.tiers() - 1;
+        for (int level = 1; level <= depth; level++) {
+            long node = chain[depth - level];
+            if (level <= 2 || uniform(node, DEPARTMENT_MOVED) < DEPARTMENT_MOVE) {
+                department = sample(departmentCdf, uniform(node, DEPARTMENT));
+            }
+            if (level <= 1 || uniform(node, LOCATION_MOVED) < LOCATION_MOVE) {
+                location = sample(locationCdf, uniform(node, LOCATION));
+            }
+            // at most the supervisor's tier, at least what the depth in the tree implies
+            tier = Math.min(tier, Math.max(options.tiers() - 1 - level, sample(tierCdf, uniform(node, TIER))));
+        }
+
+        String name = SYLLABLES[(int) (uniform(i, FIRST_SYLLABLE) * SYLLABLES.length)]
+                + SYLLABLES[(int) (uniform(i, SECOND_SYLLABLE) * SYLLABLES.length)];
+        long number = FIRST_EMPLOYEE_NUMBER + i;
+
+        out.append(number).append(';')
+                .append(name).append(';')
+                .append(tierCode(tier)).append(';')
+                .append(code('L', location)).append(';')
+                .append(code('D', department)).append(';');
+        if (i > 0) {
+            out.append(FIRST_EMPLOYEE_NUMBER + parent(i));
+        }
+        out.append(';')
+                .append(salary(i, tier)).append(';')
+                .append(FIRST_ENTRY_DATE.plusDays(entryDay(i, tier))).append(';')
+                .append(PASSWORD).append(';')
+                .append(name).append(number).append("@employee.com")
+                .append('\n');
+    }
+
+    /**
+     * A near-complete tree: the supervisor of {@code i} is around
+     * {@code i / FAN_OUT}, pulled up to two places earlier so fan-outs vary.
+     * Always less than {@code i}, so the supervisor chain ends at employee 0.
+     */
+    private long parent(long i) {
+        long jitter = Long.remainderUnsigned(random(i, PARENT), 3);
+        return Math.max(0, (i - 1) / FAN_OUT - jitter);
+    }
+
+    private long salary(long i, int tier) {
+        // Box-Muller
+        double u1 = 1 - uniform(i, SALARY_U1);
+        double u2 = uniform(i, SALARY_U2);
+        double gaussian = Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+        double salary = SALARY_MEDIAN * Math.pow(SALARY_STEP, tier) * Math.exp(SALARY_SIGMA * gaussian);
+        return Math.round(salary / 1_000) * 1_000;
+    }
+
+    // senior tiers skew towards earlier entry dates
+    private long entryDay(long i, int tier) {
+        return (long) (ENTRY_DATE_DAYS * Math.pow(uniform(i, ENTRY_DATE), 1 + 0.4 * tier));
+    }
+
+    private double uniform(long i, int stream) {
+        return (random(i, stream) >>> 11) * 0x1.0p-53;
+    }
+
+    private long random(long i, int stream) {
+        // SplitMix64 finalizer over the seed, index and stream
+        long z = options.seed() + i * 0x9E3779B97F4A7C15L + stream * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int sample(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cdf.length - 1);
+    }
+
+    private static double[] zipfCdf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, exponent);
+        }
+        return cdf(weights);
+    }
+
+    private static double[] cdf(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum / total;
+        }
+        return cdf;
+    }
+
+    private static String tierCode(int tier) {
+        return String.valueOf((tier + 1) * 10);
+    }
+
+    private static String tierName(int tier) {
+        return tier < TIER_NAMES.length ? TIER_NAMES[tier] : "Tier " + tierCode(tier);
+    }
+
+    private static String code(char prefix, int index) {
+        return prefix + Integer.toString(index, 36).toUpperCase(Locale.ROOT);
+    }
+
+    private static String numbered(String[] names, int index) {
+        String name = names[index % names.length];
+        return index < names.length ? name : name + " " + (index / names.length + 1);
+    }
+
+    private static byte[] await(Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating employees", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to generate employees", e.getCause());
+        }
+    }
+
+    private static Map<String, String> parseFlags(String[] args) {
+        Map<String, String> flags = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + arg + "\n" + USAGE);
+            }
+            int equals = arg.indexOf('=');
+            String name = equals > 0 ? arg.substring(2, equals) : arg.substring(2);
+            if (!FLAGS.contains(name)) {
+                throw new IllegalArgumentException("Unknown flag --" + name + "\n" + USAGE);
+            }
+            if (equals > 0) {
+                flags.put(name, arg.substring(equals + 1));
+            } else if (i + 1 < args.length) {
+                flags.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + name + "\n" + USAGE);
+            }
+        }
+        return flags;
+    }
+
+    private static int intFlag(Map<String, String> flags, String name, int defaultValue) {
+        String value = flags.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void append(StringBuilder out, int index);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ram.opsnow.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ram.opsnow.util.csv.ByteCsvTokenizer;
+
+class SyntheticDataGeneratorTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void writesTheSameFilesWhateverTheThreadCount() throws IOException {
+		GeneratedDataset single = SyntheticDataGenerator.generate(options("single", 1));
+		GeneratedDataset pooled = SyntheticDataGenerator.generate(options("pooled", 4));
+
+		for (Path[] files : new Path[][] { { single.employeeFile(), pooled.employeeFile() },
+				{ single.departmentFile(), pooled.departmentFile() },
+				{ single.locationFile(), pooled.locationFile() },
+				{ single.tierFile(), pooled.tierFile() } }) {
+			assertThat(Files.mismatch(files[0], files[1])).as(files[0].getFileName().toString()).isEqualTo(-1);
+		}
+	}
+
+	@Test
+	void writesEmployeesThatReferenceExistingRows() throws IOException {
+		GeneratedDataset dataset = SyntheticDataGenerator.generate(options("dataset", 2));
+		Set<String> tiers = keys(dataset.tierFile());
+		Set<String> locations = keys(dataset.locationFile());
+		Set<String> departments = keys(dataset.departmentFile());
+
+		Map<String, Integer> tierByNumber = new HashMap<>();
+		Set<String> emails = new HashSet<>();
+		try (ByteCsvTokenizer employees = ByteCsvTokenizer.open(dataset.employeeFile(), ';')) {
+			assertThat(employees.next()).isTrue();
+			while (employees.next()) {
+				assertThat(employees.getFieldCount()).isEqualTo(10);
+				String number = employees.get(0);
+				int tier = Integer.parseInt(employees.get(2));
+				assertThat(employees.get(2)).isIn(tiers);
+				assertThat(employees.get(3)).isIn(locations);
+				assertThat(employees.get(4)).isIn(departments);
+				String supervisor = employees.getTrimmed(5);
+				if (supervisor != null) {
+					// supervisors come earlier in the file and are never of a lower tier
+					assertThat(tierByNumber).containsKey(supervisor);
+					assertThat(tierByNumber.get(supervisor)).isGreaterThanOrEqualTo(tier);
+				}
+				assertThat(employees.getDecimal(6)).isPositive();
+				assertThat(employees.getDate(7)).isNotNull();
+				assertThat(emails.add(employees.get(9))).as("unique email").isTrue();
+				assertThat(tierByNumber.put(number, tier)).as("unique number").isNull();
+			}
+		}
+		assertThat(tierByNumber).hasSize(2_000);
+		assertThat(tierByNumber.values()).filteredOn(tier -> tier > 10).isNotEmpty();
+	}
+
+	private GeneratorOptions options(String name, int threads) {
+		// small chunks, so several threads render the file
+		return new GeneratorOptions(directory.resolve(name), 42, 2_000, 8, 3, 6, threads, 150);
+	}
+
+	private static Set<String> keys(Path file) throws IOException {
+		Set<String> keys = new HashSet<>();
+		try (ByteCsvTokenizer tokenizer = ByteCsvTokenizer.open(file, ';')) {
+			assertThat(tokenizer.next()).isTrue();
+			while (tokenizer.next()) {
+				keys.add(tokenizer.get(0));
+			}
+		}
+		return keys;
+	}
+}
@@ -0,0 +1,55 @@
+package com.ram.opsnow.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ram.opsnow.TestPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+
+@EnabledIfSystemProperty(named = TestPostgres.URL_PROPERTY, matches = ".+")
+class EmployeeNumberAllocatorTest {
+
+	private HikariDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = TestPostgres.schema("opsnow_allocator_test");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE employee (employee_number varchar(20) PRIMARY KEY)");
+		jdbcTemplate.execute("INSERT INTO employee VALUES ('1041'), ('1042'), ('E-9999')");
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	void continuesRightAfterTheHighestNumber() {
+		EmployeeNumberAllocator allocator = new EmployeeNumberAllocator(jdbcTemplate, 50);
+
+		allocator.synchronize();
+
+		assertThat(allocator.next()).isEqualTo("1043");
+		assertThat(allocator.next()).isEqualTo("1044");
+	}
+
+	@Test
+	void neverMovesTheSequenceBackwards() {
+		EmployeeNumberAllocator first = new EmployeeNumberAllocator(jdbcTemplate, 50);
+		first.synchronize();
+		assertThat(first.next()).isEqualTo("1043");
+
+		// another node synchronizing later must not hand out the block first is using
+		EmployeeNumberAllocator second = new EmployeeNumberAllocator(jdbcTemplate, 50);
+		second.synchronize();
+
+		assertThat(second.next()).isEqualTo("1093");
+	}
+}
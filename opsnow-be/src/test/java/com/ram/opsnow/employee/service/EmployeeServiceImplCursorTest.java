@@ -0,0 +1,272 @@
+package com.ram.opsnow.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor.SpecificationFluentQuery;
+
+import com.ram.opsnow.employee.dto.EmployeeResponseDTO;
+import com.ram.opsnow.employee.entity.Employee;
+import com.ram.opsnow.employee.repository.EmployeeRepository;
+import com.ram.opsnow.exception.InvalidDataException;
+import com.ram.opsnow.util.PaginationResponse;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class EmployeeServiceImplCursorTest {
+
+	private static final Map<String, Function<Employee, Object>> PROPERTIES = Map.of(
+			"employeeNumber", Employee::getEmployeeNumber,
+			"employeeName", Employee::getEmployeeName,
+			"employeeEmail", Employee::getEmail,
+			"entryDate", Employee::getEntryDate);
+
+	private final List<Employee> employees = new ArrayList<>();
+	private final EmployeeServiceImpl service;
+	private int largestLimit;
+
+	EmployeeServiceImplCursorTest() {
+		LocalDateTime hired = LocalDateTime.of(2020, 1, 1, 9, 0);
+		for (int i = 1; i <= 23; i++) {
+			employees.add(Employee.builder()
+					.employeeNumber(String.format("EMP-%03d", (i * 7) % 23 + 1))
+					.employeeName("name" + i % 4)
+					// repeated values, and every third employee without an entry date
+					.entryDate(i % 3 == 0 ? null : hired.plusDays(i % 5))
+					.build());
+		}
+
+		EmployeeRepository repository = mock(EmployeeRepository.class);
+		when(repository.findBy(any(Specification.class), any(Function.class))).thenAnswer(invocation -> {
+			Specification<Employee> spec = invocation.getArgument(0);
+			Function<SpecificationFluentQuery<Employee>, ?> query = invocation.getArgument(1);
+			return query.apply(query(matching(spec)));
+		});
+		service = new EmployeeServiceImpl(repository, new ModelMapper(), null, null, null, null, null, null);
+	}
+
+	@Test
+	void pagesCoverEveryEmployeeOnceAcrossNullSortKeys() {
+		for (String sortBy : List.of("entryDate", "employeeName", "employeeNumber")) {
+			List<String> expected = employees.stream()
+					.sorted(order(Sort.by(Sort.Order.asc(sortBy), Sort.Order.asc("employeeNumber"))))
+					.map(Employee::getEmployeeNumber)
+					.toList();
+			for (int pageSize : new int[] { 1, 2, 3, 5, 6, 23, 50 }) {
+				assertThat(walk(pageSize, sortBy, null)).as("%s by %d", sortBy, pageSize)
+						.containsExactlyElementsOf(expected);
+			}
+		}
+	}
+
+	@Test
+	void pagesKeepTheFiltersPastTheLastNonNullSortKey() {
+		for (String employeeName : List.of("name1", "name2")) {
+			List<String> expected = employees.stream()
+					.filter(employee -> employee.getEmployeeName().equals(employeeName))
+					.sorted(order(Sort.by(Sort.Order.asc("entryDate"), Sort.Order.asc("employeeNumber"))))
+					.map(Employee::getEmployeeNumber)
+					.toList();
+			for (int pageSize : new int[] { 1, 2, 4 }) {
+				assertThat(walk(pageSize, "entryDate", employeeName)).as("%s by %d", employeeName, pageSize)
+						.containsExactlyElementsOf(expected);
+			}
+		}
+	}
+
+	@Test
+	void rejectsAPageSizeBelowOne() {
+		for (int pageSize : new int[] { 0, -1, Integer.MIN_VALUE }) {
+			assertThatThrownBy(() -> service.getAllEmployeeByCursor(pageSize, "entryDate", null, null, null, null))
+					.isInstanceOf(InvalidDataException.class);
+		}
+	}
+
+	@Test
+	void capsALargePageSize() {
+		PaginationResponse<EmployeeResponseDTO> page = service.getAllEmployeeByCursor(Integer.MAX_VALUE,
+				"entryDate", null, null, null, null);
+
+		assertThat(page.getPageSize()).isEqualTo(1000);
+		assertThat(largestLimit).isEqualTo(1001);
+		assertThat(page.getData()).hasSize(employees.size());
+		assertThat(page.isHasNext()).isFalse();
+	}
+
+	private List<String> walk(int pageSize, String sortBy, String employeeName) {
+		List<String> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			PaginationResponse<EmployeeResponseDTO> page = service.getAllEmployeeByCursor(pageSize, sortBy, cursor,
+					null, employeeName, null);
+			assertThat(page.getData()).hasSizeLessThanOrEqualTo(pageSize);
+			assertThat(page.isHasNext()).isEqualTo(page.getNextCursor() != null);
+			page.getData().forEach(employee -> seen.add(employee.getEmployeeNumber()));
+			cursor = page.getNextCursor();
+			assertThat(seen).hasSizeLessThanOrEqualTo(employees.size());
+		} while (cursor != null);
+		return seen;
+	}
+
+	private List<Employee> matching(Specification<Employee> spec) {
+		Predicate predicate = spec.toPredicate(proxy(Root.class, new Column(employee -> employee, Employee.class)),
+				null, proxy(CriteriaBuilder.class, Criteria::invoke));
+		return employees.stream()
+				.filter(employee -> predicate == null || Boolean.TRUE.equals(Criteria.value(predicate, employee)))
+				.toList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private SpecificationFluentQuery<Employee> query(List<Employee> rows) {
+		return mock(SpecificationFluentQuery.class, invocation -> switch (invocation.getMethod().getName()) {
+			case "sortBy" -> query(rows.stream().sorted(order(invocation.getArgument(0))).toList());
+			case "limit" -> {
+				int limit = invocation.getArgument(0);
+				largestLimit = Math.max(largestLimit, limit);
+				yield query(rows.subList(0, Math.min(limit, rows.size())));
+			}
+			case "all" -> rows;
+			default -> throw new UnsupportedOperationException(invocation.getMethod().getName());
+		});
+	}
+
+	/**
+	 * The database's ordering: ascending with nulls last, as PostgreSQL sorts
+	 * by default.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Comparator<Employee> order(Sort sort) {
+		Comparator<Employee> order = (left, right) -> 0;
+		for (Sort.Order property : sort) {
+			Function<Employee, Comparable> key = employee -> (Comparable) PROPERTIES.get(property.getProperty())
+					.apply(employee);
+			order = order.thenComparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+		}
+		return order;
+	}
+
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+	/**
+	 * An expression of the criteria query, evaluated against one employee at
+	 * a time.
+	 */
+	private record Column(Function<Employee, Object> value, Class<?> javaType) implements InvocationHandler {
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			return switch (method.getName()) {
+				case "get" -> proxy(Path.class, new Column(PROPERTIES.get((String) args[0]),
+						args[0].equals("entryDate") ? LocalDateTime.class : String.class));
+				case "getJavaType" -> javaType;
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				case "toString" -> "Column[" + javaType.getSimpleName() + "]";
+				default -> throw new UnsupportedOperationException(method.getName());
+			};
+		}
+	}
+
+	/**
+	 * The parts of {@link CriteriaBuilder} the employee specifications use,
+	 * with SQL's three-valued logic: comparing a null yields null (unknown),
+	 * which a WHERE clause treats as false.
+	 */
+	private static final class Criteria {
+
+		static Object invoke(Object proxy, Method method, Object[] args) {
+			return switch (method.getName()) {
+				case "and" -> predicate(employee -> and(operands(args), employee));
+				case "or" -> predicate(employee -> or(operands(args), employee));
+				case "isNull" -> predicate(employee -> value(args[0], employee) == null);
+				case "equal" -> predicate(employee -> compare(args, employee, result -> result == 0));
+				case "greaterThan" -> predicate(employee -> compare(args, employee, result -> result > 0));
+				case "greaterThanOrEqualTo" -> predicate(employee -> compare(args, employee, result -> result >= 0));
+				case "lower" -> expression(employee -> {
+					Object value = value(args[0], employee);
+					return value == null ? null : value.toString().toLowerCase();
+				});
+				case "like" -> predicate(employee -> {
+					Object value = value(args[0], employee);
+					return value == null ? null
+							: value.toString().matches(args[1].toString().replace("%", ".*"));
+				});
+				default -> throw new UnsupportedOperationException(method.getName());
+			};
+		}
+
+		static Object value(Object operand, Employee employee) {
+			if (operand instanceof Expression<?> && Proxy.isProxyClass(operand.getClass())
+					&& Proxy.getInvocationHandler(operand) instanceof Column column) {
+				return column.value().apply(employee);
+			}
+			return operand;
+		}
+
+		private static Predicate predicate(Function<Employee, Object> value) {
+			return proxy(Predicate.class, new Column(value, Boolean.class));
+		}
+
+		private static Expression<?> expression(Function<Employee, Object> value) {
+			return proxy(Expression.class, new Column(value, String.class));
+		}
+
+		private static List<Object> operands(Object[] args) {
+			if (args.length == 1 && args[0] instanceof Object[] array) {
+				return Arrays.asList(array);
+			}
+			if (args.length == 1 && args[0] instanceof Collection<?> collection) {
+				return new ArrayList<>(collection);
+			}
+			return Arrays.asList(args);
+		}
+
+		private static Boolean and(List<Object> operands, Employee employee) {
+			Set<Object> values = new HashSet<>();
+			operands.forEach(operand -> values.add(value(operand, employee)));
+			return values.contains(false) ? Boolean.FALSE : values.contains(null) ? null : Boolean.TRUE;
+		}
+
+		private static Boolean or(List<Object> operands, Employee employee) {
+			Set<Object> values = new HashSet<>();
+			operands.forEach(operand -> values.add(value(operand, employee)));
+			return values.contains(true) ? Boolean.TRUE : values.contains(null) ? null : Boolean.FALSE;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private static Boolean compare(Object[] args, Employee employee,
+				IntPredicate test) {
+			Comparable left = (Comparable) value(args[0], employee);
+			Object right = value(args[1], employee);
+			return left == null || right == null ? null : test.test(left.compareTo(right));
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.ram.opsnow.logging.buffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+	@Test
+	void roundsTheCapacityUpToAPowerOfTwo() {
+		assertThat(new RingBuffer<>(8).capacity()).isEqualTo(8);
+		assertThat(new RingBuffer<>(9).capacity()).isEqualTo(16);
+		assertThat(new RingBuffer<>(8192).capacity()).isEqualTo(8192);
+	}
+
+	@Test
+	void refusesOffersWhenFullUntilAnElementIsPolled() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+
+		assertThat(buffer.offer(4)).isFalse();
+		assertThat(buffer.size()).isEqualTo(4);
+
+		assertThat(buffer.poll()).isZero();
+		assertThat(buffer.offer(4)).isTrue();
+		assertThat(buffer.offer(5)).isFalse();
+		List<Integer> drained = new ArrayList<>();
+		for (Integer next; (next = buffer.poll()) != null;) {
+			drained.add(next);
+		}
+		assertThat(drained).containsExactly(1, 2, 3, 4);
+		assertThat(buffer.isEmpty()).isTrue();
+	}
+
+	@Test
+	void deliversEveryElementOfConcurrentProducersExactlyOnce() throws Exception {
+		int producers = 4;
+		int perProducer = 5_000;
+		// small enough that producers keep finding it full
+		RingBuffer<Long> buffer = new RingBuffer<>(16);
+		AtomicLong refused = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		try {
+			List<Future<?>> running = new ArrayList<>();
+			for (int p = 0; p < producers; p++) {
+				long producer = p;
+				running.add(executor.submit(() -> {
+					start.await();
+					for (long i = 0; i < perProducer; i++) {
+						Long element = producer << 32 | i;
+						while (!buffer.offer(element)) {
+							refused.incrementAndGet();
+							Thread.yield();
+						}
+					}
+					return null;
+				}));
+			}
+
+			start.countDown();
+			long[] nextExpected = new long[producers];
+			long received = 0;
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (received < (long) producers * perProducer) {
+				Long element = buffer.poll();
+				if (element == null) {
+					assertThat(System.nanoTime() - deadline).as("received %d", received).isNegative();
+					Thread.yield();
+					continue;
+				}
+				int producer = (int) (element >>> 32);
+				// in order per producer, so a lost or repeated element shows up as a gap or a step back
+				if ((element & 0xFFFFFFFFL) != nextExpected[producer]) {
+					assertThat(element & 0xFFFFFFFFL).as("producer %d", producer).isEqualTo(nextExpected[producer]);
+				}
+				nextExpected[producer]++;
+				received++;
+			}
+			for (Future<?> producer : running) {
+				producer.get(5, TimeUnit.SECONDS);
+			}
+
+			assertThat(nextExpected).containsOnly(perProducer);
+			assertThat(buffer.poll()).isNull();
+			assertThat(refused.get()).isPositive();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
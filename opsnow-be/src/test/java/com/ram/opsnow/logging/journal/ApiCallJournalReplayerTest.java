@@ -0,0 +1,114 @@
+package com.ram.opsnow.logging.journal;
+
+import static com.ram.opsnow.logging.journal.JournalCodecTest.record;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+import com.ram.opsnow.logging.service.ApiCallHistoryWriter;
+
+class ApiCallJournalReplayerTest {
+
+	private static final int MAX_ATTEMPTS = 3;
+
+	@TempDir
+	Path directory;
+
+	private ApiCallJournal journal;
+	private final ApiCallHistoryWriter writer = mock(ApiCallHistoryWriter.class);
+	private final List<ApiCallHistory> inserted = new CopyOnWriteArrayList<>();
+	private final AtomicInteger poisonAttempts = new AtomicInteger();
+	private ApiCallJournalReplayer replayer;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		// one record per segment
+		journal = new ApiCallJournal(true, directory.toString(), 200, 16);
+		journal.init();
+		when(writer.isCaughtUp()).thenReturn(true);
+		replayer = new ApiCallJournalReplayer(journal, writer, 100, 0, 1, MAX_ATTEMPTS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		replayer.stop();
+		journal.close();
+	}
+
+	@Test
+	void quarantinesASegmentAfterMaxAttemptsAndDrainsTheRest() throws IOException {
+		List<ApiCallHistory> good = new ArrayList<>();
+		ApiCallHistory first = record("/api/first");
+		journal.append(first);
+		good.add(first);
+		journal.append(record("poison"));
+		for (int i = 0; i < 3; i++) {
+			ApiCallHistory record = record("/api/after/" + i);
+			journal.append(record);
+			good.add(record);
+		}
+		doAnswer(invocation -> {
+			List<ApiCallHistory> batch = invocation.getArgument(0);
+			if (batch.stream().anyMatch(record -> "poison".equals(record.getApiEndpoint()))) {
+				poisonAttempts.incrementAndGet();
+				throw new DataIntegrityViolationException("value too long for type character varying(500)");
+			}
+			inserted.addAll(batch);
+			return null;
+		}).when(writer).insert(anyList());
+
+		replayer.start();
+		await(() -> journal.nextSegment() == null);
+
+		assertThat(inserted).containsExactlyElementsOf(good);
+		assertThat(poisonAttempts.get()).isEqualTo(MAX_ATTEMPTS);
+		assertThat(journal.getQuarantined()).isEqualTo(1);
+		try (var quarantined = Files.list(directory.resolve("quarantine"))) {
+			assertThat(quarantined).hasSize(1);
+		}
+	}
+
+	@Test
+	void keepsRetryingWhileTheDatabaseIsUnavailable() {
+		journal.append(record("/api/employee"));
+		AtomicInteger attempts = new AtomicInteger();
+		doAnswer(invocation -> {
+			attempts.incrementAndGet();
+			throw new TransientDataAccessResourceException("Connection refused");
+		}).when(writer).insert(anyList());
+
+		replayer.start();
+		await(() -> attempts.get() > MAX_ATTEMPTS * 3);
+
+		assertThat(journal.getQuarantined()).isZero();
+		assertThat(journal.nextSegment()).isNotNull();
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+			Thread.yield();
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.ram.opsnow.logging.journal;
+
+import static com.ram.opsnow.logging.journal.JournalCodecTest.record;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+
+class ApiCallJournalTest {
+
+	private static final int SEGMENT_SIZE = 4096;
+
+	@TempDir
+	Path directory;
+
+	private ApiCallJournal journal;
+
+	@AfterEach
+	void tearDown() {
+		if (journal != null) {
+			journal.close();
+		}
+	}
+
+	@Test
+	void writesLengthChecksumAndPayloadPerRecord() throws IOException {
+		journal = open(4);
+		ApiCallHistory first = record("/api/first");
+		ApiCallHistory second = record("/api/second");
+		journal.append(first);
+		journal.append(second);
+
+		ByteBuffer segment = ByteBuffer.wrap(Files.readAllBytes(journal.nextSegment()));
+
+		assertThat(segment.capacity()).isEqualTo(SEGMENT_SIZE);
+		for (ApiCallHistory record : List.of(first, second)) {
+			byte[] payload = JournalCodec.encode(record);
+			assertThat(segment.getInt()).isEqualTo(payload.length);
+			assertThat(segment.getInt()).isEqualTo(crc(payload));
+			byte[] stored = new byte[payload.length];
+			segment.get(stored);
+			assertThat(stored).isEqualTo(payload);
+		}
+		// an unwritten length ends the segment
+		assertThat(segment.getInt()).isZero();
+	}
+
+	@Test
+	void readsRecordsBackInOrderAcrossSegments() throws IOException {
+		journal = open(8);
+		List<ApiCallHistory> appended = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			ApiCallHistory record = record("/api/employee/" + i);
+			assertThat(journal.append(record)).isTrue();
+			appended.add(record);
+		}
+
+		List<ApiCallHistory> replayed = new ArrayList<>();
+		int segments = 0;
+		for (Path segment; (segment = journal.nextSegment()) != null; segments++) {
+			replayed.addAll(readAll(segment));
+			journal.release(segment);
+		}
+
+		assertThat(segments).isGreaterThan(1);
+		assertThat(replayed).containsExactlyElementsOf(appended);
+		assertThat(journal.getSegmentCount()).isZero();
+		assertThat(journal.getCorrupted()).isZero();
+	}
+
+	@Test
+	void stopsAtATruncatedTail() throws IOException {
+		journal = open(4);
+		ApiCallHistory first = record("/api/first");
+		journal.append(first);
+		journal.append(record("/api/second"));
+		Path segment = journal.nextSegment();
+
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			// cut the second record short, as a crash while copying the segment would
+			channel.truncate(8 + JournalCodec.encode(first).length + 8 + 10);
+		}
+
+		assertThat(readAll(segment)).containsExactly(first);
+		assertThat(journal.getCorrupted()).isEqualTo(1);
+	}
+
+	@Test
+	void stopsAtAChecksumMismatch() throws IOException {
+		journal = open(4);
+		ApiCallHistory first = record("/api/first");
+		journal.append(first);
+		journal.append(record("/api/second"));
+		journal.append(record("/api/third"));
+		Path segment = journal.nextSegment();
+
+		byte[] bytes = Files.readAllBytes(segment);
+		int second = 8 + JournalCodec.encode(first).length;
+		bytes[second + 8 + 20] ^= 0x40;
+		Files.write(segment, bytes);
+
+		assertThat(readAll(segment)).containsExactly(first);
+		assertThat(journal.getCorrupted()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsRecordsOnceTheSegmentBudgetIsUsed() {
+		journal = open(2);
+		int accepted = 0;
+		while (journal.append(record("/api/employee/" + accepted)) && accepted < 1000) {
+			accepted++;
+		}
+
+		assertThat(accepted).isBetween(2, 1000 - 1);
+		assertThat(journal.getRejected()).isEqualTo(1);
+		assertThat(journal.getBytesOnDisk()).isLessThanOrEqualTo(2L * SEGMENT_SIZE);
+	}
+
+	@Test
+	void picksUpSegmentsLeftByAPreviousRun() throws IOException {
+		journal = open(4);
+		ApiCallHistory record = record("/api/employee");
+		journal.append(record);
+		journal.close();
+
+		journal = open(4);
+		Path segment = journal.nextSegment();
+
+		assertThat(segment).isNotNull();
+		assertThat(readAll(segment)).containsExactly(record);
+	}
+
+	@Test
+	void quarantinedSegmentsLeaveTheReplayQueue() throws IOException {
+		journal = open(4);
+		journal.append(record("/api/employee"));
+		Path segment = journal.nextSegment();
+
+		journal.quarantine(segment);
+
+		assertThat(journal.nextSegment()).isNull();
+		assertThat(directory.resolve("quarantine").resolve(segment.getFileName())).exists();
+		assertThat(journal.getQuarantined()).isEqualTo(1);
+	}
+
+	private ApiCallJournal open(int maxSegments) {
+		ApiCallJournal opened = new ApiCallJournal(true, directory.toString(), SEGMENT_SIZE, maxSegments);
+		try {
+			opened.init();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return opened;
+	}
+
+	private List<ApiCallHistory> readAll(Path segment) throws IOException {
+		List<ApiCallHistory> records = new ArrayList<>();
+		try (ApiCallJournal.Reader reader = journal.read(segment)) {
+			for (ApiCallHistory record; (record = reader.next()) != null;) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+
+	private static int crc(byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		return (int) crc.getValue();
+	}
+}
@@ -0,0 +1,111 @@
+package com.ram.opsnow.logging.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+
+class JournalCodecTest {
+
+	static ApiCallHistory record(String endpoint) {
+		return ApiCallHistory.builder()
+				.id(UUID.randomUUID())
+				.timestamp(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_932))
+				.apiEndpoint(endpoint)
+				.httpMethod("POST")
+				.userIdentifier("EMP-0042")
+				.responseStatus(201)
+				.requestDurationMs(17L)
+				.clientIp("10.0.0.7")
+				.userAgent("curl/8.5.0")
+				.requestBody("{\"name\":\"Zoë\"}")
+				.responseBody("{\"ok\":true}")
+				.build();
+	}
+
+	@Test
+	void decodesWhatItEncodes() {
+		ApiCallHistory record = record("/api/employee");
+
+		assertThat(JournalCodec.decode(ByteBuffer.wrap(JournalCodec.encode(record)))).isEqualTo(record);
+	}
+
+	@Test
+	void keepsNullFieldsNull() {
+		ApiCallHistory record = ApiCallHistory.builder()
+				.id(UUID.randomUUID())
+				.timestamp(LocalDateTime.of(2025, 1, 1, 0, 0))
+				.apiEndpoint("/api/employee")
+				.httpMethod("GET")
+				.build();
+
+		ApiCallHistory decoded = JournalCodec.decode(ByteBuffer.wrap(JournalCodec.encode(record)));
+
+		assertThat(decoded).isEqualTo(record);
+		assertThat(decoded.getResponseStatus()).isNull();
+		assertThat(decoded.getRequestDurationMs()).isNull();
+		assertThat(decoded.getRequestBody()).isNull();
+	}
+
+	@Test
+	void decodesVersionOneRecordsWithAStringId() {
+		ApiCallHistory record = record("/api/employee");
+
+		ApiCallHistory decoded = JournalCodec.decode(ByteBuffer.wrap(encodeVersionOne(record)));
+
+		assertThat(decoded).isEqualTo(record);
+	}
+
+	@Test
+	void rejectsATruncatedPayload() {
+		byte[] payload = JournalCodec.encode(record("/api/employee"));
+
+		for (int length : new int[] { 1, 30, payload.length - 1 }) {
+			assertThatThrownBy(() -> JournalCodec.decode(ByteBuffer.wrap(Arrays.copyOf(payload, length))))
+					.as("%d of %d bytes", length, payload.length)
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessage("Truncated journal record");
+		}
+	}
+
+	@Test
+	void rejectsAnUnknownVersion() {
+		byte[] payload = JournalCodec.encode(record("/api/employee"));
+		payload[0] = 3;
+
+		assertThatThrownBy(() -> JournalCodec.decode(ByteBuffer.wrap(payload)))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("version: 3");
+	}
+
+	/**
+	 * The layout written before ids became UUIDs: the id followed the fixed
+	 * fields as a string.
+	 */
+	private static byte[] encodeVersionOne(ApiCallHistory record) {
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		buffer.put((byte) 1);
+		buffer.put((byte) 3);
+		buffer.putLong(record.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+		buffer.putInt(record.getTimestamp().getNano());
+		buffer.putInt(record.getResponseStatus());
+		buffer.putLong(record.getRequestDurationMs());
+		for (String value : new String[] { record.getId().toString(), record.getApiEndpoint(),
+				record.getHttpMethod(), record.getUserIdentifier(), record.getClientIp(), record.getUserAgent(),
+				record.getRequestBody(), record.getResponseBody() }) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			buffer.putInt(bytes.length);
+			buffer.put(bytes);
+		}
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+}
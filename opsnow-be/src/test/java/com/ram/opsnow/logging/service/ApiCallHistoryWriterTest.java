@@ -0,0 +1,52 @@
+package com.ram.opsnow.logging.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ram.opsnow.logging.entity.ApiCallHistory;
+import com.ram.opsnow.logging.journal.ApiCallJournalReplayer;
+
+class ApiCallHistoryWriterTest {
+
+	@Test
+	void rejectsBatchSizesOutsideTheBindParameterLimit() {
+		for (int batchSize : new int[] { 0, -1, ApiCallHistoryWriter.MAX_BATCH_SIZE + 1 }) {
+			assertThatThrownBy(() -> new ApiCallHistoryWriter(null, null, 8192, batchSize, 1000))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("api-logging.writer.batch-size");
+			assertThatThrownBy(() -> new ApiCallJournalReplayer(null, null, batchSize, 5000, 5000, 5))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("api-logging.journal.replay-batch-size");
+		}
+	}
+
+	@Test
+	void largestBatchFitsInOneStatement() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		int batchSize = ApiCallHistoryWriter.MAX_BATCH_SIZE;
+		ApiCallHistoryWriter writer = new ApiCallHistoryWriter(jdbcTemplate, null, 8192, batchSize, 1000);
+		List<ApiCallHistory> records = new ArrayList<>();
+		for (int i = 0; i < batchSize; i++) {
+			ApiCallHistory record = new ApiCallHistory();
+			record.setTimestamp(LocalDateTime.now());
+			records.add(record);
+		}
+
+		writer.insert(records);
+
+		ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+		verify(jdbcTemplate).update(anyString(), args.capture());
+		assertThat(args.getValue()).hasSizeLessThanOrEqualTo(65535);
+	}
+}
@@ -0,0 +1,83 @@
+package com.ram.opsnow.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.ram.opsnow.TestPostgres;
+import com.ram.opsnow.datagen.GeneratedDataset;
+import com.ram.opsnow.datagen.GeneratorOptions;
+import com.ram.opsnow.datagen.SyntheticDataGenerator;
+import com.ram.opsnow.employee.service.EmployeeDepartmentSummaryService;
+import com.ram.opsnow.employee.service.EmployeeNumberAllocator;
+import com.ram.opsnow.util.csv.CsvImportMonitor;
+import com.ram.opsnow.util.csv.CsvImportResult;
+import com.ram.opsnow.util.csv.StreamingCsvImporter;
+import com.zaxxer.hikari.HikariDataSource;
+
+@EnabledIfSystemProperty(named = TestPostgres.URL_PROPERTY, matches = ".+")
+class CsvImportServiceTest {
+
+	private static final int EMPLOYEES = 5_000;
+
+	@TempDir
+	Path directory;
+
+	private HikariDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private EmployeeNumberAllocator allocator;
+	private CsvImportService service;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = TestPostgres.schema("opsnow_import_test");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		allocator = new EmployeeNumberAllocator(jdbcTemplate, 50);
+		StreamingCsvImporter importer = new StreamingCsvImporter(jdbcTemplate,
+				new DataSourceTransactionManager(dataSource), 500, 4, "auto", 100, true, 2, 2, 64 * 1024, 8,
+				60_000, "");
+		service = new CsvImportService(jdbcTemplate, new EmployeeDepartmentSummaryService(jdbcTemplate), allocator,
+				importer, "sync", false, false);
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	void importsAGeneratedDataset() throws IOException {
+		GeneratedDataset dataset = SyntheticDataGenerator.generate(
+				GeneratorOptions.of(directory, EMPLOYEES, 42).withThreads(2));
+
+		service.syncTier(new FileSystemResource(dataset.tierFile()), false, new CsvImportMonitor());
+		service.syncLocation(new FileSystemResource(dataset.locationFile()), false, new CsvImportMonitor());
+		service.syncDepartment(new FileSystemResource(dataset.departmentFile()), false, new CsvImportMonitor());
+		CsvImportMonitor monitor = new CsvImportMonitor();
+		CsvImportResult result = service.syncEmployee(new FileSystemResource(dataset.employeeFile()), false,
+				monitor);
+
+		assertThat(monitor.getErrors()).isEmpty();
+		assertThat(result.rowsImported()).isEqualTo(EMPLOYEES);
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM employee", Long.class)).isEqualTo(EMPLOYEES);
+		assertThat(jdbcTemplate.queryForObject("""
+				SELECT count(*) FROM employee e
+				WHERE e.supervisor_code IS NOT NULL
+				  AND NOT EXISTS (SELECT 1 FROM employee s WHERE s.employee_number = e.supervisor_code)
+				""", Long.class)).isZero();
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT sum(employee_count) FROM employee_department_summary", Long.class)).isEqualTo(EMPLOYEES);
+		long highest = jdbcTemplate.queryForObject("SELECT max(employee_number::bigint) FROM employee", Long.class);
+		assertThat(allocator.next()).isEqualTo(String.valueOf(highest + 1));
+	}
+}
@@ -0,0 +1,40 @@
+package com.ram.opsnow.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.ram.opsnow.exception.InvalidDataException;
+
+class KeysetCursorTest {
+
+	@Test
+	void decodesWhatItEncodes() {
+		KeysetCursor cursor = new KeysetCursor("employeeName", "Zoë O'Brien. Jr/+", "EMP-0042");
+
+		String token = cursor.encode();
+
+		assertThat(token).matches("[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+");
+		assertThat(KeysetCursor.decode(token)).isEqualTo(cursor);
+	}
+
+	@Test
+	void keepsANullLastValueApartFromAnEmptyOne() {
+		KeysetCursor nullValue = new KeysetCursor("entryDate", null, "EMP-0042");
+		KeysetCursor emptyValue = new KeysetCursor("entryDate", "", "EMP-0042");
+
+		assertThat(nullValue.encode()).isNotEqualTo(emptyValue.encode());
+		assertThat(KeysetCursor.decode(nullValue.encode()).lastValue()).isNull();
+		assertThat(KeysetCursor.decode(emptyValue.encode()).lastValue()).isEmpty();
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		for (String token : new String[] { "", "abc", "a.b", "a.b.c.d", "YQ.Y*.YQ", "a.!.%%" }) {
+			assertThatThrownBy(() -> KeysetCursor.decode(token)).as(token)
+					.isInstanceOf(InvalidDataException.class)
+					.hasMessage("Invalid pagination cursor.");
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.ram.opsnow.util.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ByteCsvTokenizerTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void splitsRecordsOnLfAndCrlf() throws IOException {
+		List<Row> rows = tokenize("a;b\nc;d\r\ne;f\rg;h");
+
+		assertThat(rows).containsExactly(
+				new Row(1, "a", "b"), new Row(2, "c", "d"), new Row(3, "e", "f"), new Row(4, "g", "h"));
+	}
+
+	@Test
+	void keepsDelimitersAndLineBreaksInsideQuotes() throws IOException {
+		List<Row> rows = tokenize("id;note\n1;\"a;b\"\n2;\"two\r\nlines\"\n3;\"x\ny\"\n4;last\n");
+
+		assertThat(rows).containsExactly(
+				new Row(1, "id", "note"),
+				new Row(2, "1", "a;b"),
+				new Row(3, "2", "two\r\nlines"),
+				// line numbers count the breaks inside quoted fields
+				new Row(5, "3", "x\ny"),
+				new Row(7, "4", "last"));
+	}
+
+	@Test
+	void unescapesDoubledQuotes() throws IOException {
+		List<Row> rows = tokenize("\"say \"\"hi\"\"\";\"\"\"\";\"\"\n");
+
+		assertThat(rows).containsExactly(new Row(1, "say \"hi\"", "\"", ""));
+	}
+
+	@Test
+	void treatsQuotesOnlyAtTheStartOfAFieldAsQuoting() throws IOException {
+		List<Row> rows = tokenize("ab\"c;\"quoted\"tail;5\" screen\n");
+
+		assertThat(rows).containsExactly(new Row(1, "ab\"c", "quotedtail", "5\" screen"));
+	}
+
+	@Test
+	void skipsALeadingByteOrderMark() throws IOException {
+		byte[] bom = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+		byte[] csv = concat(bom, "id;name\n1;\uFEFFx\n".getBytes(StandardCharsets.UTF_8));
+
+		List<Row> rows = tokenize(csv);
+
+		// only the first three bytes of the input are a byte order mark
+		assertThat(rows).containsExactly(new Row(1, "id", "name"), new Row(2, "1", "\uFEFFx"));
+	}
+
+	@Test
+	void readsRecordsThatCrossAWindowBoundary() throws IOException {
+		StringBuilder csv = new StringBuilder("\uFEFFid;name;note\r\n");
+		List<Row> expected = new ArrayList<>(List.of(new Row(1, "id", "name", "note")));
+		long line = 2;
+		for (int i = 0; i < 40; i++) {
+			String note = switch (i % 4) {
+				case 0 -> "plain";
+				case 1 -> "semi;colon";
+				case 2 -> "a \"\"quote\"\"";
+				default -> "multi\r\nline";
+			};
+			csv.append(i).append(";Zoë ").append(i).append(";\"").append(note).append('"')
+					.append(i % 2 == 0 ? "\r\n" : "\n");
+			expected.add(new Row(line, String.valueOf(i), "Zoë " + i, note.replace("\"\"", "\"")));
+			line += i % 4 == 3 ? 2 : 1;
+		}
+		byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+		Path file = directory.resolve("windows.csv");
+		Files.write(file, bytes);
+
+		// every window size that fits the longest record, so each byte offset is a boundary for some size
+		for (int window = 32; window <= 64; window++) {
+			List<Row> rows = new ArrayList<>();
+			try (ByteCsvTokenizer tokenizer = ByteCsvTokenizer.open(file, ';', window)) {
+				while (tokenizer.next()) {
+					rows.add(Row.of(tokenizer));
+				}
+				assertThat(tokenizer.getBytePosition()).isEqualTo(bytes.length);
+			}
+			assertThat(rows).as("window of %d bytes", window).containsExactlyElementsOf(expected);
+		}
+	}
+
+	@Test
+	void failsOnARecordLargerThanTheWindow() throws IOException {
+		Path file = directory.resolve("large.csv");
+		Files.writeString(file, "a;b\n" + "x".repeat(100) + ";y\n");
+
+		try (ByteCsvTokenizer tokenizer = ByteCsvTokenizer.open(file, ';', 32)) {
+			assertThat(tokenizer.next()).isTrue();
+			assertThatThrownBy(tokenizer::next).isInstanceOf(IOException.class)
+					.hasMessageContaining("line 2");
+		}
+	}
+
+	private static List<Row> tokenize(String csv) throws IOException {
+		return tokenize(csv.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<Row> tokenize(byte[] csv) throws IOException {
+		List<Row> rows = new ArrayList<>();
+		try (ByteCsvTokenizer tokenizer = new ByteCsvTokenizer(ByteBuffer.wrap(csv), ';')) {
+			while (tokenizer.next()) {
+				rows.add(Row.of(tokenizer));
+			}
+		}
+		return rows;
+	}
+
+	private static byte[] concat(byte[] first, byte[] second) {
+		byte[] bytes = new byte[first.length + second.length];
+		System.arraycopy(first, 0, bytes, 0, first.length);
+		System.arraycopy(second, 0, bytes, first.length, second.length);
+		return bytes;
+	}
+
+	private record Row(long line, List<String> fields) {
+
+		Row(long line, String... fields) {
+			this(line, List.of(fields));
+		}
+
+		static Row of(CsvRecord record) {
+			List<String> fields = new ArrayList<>();
+			for (int i = 0; i < record.getFieldCount(); i++) {
+				fields.add(record.get(i));
+			}
+			return new Row(record.getLineNumber(), fields);
+		}
+	}
+}
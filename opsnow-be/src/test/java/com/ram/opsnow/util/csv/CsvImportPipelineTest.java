@@ -0,0 +1,275 @@
+package com.ram.opsnow.util.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class CsvImportPipelineTest {
+
+	private static final int CHUNK_BYTES = 64;
+	private static final int WRITERS = 4;
+
+	private final InMemoryTable table = new InMemoryTable();
+	private final CsvImportMonitor monitor = new CsvImportMonitor();
+
+	@Test
+	void commitsRowsInFileOrderAcrossChunks() throws Exception {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			lines.add("key" + i + ";name" + i);
+		}
+
+		CsvImportProgress progress = run(tableImport(null), csv(lines), 0);
+
+		assertThat(table.committedRows()).extracting(row -> row[0])
+				.containsExactlyElementsOf(lines.stream().map(line -> line.split(";")[0]).toList());
+		assertThat(table.checkpoint).isEqualTo(500);
+		assertThat(progress.imported).isEqualTo(500);
+	}
+
+	@Test
+	void checkpointCoversOnlyTheChunksBeforeAFailedOne() {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			lines.add("key" + i + ";" + (i == 250 ? "fail" : "name" + i));
+		}
+
+		assertThatThrownBy(() -> run(tableImport(null), csv(lines), 0))
+				.hasRootCauseInstanceOf(DataIntegrityViolationException.class);
+
+		long checkpoint = table.checkpoint;
+		assertThat(checkpoint).isBetween(200L, 250L);
+		assertThat(table.committedRows()).extracting(row -> row[0])
+				.containsExactlyElementsOf(lines.subList(0, (int) checkpoint).stream()
+						.map(line -> line.split(";")[0]).toList());
+		assertThat(table.openTransactions()).isZero();
+	}
+
+	@Test
+	void chunksSharingKeysFinishWithoutWaitingOnRowLocks() throws Exception {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			lines.add("key" + (i % 3) + ";name" + i);
+		}
+
+		run(tableImport(null), csv(lines), 0);
+
+		assertThat(table.lockWaits.get()).isZero();
+		assertThat(table.checkpoint).isEqualTo(600);
+		Map<Object, Object> latest = new HashMap<>();
+		for (Object[] row : table.committedRows()) {
+			latest.put(row[0], row[1]);
+		}
+		for (int key = 0; key < 3; key++) {
+			// the last occurrence of every key wins, as in a sequential import
+			assertThat(latest.get("key" + key)).isEqualTo("name" + (597 + key));
+		}
+	}
+
+	@Test
+	void reportsRejectsInLineOrder() throws Exception {
+		List<String> lines = new ArrayList<>();
+		List<Long> rejectedLines = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			if (i % 37 == 0) {
+				// too few fields, rejected by the parser threads
+				lines.add("key" + i);
+				rejectedLines.add(i + 2L);
+			} else if (i % 23 == 0) {
+				lines.add("key" + i + ";bad");
+				rejectedLines.add(i + 2L);
+			} else {
+				lines.add("key" + i + ";name" + i);
+			}
+		}
+
+		CsvImportProgress progress = run(tableImport(row -> "bad".equals(row[1]) ? "bad name" : null), csv(lines),
+				0);
+
+		assertThat(monitor.getErrors()).extracting(CsvRowError::line).containsExactlyElementsOf(rejectedLines);
+		assertThat(progress.imported).isEqualTo(400 - rejectedLines.size());
+		assertThat(table.checkpoint).isEqualTo(400);
+	}
+
+	@Test
+	void skipsRecordsAlreadyCommitted() throws Exception {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			lines.add("key" + i + ";name" + i);
+		}
+
+		CsvImportProgress progress = run(tableImport(null), csv(lines), 120);
+
+		assertThat(table.committedRows()).extracting(row -> row[0]).first().isEqualTo("key120");
+		assertThat(progress.imported).isEqualTo(180);
+		assertThat(table.checkpoint).isEqualTo(300);
+	}
+
+	private CsvImportProgress run(CsvTableImport tableImport, byte[] csv, long skipRecords) throws Exception {
+		CsvImportProgress progress = new CsvImportProgress(tableImport.name(), skipRecords, 1000, monitor, null);
+		new CsvImportPipeline(tableImport, ';', CHUNK_BYTES, 3, WRITERS, 2, new TransactionTemplate(table),
+				table::insert, table::saveCheckpoint, progress)
+				.run(new SlowInputStream(csv), skipRecords);
+		return progress;
+	}
+
+	private static CsvTableImport tableImport(CsvRowValidator validator) {
+		return new CsvTableImport("test", "test", List.of("id", "name"), List.of("id"), (record, args) -> {
+			if (record.getFieldCount() < 2)
+				return false;
+
+			args[0] = record.getTrimmed(0);
+			args[1] = record.getTrimmed(1);
+			return true;
+		}, validator);
+	}
+
+	private static byte[] csv(List<String> lines) {
+		return ("id;name\n" + String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Hands out a few bytes per read, so the reader cuts many small chunks
+	 * instead of one per buffer.
+	 */
+	private static final class SlowInputStream extends FilterInputStream {
+
+		private SlowInputStream(byte[] data) {
+			super(new ByteArrayInputStream(data));
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			return super.read(buffer, offset, Math.min(length, 16));
+		}
+	}
+
+	/**
+	 * A keyed table with row locks held until commit, like PostgreSQL: a
+	 * transaction writing a key another open transaction has written waits
+	 * for it, and gives up after a lock timeout.
+	 */
+	private static final class InMemoryTable implements PlatformTransactionManager {
+
+		private final ThreadLocal<Transaction> current = new ThreadLocal<>();
+		private final Map<Object, Transaction> locks = new HashMap<>();
+		private final List<Object[]> committed = new ArrayList<>();
+		private final AtomicInteger lockWaits = new AtomicInteger();
+		private int open;
+		private volatile long checkpoint;
+
+		void insert(List<Object[]> rows) {
+			Transaction transaction = current.get();
+			// slower than parsing, so several writers have chunks open at once
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+			for (Object[] row : rows) {
+				if ("fail".equals(row[1])) {
+					// let the chunks before this one commit first, so the failure lands mid-file
+					awaitCheckpoint(200);
+					throw new DataIntegrityViolationException("Rejected " + row[0]);
+				}
+				lock(row[0], transaction);
+				transaction.rows.add(row);
+			}
+		}
+
+		void saveCheckpoint(long consumed) {
+			current.get().checkpoint = consumed;
+		}
+
+		private synchronized void awaitCheckpoint(long consumed) {
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			try {
+				while (checkpoint < consumed && System.nanoTime() < deadline) {
+					TimeUnit.MILLISECONDS.timedWait(this, 10);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		synchronized List<Object[]> committedRows() {
+			return new ArrayList<>(committed);
+		}
+
+		synchronized int openTransactions() {
+			return open;
+		}
+
+		private synchronized void lock(Object key, Transaction transaction) {
+			Transaction holder = locks.get(key);
+			if (holder != null && holder != transaction) {
+				lockWaits.incrementAndGet();
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+				try {
+					while (locks.get(key) != null && locks.get(key) != transaction) {
+						long remaining = deadline - System.nanoTime();
+						if (remaining <= 0) {
+							throw new CannotAcquireLockException("Lock timeout on " + key);
+						}
+						TimeUnit.NANOSECONDS.timedWait(this, remaining);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new CannotAcquireLockException("Interrupted waiting for " + key);
+				}
+			}
+			locks.put(key, transaction);
+		}
+
+		@Override
+		public synchronized TransactionStatus getTransaction(TransactionDefinition definition) {
+			current.set(new Transaction());
+			open++;
+			return new SimpleTransactionStatus(true);
+		}
+
+		@Override
+		public synchronized void commit(TransactionStatus status) {
+			Transaction transaction = current.get();
+			committed.addAll(transaction.rows);
+			if (transaction.checkpoint >= 0) {
+				checkpoint = transaction.checkpoint;
+			}
+			end(transaction);
+		}
+
+		@Override
+		public synchronized void rollback(TransactionStatus status) {
+			end(current.get());
+		}
+
+		private void end(Transaction transaction) {
+			locks.values().removeIf(holder -> holder == transaction);
+			current.remove();
+			open--;
+			notifyAll();
+		}
+	}
+
+	private static final class Transaction {
+		private final List<Object[]> rows = new ArrayList<>();
+		private long checkpoint = -1;
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.ram.opsnow.util.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.ram.opsnow.TestPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+
+@EnabledIfSystemProperty(named = TestPostgres.URL_PROPERTY, matches = ".+")
+class StreamingCsvImporterTest {
+
+	@TempDir
+	Path directory;
+
+	private HikariDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private StreamingCsvImporter importer;
+	private Path file;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = TestPostgres.schema("opsnow_csv_test");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE item (id varchar(20) PRIMARY KEY, name varchar(50) NOT NULL)");
+		// commits every two records, sequentially
+		importer = new StreamingCsvImporter(jdbcTemplate, new DataSourceTransactionManager(dataSource), 2, 1,
+				"auto", 100, false, 0, 4, 1024 * 1024, 8, 60_000, "");
+		file = directory.resolve("item.csv");
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.close();
+	}
+
+	@Test
+	void resumesAfterTheLastCommittedRecords() throws IOException {
+		write("name");
+		interruptAt("key7");
+		assertThat(ids()).containsExactly("key1", "key2", "key3", "key4", "key5", "key6");
+
+		CsvImportResult result = importer.importCsv(itemImport(null), new FileSystemResource(file), true);
+
+		assertThat(result.resumedFromRow()).isEqualTo(6);
+		assertThat(result.rowsImported()).isEqualTo(4);
+		assertThat(rows()).hasSize(10).containsEntry("key10", "name10");
+	}
+
+	@Test
+	void startsOverWhenTheFileChangedSinceTheInterruptedImport() throws IOException {
+		write("name");
+		interruptAt("key7");
+
+		write("renamed");
+		CsvImportResult result = importer.importCsv(itemImport(null), new FileSystemResource(file), true);
+
+		assertThat(result.resumedFromRow()).isZero();
+		assertThat(result.rowsImported()).isEqualTo(10);
+		assertThat(rows()).hasSize(10).containsEntry("key1", "renamed1").containsEntry("key10", "renamed10");
+	}
+
+	@Test
+	void startsOverWithoutResume() throws IOException {
+		write("name");
+		interruptAt("key7");
+		jdbcTemplate.execute("TRUNCATE item");
+
+		CsvImportResult result = importer.importCsv(itemImport(null), new FileSystemResource(file), false);
+
+		assertThat(result.resumedFromRow()).isZero();
+		assertThat(rows()).hasSize(10);
+	}
+
+	/**
+	 * Imports {@link #file} and cancels it when the mapper reaches
+	 * {@code id}, leaving the records of the transactions before it committed.
+	 */
+	private void interruptAt(String id) {
+		CsvImportMonitor monitor = new CsvImportMonitor();
+		assertThatThrownBy(() -> importer.importCsv(itemImport((record, args) -> {
+			if (id.equals(record.getTrimmed(0))) {
+				monitor.cancel();
+			}
+		}), new FileSystemResource(file), false, monitor)).isInstanceOf(CancellationException.class);
+	}
+
+	private static CsvTableImport itemImport(RecordListener listener) {
+		return new CsvTableImport("item", "item", List.of("id", "name"), List.of("id"), (record, args) -> {
+			if (listener != null) {
+				listener.mapped(record, args);
+			}
+			args[0] = record.getTrimmed(0);
+			args[1] = record.getTrimmed(1);
+			return true;
+		});
+	}
+
+	private void write(String namePrefix) throws IOException {
+		List<String> lines = new ArrayList<>(List.of("id;name"));
+		for (int i = 1; i <= 10; i++) {
+			lines.add("key" + i + ";" + namePrefix + i);
+		}
+		Files.write(file, lines);
+	}
+
+	private List<String> ids() {
+		return jdbcTemplate.queryForList("SELECT id FROM item ORDER BY length(id), id", String.class);
+	}
+
+	private Map<String, String> rows() {
+		Map<String, String> rows = new HashMap<>();
+		jdbcTemplate.query("SELECT id, name FROM item",
+				(RowCallbackHandler) rs -> rows.put(rs.getString("id"), rs.getString("name")));
+		return rows;
+	}
+
+	@FunctionalInterface
+	private interface RecordListener {
+		void mapped(CsvRecord record, Object[] args);
+	}
+}
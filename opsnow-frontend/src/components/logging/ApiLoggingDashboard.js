@@ -45,11 +45,28 @@ const ApiLoggingDashboard = () => {
     size: 20,
     total: 0,
   });
+  const [latencyWindow, setLatencyWindow] = useState('minute');
+  const [latencyMetrics, setLatencyMetrics] = useState([]);
 
   useEffect(() => {
     fetchLogs();
   }, [pagination.page, pagination.size]);
 
+  useEffect(() => {
+    fetchLatencyMetrics();
+    const timer = setInterval(fetchLatencyMetrics, 10000);
+    return () => clearInterval(timer);
+  }, [latencyWindow]);
+
+  const fetchLatencyMetrics = async () => {
+    try {
+      const response = await loggingAPI.getLatencyMetrics(latencyWindow);
+      setLatencyMetrics(response.data || []);
+    } catch (error) {
+      console.error('Error fetching latency metrics:', error);
+    }
+  };
+
   const fetchLogs = async () => {
     try {
       setLoading(true);
@@ -244,6 +261,81 @@ const ApiLoggingDashboard = () => {
         </CardContent>
       </Card>
 
+      {/* Live Latency */}
+      <Card sx={{ mb: 3 }}>
+        <CardContent>
+          <Box
+            display="flex"
+            justifyContent="space-between"
+            alignItems="center"
+            mb={2}
+          >
+            <Typography variant="h6">Live Latency</Typography>
+            <FormControl size="small" sx={{ minWidth: 160 }}>
+              <InputLabel>Window</InputLabel>
+              <Select
+                value={latencyWindow}
+                label="Window"
+                onChange={(e) => setLatencyWindow(e.target.value)}
+              >
+                <MenuItem value="minute">Last minute</MenuItem>
+                <MenuItem value="hour">Last hour</MenuItem>
+              </Select>
+            </FormControl>
+          </Box>
+
+          <TableContainer component={Paper}>
+            <Table size="small">
+              <TableHead>
+                <TableRow>
+                  <TableCell>Method</TableCell>
+                  <TableCell>Endpoint</TableCell>
+                  <TableCell>Status</TableCell>
+                  <TableCell align="right">Calls</TableCell>
+                  <TableCell align="right">Req/s</TableCell>
+                  <TableCell align="right">p50 (ms)</TableCell>
+                  <TableCell align="right">p90 (ms)</TableCell>
+                  <TableCell align="right">p99 (ms)</TableCell>
+                  <TableCell align="right">Max (ms)</TableCell>
+                </TableRow>
+              </TableHead>
+              <TableBody>
+                {latencyMetrics.map((metric) => (
+                  <TableRow
+                    key={`${metric.httpMethod} ${metric.endpoint} ${metric.statusClass}`}
+                  >
+                    <TableCell>
+                      <Chip
+                        label={metric.httpMethod}
+                        color={getMethodColor(metric.httpMethod)}
+                        size="small"
+                      />
+                    </TableCell>
+                    <TableCell>{metric.endpoint}</TableCell>
+                    <TableCell>{metric.statusClass}</TableCell>
+                    <TableCell align="right">{metric.count}</TableCell>
+                    <TableCell align="right">
+                      {metric.throughputPerSecond.toFixed(2)}
+                    </TableCell>
+                    <TableCell align="right">{metric.p50Ms.toFixed(1)}</TableCell>
+                    <TableCell align="right">{metric.p90Ms.toFixed(1)}</TableCell>
+                    <TableCell align="right">{metric.p99Ms.toFixed(1)}</TableCell>
+                    <TableCell align="right">{metric.maxMs.toFixed(1)}</TableCell>
+                  </TableRow>
+                ))}
+                {latencyMetrics.length === 0 && (
+                  <TableRow>
+                    <TableCell colSpan={9} align="center">
+                      No calls in this window
+                    </TableCell>
+                  </TableRow>
+                )}
+              </TableBody>
+            </Table>
+          </TableContainer>
+        </CardContent>
+      </Card>
+
       {/* Logs Table */}
       <Card>
         <CardContent>
@@ -93,6 +93,8 @@ export const loggingAPI = {
     apiClient.get(`/logging/history/status/${status}`, { params }),
   getHistoryByDateRange: (params) =>
     apiClient.get('/logging/history/date-range', { params }),
+  getLatencyMetrics: (window) =>
+    apiClient.get('/logging/metrics', { params: { window } }),
 };
 
 export default apiClient;